@@ -0,0 +1,29 @@
+package org.springframework.ai.gigachat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+/**
+ * Loads the recorded API responses bundled with the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Reads a fixture from the {@code fixtures} resource directory.
+     *
+     * @param name The file name of the fixture.
+     * @return The content of the fixture.
+     */
+    static byte[] read(String name) {
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            return Objects.requireNonNull(in, name).readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.springframework.ai.gigachat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.gigachat.api.GigaChatApi;
+import org.springframework.ai.gigachat.api.GigaChatChatOptions;
+import org.springframework.ai.gigachat.api.model.GigaChatChatRequest;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of a conversation into an API request and its serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatRequestBenchmark {
+
+    /**
+     * The number of messages in the conversation, excluding the system message.
+     */
+    @Param({"10", "100", "1000"})
+    public int messages;
+
+    private GigaChatChatModel chatModel;
+    private Prompt prompt;
+    private GigaChatChatRequest request;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setup() {
+        GigaChatApi api = new GigaChatApi("http://localhost", "benchmark", () -> "token", RestClient.builder(), WebClient.builder());
+        GigaChatChatOptions options = GigaChatChatOptions.builder().model("GigaChat").temperature(0.7).build();
+        chatModel = new GigaChatChatModel(api, options, ToolCallingManager.builder().build(), ObservationRegistry.NOOP);
+
+        List<Message> conversation = new ArrayList<>(messages + 1);
+        conversation.add(new SystemMessage("Ты помощник службы поддержки. Отвечай кратко и по делу."));
+        for (int i = 0; i < messages; i++) {
+            String text = "Сообщение " + i + ": расскажи подробнее о тарифах, условиях подключения и ограничениях сервиса.";
+            conversation.add(i % 2 == 0 ? new UserMessage(text) : new AssistantMessage(text));
+        }
+        prompt = new Prompt(conversation, GigaChatChatOptions.builder().build());
+        request = chatModel.buildPrompt(prompt, false);
+
+        // The same configuration as the Jackson converter of RestClient and WebClient.
+        writer = Jackson2ObjectMapperBuilder.json().build().writerFor(GigaChatChatRequest.class);
+    }
+
+    @Benchmark
+    public GigaChatChatRequest buildPrompt() {
+        return chatModel.buildPrompt(prompt, false);
+    }
+
+    @Benchmark
+    public byte[] serializeRequest() throws JsonProcessingException {
+        return writer.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(chatModel.buildPrompt(prompt, false));
+    }
+}
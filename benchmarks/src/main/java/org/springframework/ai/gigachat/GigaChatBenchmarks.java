@@ -0,0 +1,26 @@
+package org.springframework.ai.gigachat;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Runs the selected benchmarks with the GC profiler attached,
+ * so that every result reports the allocation rate next to the throughput.
+ */
+public class GigaChatBenchmarks {
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args The standard JMH command line arguments.
+     * @throws Exception If the arguments are invalid or a benchmark fails.
+     */
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
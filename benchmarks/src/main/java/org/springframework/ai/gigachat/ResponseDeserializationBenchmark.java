@@ -0,0 +1,108 @@
+package org.springframework.ai.gigachat;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.gigachat.api.model.GigaChatChatResponse;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingMatrix;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingMatrixDeserializer;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingResponse;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the deserialization of chat responses and of embedding responses with 1024-dimensional vectors,
+ * both into the generic response objects and into a contiguous matrix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseDeserializationBenchmark {
+
+    /**
+     * The number of dimensions of an embedding.
+     */
+    private static final int DIMENSIONS = 1024;
+
+    /**
+     * The number of embeddings in the response.
+     */
+    @Param({"1", "16", "100"})
+    public int embeddings;
+
+    private byte[] chatResponse;
+    private byte[] embeddingResponse;
+    private ObjectReader chatReader;
+    private ObjectReader embeddingReader;
+    private ObjectReader matrixReader;
+
+    @Setup
+    public void setup() throws IOException {
+        // The same configuration as the Jackson converter of RestClient and WebClient.
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        chatReader = mapper.readerFor(GigaChatChatResponse.class);
+        embeddingReader = mapper.readerFor(GigaChatEmbeddingResponse.class);
+        // The same configuration as GigaChatApi.embedMatrix.
+        matrixReader = ModelOptionsUtils.OBJECT_MAPPER.readerFor(GigaChatEmbeddingMatrix.class)
+                .with(JsonParser.Feature.USE_FAST_DOUBLE_PARSER)
+                .withAttribute(GigaChatEmbeddingMatrixDeserializer.EXPECTED_ROWS, embeddings);
+        chatResponse = BenchmarkFixtures.read("chat-response.json");
+
+        Random random = new Random(42);
+        List<GigaChatEmbeddingResponse.EmbeddingData> data = new ArrayList<>(embeddings);
+        for (int i = 0; i < embeddings; i++) {
+            float[] vector = new float[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vector[d] = (float) random.nextGaussian() / 32;
+            }
+            GigaChatEmbeddingResponse.EmbeddingData item = new GigaChatEmbeddingResponse.EmbeddingData();
+            item.setObject("embedding");
+            item.setIndex(i);
+            item.setEmbedding(vector);
+            GigaChatEmbeddingResponse.Usage usage = new GigaChatEmbeddingResponse.Usage();
+            usage.setPromptTokens(64);
+            item.setUsage(usage);
+            data.add(item);
+        }
+        GigaChatEmbeddingResponse response = new GigaChatEmbeddingResponse();
+        response.setObject("list");
+        response.setModel("Embeddings");
+        response.setData(data);
+        embeddingResponse = mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public GigaChatChatResponse chatResponse() throws IOException {
+        return chatReader.readValue(chatResponse);
+    }
+
+    @Benchmark
+    public GigaChatEmbeddingResponse embeddingResponse() throws IOException {
+        return embeddingReader.readValue(embeddingResponse);
+    }
+
+    @Benchmark
+    public GigaChatEmbeddingMatrix embeddingMatrix() throws IOException {
+        return matrixReader.readValue(embeddingResponse);
+    }
+}
@@ -0,0 +1,86 @@
+package org.springframework.ai.gigachat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.ai.gigachat.api.GigaChatStreamParser;
+import org.springframework.ai.gigachat.api.model.GigaChatChatResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the streaming chunk pipeline on recorded server-sent event streams, split into network buffers
+ * of the given size: parsing the events, as done by {@code GigaChatApi.streamingChat}, and aggregating the chunks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamPipelineBenchmark {
+
+    /**
+     * The recorded stream.
+     */
+    @Param({"chat-stream-short.sse", "chat-stream-long.sse", "chat-stream-function.sse"})
+    public String fixture;
+
+    /**
+     * The size of the network buffers the stream arrives in.
+     */
+    @Param({"512", "8192"})
+    public int bufferSize;
+
+    private List<byte[]> buffers;
+
+    @Setup
+    public void setup() {
+        byte[] stream = BenchmarkFixtures.read(fixture);
+        buffers = new ArrayList<>();
+        for (int offset = 0; offset < stream.length; offset += bufferSize) {
+            buffers.add(Arrays.copyOfRange(stream, offset, Math.min(stream.length, offset + bufferSize)));
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        GigaChatStreamParser parser = new GigaChatStreamParser();
+        for (byte[] bytes : buffers) {
+            parser.parse(DefaultDataBufferFactory.sharedInstance.wrap(bytes)).forEach(blackhole::consume);
+        }
+        parser.finish().forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public GigaChatChatResponse pipeline() {
+        GigaChatStreamParser parser = new GigaChatStreamParser();
+        GigaChatStreamAggregator aggregator = new GigaChatStreamAggregator();
+        return Flux.fromIterable(buffers)
+                .map(bytes -> (DataBuffer) DefaultDataBufferFactory.sharedInstance.wrap(bytes))
+                .map(parser::parse)
+                .takeUntil(items -> parser.isDone())
+                .concatMapIterable(Function.identity())
+                .concatWith(Flux.defer(() -> Flux.fromIterable(parser.finish())))
+                .map(aggregator::accept)
+                .then(Mono.fromSupplier(aggregator::aggregate))
+                .block();
+    }
+}
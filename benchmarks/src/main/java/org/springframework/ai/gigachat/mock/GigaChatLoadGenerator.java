@@ -0,0 +1,205 @@
+package org.springframework.ai.gigachat.mock;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.gigachat.GigaChatChatModel;
+import org.springframework.ai.gigachat.GigaChatEmbeddingModel;
+import org.springframework.ai.gigachat.api.GigaChatApi;
+import org.springframework.ai.gigachat.api.GigaChatChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Open-loop load generator for the GigaChat models.
+ *
+ * <p>Requests are started on a fixed schedule at the target rate, regardless of how long earlier requests take,
+ * and the latency of every request is measured from its scheduled start. Requests delayed because all workers are
+ * busy therefore count their waiting time, instead of hiding it as a closed-loop generator would.</p>
+ */
+public class GigaChatLoadGenerator {
+
+    /**
+     * The number of workers executing the requests.
+     */
+    private final int concurrency;
+
+    /**
+     * Constructs a new GigaChatLoadGenerator.
+     *
+     * @param concurrency The number of workers executing the requests.
+     */
+    public GigaChatLoadGenerator(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Runs an operation at the target rate.
+     *
+     * @param operation The operation, receiving the sequence number of the request.
+     * @param rps       The target rate in requests per second.
+     * @param duration  The duration of the run.
+     * @return The report of the run.
+     * @throws InterruptedException If the run is interrupted.
+     */
+    public Report run(Operation operation, double rps, Duration duration) throws InterruptedException {
+        int total = (int) Math.max(1, Math.round(rps * duration.toNanos() / TimeUnit.SECONDS.toNanos(1)));
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rps);
+        long[] latencies = new long[total];
+        LongAdder errors = new LongAdder();
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "gigachat-load-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < total; i++) {
+                long scheduled = start + i * interval;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+
+                int request = i;
+                workers.execute(() -> {
+                    try {
+                        operation.execute(request);
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                    latencies[request] = System.nanoTime() - scheduled;
+                });
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.HOURS);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Report(total, errors.sum(), Duration.ofNanos(elapsed),
+                percentile(latencies, 0.5), percentile(latencies, 0.9), percentile(latencies, 0.99), Duration.ofNanos(latencies[total - 1]));
+    }
+
+    /**
+     * Returns a percentile of the sorted latencies.
+     *
+     * @param sorted   The sorted latencies in nanoseconds.
+     * @param quantile The quantile, between {@code 0} and {@code 1}.
+     * @return The percentile.
+     */
+    private static Duration percentile(long[] sorted, double quantile) {
+        return Duration.ofNanos(sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)]);
+    }
+
+    /**
+     * Starts a mock server and drives one of the models against it.
+     *
+     * <p>Arguments are given as {@code key=value}: {@code scenario} ({@code chat}, {@code stream} or {@code embed}),
+     * {@code rps}, {@code duration} and {@code warmup} in seconds, {@code concurrency}, {@code latency} (median in milliseconds),
+     * {@code tokenRate}, {@code tokens}, {@code throttle} and {@code errors} (shares of failed requests).</p>
+     *
+     * @param args The arguments.
+     * @throws Exception If the run fails.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> arguments = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            arguments.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        String scenario = arguments.getOrDefault("scenario", "chat");
+        double rps = Double.parseDouble(arguments.getOrDefault("rps", "20"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(arguments.getOrDefault("duration", "30")));
+        int concurrency = Integer.parseInt(arguments.getOrDefault("concurrency", "64"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(arguments.getOrDefault("warmup", "10")));
+
+        GigaChatMockServerOptions options = GigaChatMockServerOptions.builder()
+                .chatLatency(GigaChatMockLatency.logNormal(Duration.ofMillis(Long.parseLong(arguments.getOrDefault("latency", "300"))), 0.5))
+                .tokenRate(Double.parseDouble(arguments.getOrDefault("tokenRate", "50")))
+                .completionTokens(Integer.parseInt(arguments.getOrDefault("tokens", "100")))
+                .throttleRate(Double.parseDouble(arguments.getOrDefault("throttle", "0")))
+                .errorRate(Double.parseDouble(arguments.getOrDefault("errors", "0")))
+                .build();
+
+        try (GigaChatMockServer server = new GigaChatMockServer(options)) {
+            GigaChatApi api = new GigaChatApi(server.getBaseUrl(), server.getBaseUrl(), GigaChatApi.Scope.GIGACHAT_API_PERS, "load", "secret");
+            GigaChatChatOptions chatOptions = GigaChatChatOptions.builder().model("GigaChat").build();
+            ChatModel chatModel = new GigaChatChatModel(api, chatOptions, ToolCallingManager.builder().build(), ObservationRegistry.NOOP);
+            EmbeddingModel embeddingModel = new GigaChatEmbeddingModel(api, GigaChatChatOptions.builder().model("Embeddings").build(), ObservationRegistry.NOOP);
+
+            Operation operation = switch (scenario) {
+                case "chat" -> request -> chatModel.call(new Prompt("Вопрос " + request, GigaChatChatOptions.builder().build()));
+                case "stream" -> request -> chatModel.stream(new Prompt("Вопрос " + request, GigaChatChatOptions.builder().build()))
+                        .blockLast();
+                case "embed" -> request -> embeddingModel.embed("Документ " + request);
+                default -> throw new IllegalArgumentException("Неизвестный сценарий: " + scenario);
+            };
+
+            GigaChatLoadGenerator generator = new GigaChatLoadGenerator(concurrency);
+            if (!warmup.isZero()) {
+                System.out.printf("warmup: %s%n", generator.run(operation, rps, warmup));
+            }
+            Report report = generator.run(operation, rps, duration);
+            System.out.printf("%s: %s%n", scenario, report);
+            System.out.printf("server: 200=%d, 429=%d, 503=%d%n", server.getResponseCount(200), server.getResponseCount(429), server.getResponseCount(503));
+        }
+    }
+
+    /**
+     * A request issued by the load generator.
+     */
+    @FunctionalInterface
+    public interface Operation {
+
+        /**
+         * Executes the request.
+         *
+         * @param request The sequence number of the request.
+         * @throws Exception If the request fails.
+         */
+        void execute(int request) throws Exception;
+    }
+
+    /**
+     * The results of a run.
+     *
+     * @param requests The number of requests.
+     * @param errors   The number of failed requests.
+     * @param elapsed  The duration of the run, until the last request completed.
+     * @param p50      The median latency.
+     * @param p90      The 90th percentile of the latency.
+     * @param p99      The 99th percentile of the latency.
+     * @param max      The highest latency.
+     */
+    public record Report(int requests, long errors, Duration elapsed, Duration p50, Duration p90, Duration p99, Duration max) {
+
+        /**
+         * Returns the rate of completed requests.
+         *
+         * @return The throughput in requests per second.
+         */
+        public double throughput() {
+            return requests * (double) TimeUnit.SECONDS.toNanos(1) / elapsed.toNanos();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d, errors=%d, throughput=%.1f rps, p50=%d ms, p90=%d ms, p99=%d ms, max=%d ms",
+                    requests, errors, throughput(), p50.toMillis(), p90.toMillis(), p99.toMillis(), max.toMillis());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.springframework.ai.gigachat.mock;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribution of the latencies simulated by {@link GigaChatMockServer}.
+ */
+@FunctionalInterface
+public interface GigaChatMockLatency {
+
+    /**
+     * Draws a latency.
+     *
+     * @param random The source of randomness.
+     * @return The latency.
+     */
+    Duration sample(RandomGenerator random);
+
+    /**
+     * Returns a distribution that always yields the same latency.
+     *
+     * @param latency The latency.
+     * @return The distribution.
+     */
+    static GigaChatMockLatency fixed(Duration latency) {
+        return random -> latency;
+    }
+
+    /**
+     * Returns a distribution uniform between two latencies.
+     *
+     * @param min The lowest latency.
+     * @param max The highest latency.
+     * @return The distribution.
+     */
+    static GigaChatMockLatency uniform(Duration min, Duration max) {
+        return random -> Duration.ofNanos(random.nextLong(min.toNanos(), max.toNanos() + 1));
+    }
+
+    /**
+     * Returns a log-normal distribution, which models the long tail of real service latencies.
+     *
+     * @param median The median latency.
+     * @param sigma  The standard deviation of the logarithm; {@code 0.5} puts p99 at about 3.2 times the median.
+     * @return The distribution.
+     */
+    static GigaChatMockLatency logNormal(Duration median, double sigma) {
+        return random -> Duration.ofNanos((long) (median.toNanos() * Math.exp(sigma * random.nextGaussian())));
+    }
+}
@@ -0,0 +1,395 @@
+package org.springframework.ai.gigachat.mock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embeddable stand-in for the GigaChat API, for load and latency testing without the real endpoints.
+ *
+ * <p>The server issues access tokens on {@code /api/v2/oauth}, answers {@code /api/v1/chat/completions} with JSON or
+ * server-sent events depending on the {@code stream} flag, and returns embeddings on {@code /api/v1/embeddings}.
+ * Latencies are drawn from configurable distributions and completions are generated at a configurable token rate.
+ * A configurable share of requests fails with {@code 429} or {@code 503}. Completions depend only on the last message
+ * and embeddings only on the input text, so repeated runs produce the same content.</p>
+ */
+public class GigaChatMockServer implements AutoCloseable {
+
+    /**
+     * The vocabulary of the generated completions.
+     */
+    private static final String[] WORDS = ("Сбер GigaChat модель отвечает на вопросы пользователя подробно и точно учитывая контекст "
+            + "диалога историю сообщений системные инструкции умеет вызывать функции возвращать структурированные ответы").split(" ");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * The options of the server.
+     */
+    private final GigaChatMockServerOptions options;
+
+    /**
+     * The underlying HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * The threads serving requests; streaming responses hold a thread for their whole duration.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The number of responses by status code.
+     */
+    private final Map<Integer, LongAdder> responses = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs and starts a new GigaChatMockServer.
+     *
+     * @param options The options of the server.
+     */
+    public GigaChatMockServer(GigaChatMockServerOptions options) {
+        this.options = options;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), options.getPort()), 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "gigachat-mock-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        server.setExecutor(executor);
+        server.createContext("/api/v2/oauth", handler(this::oauth));
+        server.createContext("/api/v1/chat/completions", handler(this::chat));
+        server.createContext("/api/v1/embeddings", handler(this::embeddings));
+        server.start();
+    }
+
+    /**
+     * Returns the base URL of the server, used both as the API and the authentication URL.
+     *
+     * @return The base URL.
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the number of responses sent with the given status.
+     *
+     * @param status The HTTP status code.
+     * @return The number of responses.
+     */
+    public long getResponseCount(int status) {
+        LongAdder count = responses.get(status);
+        return Objects.isNull(count) ? 0 : count.sum();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Issues an access token.
+     *
+     * @param exchange The HTTP exchange.
+     */
+    private void oauth(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        ObjectNode response = MAPPER.createObjectNode()
+                .put("access_token", "mock-" + UUID.randomUUID())
+                .put("expires_at", Instant.now().plus(options.getTokenTtl()).toEpochMilli());
+        sendJson(exchange, 200, response);
+    }
+
+    /**
+     * Generates a chat completion, as a single JSON response or as a stream of events.
+     *
+     * @param exchange The HTTP exchange.
+     */
+    private void chat(HttpExchange exchange) throws IOException {
+        JsonNode request = MAPPER.readTree(exchange.getRequestBody());
+        if (rejected(exchange)) {
+            return;
+        }
+
+        JsonNode messages = request.path("messages");
+        String last = messages.isEmpty() ? "" : messages.get(messages.size() - 1).path("content").asText("");
+        int promptTokens = 0;
+        for (JsonNode message : messages) {
+            promptTokens += estimateTokens(message.path("content").asText(""));
+        }
+        int completionTokens = request.hasNonNull("max_tokens")
+                ? Math.min(options.getCompletionTokens(), request.get("max_tokens").asInt())
+                : options.getCompletionTokens();
+        String model = request.path("model").asText("GigaChat");
+        SplittableRandom content = new SplittableRandom(options.getSeed() ^ last.hashCode());
+
+        sleep(options.getChatLatency().sample(ThreadLocalRandom.current()));
+
+        if (request.path("stream").asBoolean(false)) {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            count(200);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int sent = 0; sent < completionTokens; sent += options.getTokensPerChunk()) {
+                    int tokens = Math.min(options.getTokensPerChunk(), completionTokens - sent);
+                    sleep(Duration.ofNanos((long) (tokens * TimeUnit.SECONDS.toNanos(1) / options.getTokenRate())));
+                    ObjectNode chunk = completion(model, "delta", words(content, tokens, sent > 0), null, null);
+                    writeEvent(out, MAPPER.writeValueAsString(chunk));
+                }
+                writeEvent(out, MAPPER.writeValueAsString(completion(model, "delta", "", "stop", usage(promptTokens, completionTokens))));
+                writeEvent(out, "[DONE]");
+            }
+        } else {
+            sleep(Duration.ofNanos((long) (completionTokens * TimeUnit.SECONDS.toNanos(1) / options.getTokenRate())));
+            String text = words(content, completionTokens, false);
+            sendJson(exchange, 200, completion(model, "message", text, "stop", usage(promptTokens, completionTokens)));
+        }
+    }
+
+    /**
+     * Generates deterministic, normalized embeddings of the input texts.
+     *
+     * @param exchange The HTTP exchange.
+     */
+    private void embeddings(HttpExchange exchange) throws IOException {
+        JsonNode request = MAPPER.readTree(exchange.getRequestBody());
+        if (rejected(exchange)) {
+            return;
+        }
+
+        sleep(options.getEmbeddingLatency().sample(ThreadLocalRandom.current()));
+
+        ObjectNode response = MAPPER.createObjectNode().put("object", "list").put("model", request.path("model").asText("Embeddings"));
+        ArrayNode data = response.putArray("data");
+        int index = 0;
+        for (JsonNode input : request.path("input")) {
+            String text = input.asText();
+            SplittableRandom random = new SplittableRandom(options.getSeed() ^ text.hashCode());
+            float[] vector = new float[options.getDimensions()];
+            double norm = 0;
+            for (int i = 0; i < vector.length; i++) {
+                double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+                vector[i] = (float) gaussian;
+                norm += gaussian * gaussian;
+            }
+            float scale = (float) (1 / Math.sqrt(norm));
+
+            ObjectNode item = data.addObject().put("object", "embedding").put("index", index++);
+            ArrayNode embedding = item.putArray("embedding");
+            for (float value : vector) {
+                embedding.add(value * scale);
+            }
+            item.putObject("usage").put("prompt_tokens", estimateTokens(text));
+        }
+        sendJson(exchange, 200, response);
+    }
+
+    /**
+     * Rejects a request with an injected error, according to the configured error rates.
+     *
+     * @param exchange The HTTP exchange.
+     * @return {@code true} if the request was rejected.
+     */
+    private boolean rejected(HttpExchange exchange) throws IOException {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (Objects.isNull(authorization) || !authorization.startsWith("Bearer ")) {
+            sendJson(exchange, 401, MAPPER.createObjectNode().put("status", 401).put("message", "Unauthorized"));
+            return true;
+        }
+
+        double draw = ThreadLocalRandom.current().nextDouble();
+        int status = draw < options.getThrottleRate() ? 429 : draw < options.getThrottleRate() + options.getErrorRate() ? 503 : 0;
+        if (status == 0) {
+            return false;
+        }
+        if (Objects.nonNull(options.getRetryAfter())) {
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(options.getRetryAfter().toSeconds()));
+        }
+        sendJson(exchange, status, MAPPER.createObjectNode().put("status", status).put("message", status == 429 ? "Too Many Requests" : "Service Unavailable"));
+        return true;
+    }
+
+    /**
+     * Builds a completion response or chunk.
+     *
+     * @param model        The model name.
+     * @param field        {@code message} for a complete response, {@code delta} for a chunk.
+     * @param content      The generated content.
+     * @param finishReason The finish reason, or {@code null} for an intermediate chunk.
+     * @param usage        The token usage, or {@code null} for an intermediate chunk.
+     * @return The response.
+     */
+    private static ObjectNode completion(String model, String field, String content, String finishReason, ObjectNode usage) {
+        ObjectNode response = MAPPER.createObjectNode();
+        ObjectNode choice = response.putArray("choices").addObject();
+        choice.putObject(field).put("content", content).put("role", "assistant");
+        choice.put("index", 0);
+        if (Objects.nonNull(finishReason)) {
+            choice.put("finish_reason", finishReason);
+        }
+        response.put("created", Instant.now().getEpochSecond()).put("model", model).put("object", "chat.completion");
+        if (Objects.nonNull(usage)) {
+            response.set("usage", usage);
+        }
+        return response;
+    }
+
+    /**
+     * Builds the token usage of a completion.
+     *
+     * @param promptTokens     The number of prompt tokens.
+     * @param completionTokens The number of completion tokens.
+     * @return The usage.
+     */
+    private static ObjectNode usage(int promptTokens, int completionTokens) {
+        return MAPPER.createObjectNode()
+                .put("prompt_tokens", promptTokens)
+                .put("completion_tokens", completionTokens)
+                .put("total_tokens", promptTokens + completionTokens);
+    }
+
+    /**
+     * Generates text of the given number of tokens, one word per token.
+     *
+     * @param random  The source of the words.
+     * @param tokens  The number of tokens.
+     * @param leading Whether the text continues previous text and starts with a space.
+     * @return The text.
+     */
+    private static String words(SplittableRandom random, int tokens, boolean leading) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < tokens; i++) {
+            if (leading || i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Estimates the number of tokens in a text.
+     *
+     * @param text The text.
+     * @return The estimated number of tokens.
+     */
+    private static int estimateTokens(String text) {
+        return text.length() / 4 + 1;
+    }
+
+    /**
+     * Writes a server-sent event and flushes it to the client.
+     *
+     * @param out  The response body.
+     * @param data The data of the event.
+     */
+    private static void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * Sends a JSON response.
+     *
+     * @param exchange The HTTP exchange.
+     * @param status   The HTTP status code.
+     * @param body     The response body.
+     */
+    private void sendJson(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        count(status);
+    }
+
+    /**
+     * Counts a response.
+     *
+     * @param status The HTTP status code.
+     */
+    private void count(int status) {
+        responses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /**
+     * Simulates processing time.
+     *
+     * @param duration The time to wait.
+     */
+    private static void sleep(Duration duration) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Wraps an endpoint so that its failures are answered with {@code 500} instead of dropping the connection.
+     *
+     * @param endpoint The endpoint.
+     * @return The HTTP handler.
+     */
+    private HttpHandler handler(Endpoint endpoint) {
+        return exchange -> {
+            try {
+                endpoint.handle(exchange);
+            } catch (Exception e) {
+                try {
+                    sendJson(exchange, 500, MAPPER.createObjectNode().put("status", 500).put("message", String.valueOf(e.getMessage())));
+                } catch (IOException | IllegalStateException ignored) {
+                    // The response has already been started.
+                }
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    /**
+     * An endpoint of the server.
+     */
+    @FunctionalInterface
+    private interface Endpoint {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
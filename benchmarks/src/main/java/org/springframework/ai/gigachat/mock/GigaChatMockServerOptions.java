@@ -0,0 +1,87 @@
+package org.springframework.ai.gigachat.mock;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Options of {@link GigaChatMockServer}.
+ */
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class GigaChatMockServerOptions {
+
+    /**
+     * The port to listen on, or {@code 0} for an ephemeral port.
+     */
+    private int port;
+
+    /**
+     * The latency of a chat completion until its first token.
+     */
+    @Builder.Default
+    private GigaChatMockLatency chatLatency = GigaChatMockLatency.logNormal(Duration.ofMillis(300), 0.5);
+
+    /**
+     * The latency of an embedding request.
+     */
+    @Builder.Default
+    private GigaChatMockLatency embeddingLatency = GigaChatMockLatency.logNormal(Duration.ofMillis(50), 0.3);
+
+    /**
+     * The rate the completion tokens are generated at, in tokens per second.
+     */
+    @Builder.Default
+    private double tokenRate = 50;
+
+    /**
+     * The number of tokens in a completion, unless limited by {@code max_tokens}.
+     */
+    @Builder.Default
+    private int completionTokens = 100;
+
+    /**
+     * The number of tokens in a streamed chunk.
+     */
+    @Builder.Default
+    private int tokensPerChunk = 5;
+
+    /**
+     * The number of dimensions of the embeddings.
+     */
+    @Builder.Default
+    private int dimensions = 1024;
+
+    /**
+     * The share of chat and embedding requests rejected with {@code 429 Too Many Requests}.
+     */
+    private double throttleRate;
+
+    /**
+     * The share of chat and embedding requests failed with {@code 503 Service Unavailable}.
+     */
+    private double errorRate;
+
+    /**
+     * The delay sent in the {@code Retry-After} header of injected errors, or {@code null} to omit the header.
+     */
+    @Builder.Default
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * The lifetime of the issued access tokens.
+     */
+    @Builder.Default
+    private Duration tokenTtl = Duration.ofMinutes(30);
+
+    /**
+     * The seed of the generated completions and embeddings.
+     */
+    @Builder.Default
+    private long seed = 42;
+}
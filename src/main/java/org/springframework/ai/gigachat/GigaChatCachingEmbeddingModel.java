@@ -0,0 +1,145 @@
+package org.springframework.ai.gigachat;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.AbstractEmbeddingModel;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.EmbeddingResponseMetadata;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Embedding model decorator that serves repeated texts from a {@link GigaChatEmbeddingCache}.
+ *
+ * <p>Only the texts missing from the cache are sent to the delegate model. Cache hits, misses and evictions are
+ * reported as events of the {@code gigachat.embedding.cache} observation, which the default meter handler turns
+ * into counters.</p>
+ */
+public class GigaChatCachingEmbeddingModel extends AbstractEmbeddingModel {
+
+    /**
+     * Name of the observation wrapping cache lookups.
+     */
+    public static final String OBSERVATION_NAME = "gigachat.embedding.cache";
+
+    private static final Observation.Event HIT = Observation.Event.of("hit", "Эмбеддинг найден в кэше");
+    private static final Observation.Event MISS = Observation.Event.of("miss", "Эмбеддинг не найден в кэше");
+    private static final Observation.Event EVICTION = Observation.Event.of("eviction", "Эмбеддинг вытеснен из кэша");
+
+    /**
+     * The model computing the embeddings missing from the cache.
+     */
+    private final GigaChatEmbeddingModel delegate;
+
+    /**
+     * The cache of computed embeddings.
+     */
+    private final GigaChatEmbeddingCache cache;
+
+    /**
+     * Observation registry receiving the cache events.
+     */
+    private final ObservationRegistry observationRegistry;
+
+    /**
+     * Constructs a new GigaChatCachingEmbeddingModel.
+     *
+     * @param delegate            The model computing the embeddings missing from the cache.
+     * @param cache               The cache of computed embeddings.
+     * @param observationRegistry Observation registry receiving the cache events.
+     */
+    public GigaChatCachingEmbeddingModel(GigaChatEmbeddingModel delegate, GigaChatEmbeddingCache cache, ObservationRegistry observationRegistry) {
+        Assert.notNull(delegate, "Модель не может быть пустой");
+        Assert.notNull(cache, "Кэш не может быть пустым");
+        this.delegate = delegate;
+        this.cache = cache;
+        this.observationRegistry = Objects.requireNonNullElse(observationRegistry, ObservationRegistry.NOOP);
+    }
+
+    /**
+     * Returns the cached embeddings and computes the missing ones with the delegate model.
+     *
+     * @param request The embedding request containing instructions and options.
+     * @return The embedding response with the embeddings in the order of the instructions.
+     */
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        Assert.notEmpty(request.getInstructions(), "Нужен текст!");
+        String model = delegate.resolveModel(request.getOptions());
+
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, this.observationRegistry)
+                .lowCardinalityKeyValue("gen_ai.request.model", model);
+
+        return observation.observe(() -> {
+            List<String> texts = request.getInstructions();
+            float[][] vectors = new float[texts.size()][];
+            Map<GigaChatEmbeddingCache.Key, List<Integer>> misses = new LinkedHashMap<>();
+            Map<GigaChatEmbeddingCache.Key, String> missTexts = new LinkedHashMap<>();
+
+            for (int i = 0; i < texts.size(); i++) {
+                GigaChatEmbeddingCache.Key key = GigaChatEmbeddingCache.key(model, texts.get(i));
+                GigaChatEmbeddingCache.Lookup lookup = cache.get(key);
+                evicted(observation, lookup.evicted());
+                if (lookup.hit()) {
+                    observation.event(HIT);
+                    vectors[i] = lookup.vector();
+                } else {
+                    observation.event(MISS);
+                    misses.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+                    missTexts.putIfAbsent(key, texts.get(i));
+                }
+            }
+
+            EmbeddingResponseMetadata metadata = new EmbeddingResponseMetadata(model, new DefaultUsage(0, 0));
+            if (!misses.isEmpty()) {
+                List<GigaChatEmbeddingCache.Key> keys = new ArrayList<>(missTexts.keySet());
+                EmbeddingResponse response = delegate.call(new EmbeddingRequest(new ArrayList<>(missTexts.values()), request.getOptions()));
+                for (Embedding embedding : response.getResults()) {
+                    GigaChatEmbeddingCache.Key key = keys.get(embedding.getIndex());
+                    evicted(observation, cache.put(key, embedding.getOutput()));
+                    misses.get(key).forEach(i -> vectors[i] = embedding.getOutput());
+                }
+                metadata = response.getMetadata();
+            }
+
+            List<Embedding> embeddings = new ArrayList<>(vectors.length);
+            for (int i = 0; i < vectors.length; i++) {
+                Assert.state(Objects.nonNull(vectors[i]), "В ответе нет эмбеддинга с индексом " + i);
+                embeddings.add(new Embedding(vectors[i], i));
+            }
+            return new EmbeddingResponse(embeddings, metadata);
+        });
+    }
+
+    /**
+     * Embeds a document by extracting its text and calling the embedding method.
+     *
+     * @param document The document to be embedded.
+     * @return A float array representing the embedding of the document's text.
+     */
+    @Override
+    public float[] embed(Document document) {
+        return embed(document.getText());
+    }
+
+    /**
+     * Reports evicted vectors to the observation.
+     *
+     * @param observation The current observation.
+     * @param count       The number of evicted vectors.
+     */
+    private static void evicted(Observation observation, int count) {
+        for (int i = 0; i < count; i++) {
+            observation.event(EVICTION);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.gigachat.api.GigaChatApi;
 import org.springframework.ai.gigachat.api.GigaChatChatOptions;
+import org.springframework.ai.gigachat.api.GigaChatMetrics;
 import org.springframework.ai.gigachat.api.model.GigaChatChatRequest;
 import org.springframework.ai.gigachat.api.model.GigaChatChatResponse;
 import org.springframework.ai.gigachat.api.model.GigaChatRole;
@@ -35,12 +36,16 @@ import org.springframework.ai.model.tool.LegacyToolCallingManager;
 import org.springframework.ai.model.tool.ToolCallingChatOptions;
 import org.springframework.ai.model.tool.ToolCallingManager;
 import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.ContextView;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +53,10 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -92,6 +101,47 @@ public class GigaChatChatModel implements ChatModel {
     @Setter
     private ChatModelObservationConvention observationConvention = DEFAULT_OBSERVATION_CONVENTION;
 
+    /**
+     * Cache of converted conversation histories, used for prompts whose options carry a conversation identifier.
+     * Can be set by external clients.
+     */
+    @Setter
+    private GigaChatConversationCache conversationCache;
+
+    /**
+     * Cache of resolved function definitions, or {@code null} to resolve them on every request.
+     * Can be set by external clients.
+     */
+    @Setter
+    private GigaChatToolDefinitionCache toolDefinitionCache;
+
+    /**
+     * Budget of the tool calling loop, limited to 20 steps by default.
+     */
+    private GigaChatToolLoopOptions toolLoopOptions = GigaChatToolLoopOptions.builder().build();
+
+    /**
+     * Receiver of the reports of the tool calling loop iterations, if any.
+     * Can be set by external clients.
+     */
+    @Setter
+    private Consumer<GigaChatToolLoopStep> toolLoopListener;
+
+    /**
+     * Metrics of the requests to the model, such as the time to the first chunk, or {@code null} to disable them.
+     * Can be set by external clients.
+     */
+    @Setter
+    private GigaChatMetrics metrics;
+
+    /**
+     * Share of the model calls that are observed, from {@code 0} to {@code 1}. Calls left out skip building the
+     * observation context altogether, which lowers the overhead at high request rates.
+     * Can be set by external clients.
+     */
+    @Setter
+    private double observationSampleRate = 1.0;
+
     /**
      * Constructs a new {@link GigaChatChatModel} using the provided API client,
      * default options, function callback context, tool function callbacks, and observation registry.
@@ -122,55 +172,127 @@ public class GigaChatChatModel implements ChatModel {
         this.observationRegistry = observationRegistry;
     }
 
+    /**
+     * Sets the budget of the tool calling loop. Without it, the loop stops after 20 model calls.
+     *
+     * @param toolLoopOptions budget of the tool calling loop
+     */
+    public void setToolLoopOptions(GigaChatToolLoopOptions toolLoopOptions) {
+        Assert.notNull(toolLoopOptions, "Параметры цикла вызова функций не могут быть пустыми");
+        this.toolLoopOptions = toolLoopOptions;
+    }
+
     /**
      * Calls the chat API with the given prompt and returns a single {@link ChatResponse}.
      */
     @Override
     public ChatResponse call(Prompt prompt) {
-        return internalCall(prompt, null);
+        return internalCall(prompt);
     }
 
     /**
      * Internal method to handle the actual call to the GigaChat API.
      *
-     * @param prompt             The user's input prompt.
-     * @param previousChatResponse Previous chat response, if available.
+     * <p>Tool calls requested by the model are executed in a loop, each iteration calling the model again with the
+     * tool responses appended, until the model answers without tool calls or the loop exceeds its budget.</p>
+     *
+     * @param prompt The user's input prompt.
      * @return A {@link ChatResponse} containing the assistant's reply and any associated metadata.
      */
-    private ChatResponse internalCall(Prompt prompt, ChatResponse previousChatResponse) {
-        GigaChatChatRequest request = buildPrompt(prompt, false);
-        ChatModelObservationContext observationContext = createObservationContext(prompt, request);
-
-        ChatResponse response = ChatModelObservationDocumentation.CHAT_MODEL_OPERATION
-                .observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext, this.observationRegistry)
-                .observe(() -> {
-                    GigaChatChatResponse gigaChatResponse = chatApi.chat(request);
-
-                    List<AssistantMessage.ToolCall> toolCalls = extractToolCalls(gigaChatResponse);
-                    AssistantMessage assistantMessage = createAssistantMessage(gigaChatResponse, toolCalls);
-                    ChatGenerationMetadata generationMetadata = createGenerationMetadata(gigaChatResponse);
-
-                    var generator = new Generation(assistantMessage, generationMetadata);
-                    ChatResponse chatResponse = buildChatResponse(previousChatResponse, generator, gigaChatResponse);
-                    observationContext.setResponse(chatResponse);
-                    return chatResponse;
-                });
-
+    private ChatResponse internalCall(Prompt prompt) {
+        GigaChatToolLoop loop = new GigaChatToolLoop(toolLoopOptions, toolLoopListener);
+        boolean internalToolExecution = ToolCallingChatOptions.isInternalToolExecutionEnabled(prompt.getOptions());
+        while (true) {
+            loop.modelStarted();
+            GigaChatChatRequest request = buildPrompt(prompt, false);
+            ChatModelObservationContext observationContext = sampled() ? createObservationContext(prompt, request) : null;
+            ChatResponse previousChatResponse = loop.getPreviousResponse();
+
+            ChatResponse response = createObservation(observationContext)
+                    .observe(() -> {
+                        GigaChatChatResponse gigaChatResponse = recorded(request, () -> chatApi.chat(request));
+
+                        ChatResponse chatResponse = toChatResponse(gigaChatResponse, previousChatResponse);
+                        if (Objects.nonNull(observationContext)) {
+                            observationContext.setResponse(chatResponse);
+                        }
+                        return chatResponse;
+                    });
+
+            if (!internalToolExecution || !response.hasToolCalls()) {
+                loop.completed(response);
+                return response;
+            }
 
-        if (ToolCallingChatOptions.isInternalToolExecutionEnabled(prompt.getOptions()) && response.hasToolCalls()) {
+            loop.toolsRequested(response);
+            long toolsStartedAt = System.nanoTime();
             var toolExecutionResult = toolCallingManager.executeToolCalls(prompt, response);
+            loop.toolsExecuted(response, System.nanoTime() - toolsStartedAt);
             if (toolExecutionResult.returnDirect()) {
                 return ChatResponse
                         .builder()
                         .from(response)
                         .generations(ToolExecutionResult.buildGenerations(toolExecutionResult))
                         .build();
-            } else {
-                return this.internalCall(new Prompt(toolExecutionResult.conversationHistory(), prompt.getOptions()), response);
             }
+            prompt = new Prompt(toolExecutionResult.conversationHistory(), prompt.getOptions());
+        }
+    }
+
+    /**
+     * Sends a synchronous request, recording it in the metrics if they are enabled.
+     *
+     * @param request The GigaChat API request.
+     * @param call    The call sending the request.
+     * @return The GigaChat API response.
+     */
+    private GigaChatChatResponse recorded(GigaChatChatRequest request, Supplier<GigaChatChatResponse> call) {
+        GigaChatMetrics metrics = this.metrics;
+        if (Objects.isNull(metrics)) {
+            return call.get();
+        }
+        GigaChatMetrics.ChatRecording recording = metrics.chatStarted(request.getModel(), chatApi.getScope());
+        try {
+            GigaChatChatResponse response = call.get();
+            recording.chunk(response);
+            return response;
+        } finally {
+            recording.stop();
+        }
+    }
+
+    /**
+     * Records a streaming request in the metrics if they are enabled.
+     *
+     * @param request The GigaChat API request.
+     * @param chunks  The streamed chunks of the response.
+     * @return The chunks, recorded when subscribed.
+     */
+    private Flux<GigaChatChatResponse> recorded(GigaChatChatRequest request, Flux<GigaChatChatResponse> chunks) {
+        GigaChatMetrics metrics = this.metrics;
+        if (Objects.isNull(metrics)) {
+            return chunks;
         }
+        return Flux.defer(() -> {
+            GigaChatMetrics.ChatRecording recording = metrics.chatStarted(request.getModel(), chatApi.getScope());
+            return chunks.doOnNext(recording::chunk).doFinally(signal -> recording.stop());
+        });
+    }
+
+    /**
+     * Converts a GigaChat API response into a {@link ChatResponse}.
+     *
+     * @param gigaChatResponse     The GigaChat API response.
+     * @param previousChatResponse Previous chat response, if available.
+     * @return A {@link ChatResponse} containing the assistant's reply and any associated metadata.
+     */
+    private ChatResponse toChatResponse(GigaChatChatResponse gigaChatResponse, ChatResponse previousChatResponse) {
+        List<AssistantMessage.ToolCall> toolCalls = extractToolCalls(gigaChatResponse);
+        AssistantMessage assistantMessage = createAssistantMessage(gigaChatResponse, toolCalls);
+        ChatGenerationMetadata generationMetadata = createGenerationMetadata(gigaChatResponse);
 
-        return response;
+        var generator = new Generation(assistantMessage, generationMetadata);
+        return buildChatResponse(previousChatResponse, generator, gigaChatResponse);
     }
 
     /**
@@ -222,6 +344,31 @@ public class GigaChatChatModel implements ChatModel {
                 .build();
     }
 
+    /**
+     * Decides whether the next model call is observed.
+     *
+     * @return {@code true} if the registry is enabled and the call falls within the sample rate.
+     */
+    private boolean sampled() {
+        if (Objects.isNull(observationRegistry) || observationRegistry.isNoop() || observationSampleRate <= 0) {
+            return false;
+        }
+        return observationSampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < observationSampleRate;
+    }
+
+    /**
+     * Creates the observation of a model call.
+     *
+     * @param observationContext The observation context, or {@code null} if the call is not observed.
+     * @return The observation, a no-op one if the call is not observed.
+     */
+    private Observation createObservation(ChatModelObservationContext observationContext) {
+        if (Objects.isNull(observationContext)) {
+            return Observation.NOOP;
+        }
+        return ChatModelObservationDocumentation.CHAT_MODEL_OPERATION.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext, this.observationRegistry);
+    }
+
     /**
      * Creates an assistant message from the response data.
      *
@@ -330,16 +477,8 @@ public class GigaChatChatModel implements ChatModel {
      * @param stream Flag indicating whether to enable streaming.
      * @return A {@link GigaChatChatRequest} instance representing the request parameters.
      */
-    private GigaChatChatRequest buildPrompt(Prompt prompt, boolean stream) {
-        List<GigaChatChatRequest.Message> messages = prompt.getInstructions().stream().map(GigaChatChatModel::convertMessage).flatMap(List::stream).toList();
-
-        messages = new ArrayList<>(messages);
-        GigaChatChatRequest.Message sm = messages.stream().filter(m -> m.getRole() == GigaChatRole.SYSTEM).findFirst().orElse(null);
-
-        if (Objects.nonNull(sm)) {
-            messages.remove(sm);
-            messages.add(0, sm);
-        }
+    GigaChatChatRequest buildPrompt(Prompt prompt, boolean stream) {
+        List<GigaChatChatRequest.Message> messages = systemFirst(convertMessages(prompt));
 
         Set<String> functionsForThisRequest = new HashSet<>();
         GigaChatChatOptions runtimeOptions = getRuntimeOptions(prompt, functionsForThisRequest);
@@ -361,6 +500,42 @@ public class GigaChatChatModel implements ChatModel {
         return buildRequest(stream, mergedOptions, messages, functionsForThisRequest);
     }
 
+    /**
+     * Converts the messages of the prompt, reusing the history cached for its conversation, if any.
+     *
+     * @param prompt The user's input prompt.
+     * @return A mutable list of converted messages, in the order of the prompt.
+     */
+    private List<GigaChatChatRequest.Message> convertMessages(Prompt prompt) {
+        String conversationId = prompt.getOptions() instanceof GigaChatChatOptions options ? options.getConversationId() : null;
+        if (Objects.nonNull(conversationCache) && StringUtils.hasText(conversationId)) {
+            return conversationCache.convert(conversationId, prompt.getInstructions(), GigaChatChatModel::convertMessage);
+        }
+
+        List<GigaChatChatRequest.Message> messages = new ArrayList<>();
+        for (Message message : prompt.getInstructions()) {
+            messages.addAll(convertMessage(message));
+        }
+        return messages;
+    }
+
+    /**
+     * Moves the first system message to the front of the list, as required by the API.
+     *
+     * @param messages The converted messages.
+     * @return The messages starting with the system message, if there is one.
+     */
+    private static List<GigaChatChatRequest.Message> systemFirst(List<GigaChatChatRequest.Message> messages) {
+        int index = 0;
+        while (index < messages.size() && messages.get(index).getRole() != GigaChatRole.SYSTEM) {
+            index++;
+        }
+        if (index > 0 && index < messages.size()) {
+            Collections.rotate(messages.subList(0, index + 1), 1);
+        }
+        return messages;
+    }
+
     /**
      * Constructs a GigaChat API request based on the specified options and parameters.
      *
@@ -510,16 +685,10 @@ public class GigaChatChatModel implements ChatModel {
      * @return A collection of {@link GigaChatChatRequest.Function} representing the resolved function definitions.
      */
     private Collection<GigaChatChatRequest.Function> getFunctionTools(GigaChatChatOptions mergedOptions, Set<String> functionNames) {
-        return toolCallingManager.resolveToolDefinitions(mergedOptions)
-                .stream()
-                .filter(item -> functionNames.contains(item.name()))
-                .map(toolDefinition -> new GigaChatChatRequest.Function(
-                        toolDefinition.name(),
-                        toolDefinition.description(),
-                        ModelOptionsUtils.jsonToMap(toolDefinition.inputSchema()),
-                        null,
-                        null))
-                .toList();
+        if (Objects.isNull(toolDefinitionCache)) {
+            return GigaChatToolDefinitionCache.resolveFunctions(toolCallingManager, mergedOptions, functionNames);
+        }
+        return toolDefinitionCache.resolve(toolCallingManager, mergedOptions, functionNames);
     }
 
     /**
@@ -544,47 +713,110 @@ public class GigaChatChatModel implements ChatModel {
     }
 
     /**
-     * Internally handles the streaming of chat responses with optional previous response context.
+     * Streams the chat response and hands the consolidated response to a callback once the stream completes.
      *
-     * @param prompt The user's input prompt.
-     * @param previousChatResponse Optional previous chat response to provide context.
+     * <p>The consolidated response contains the full text of every choice, the merged function calls,
+     * the last finish reason and the accumulated usage, so the complete answer can be persisted without
+     * collecting the streamed chunks again.</p>
+     *
+     * @param prompt      The user's input prompt.
+     * @param onAggregate Callback receiving the consolidated response.
      * @return A {@link Flux} emitting chat responses as they are generated.
      */
-    private Flux<ChatResponse> internalStream(Prompt prompt, ChatResponse previousChatResponse) {
+    public Flux<ChatResponse> stream(Prompt prompt, Consumer<ChatResponse> onAggregate) {
+        return internalStream(prompt, onAggregate);
+    }
+
+    /**
+     * Streams the response of the model, executing the requested tool calls in a loop.
+     *
+     * <p>Every iteration streams one model call. When the model requests tools, they are executed after the call
+     * completes and the prompt of the next iteration is queued; iterations are concatenated rather than nested, so
+     * a long loop keeps a constant depth of operators.</p>
+     *
+     * @param prompt      The user's input prompt.
+     * @param onAggregate Callback receiving the consolidated response, or {@code null}.
+     * @return A {@link Flux} emitting chat responses as they are generated.
+     */
+    private Flux<ChatResponse> internalStream(Prompt prompt, Consumer<ChatResponse> onAggregate) {
         return Flux.deferContextual(view -> {
-            GigaChatChatRequest request = buildPrompt(prompt, true);
-            ChatModelObservationContext observationContext = createObservationContext(prompt, request);
-
-            Observation observation = ChatModelObservationDocumentation.CHAT_MODEL_OPERATION.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext, this.observationRegistry);
-            observation.parentObservation(Objects.requireNonNull(view.getOrDefault(ObservationThreadLocalAccessor.KEY, null))).start();
-
-            Flux<GigaChatChatResponse> gigaChatResponse = chatApi.streamingChat(request);
-
-            Flux<ChatResponse> chatResponse = gigaChatResponse.map(part -> {
-                List<AssistantMessage.ToolCall> toolCalls = extractToolCalls(part);
-                AssistantMessage assistantMessage = createAssistantMessage(part, toolCalls);
-                ChatGenerationMetadata generationMetadata = createGenerationMetadata(part);
-
-                var generator = new Generation(assistantMessage, generationMetadata);
-                return buildChatResponse(previousChatResponse, generator, part);
-            });
-
-            return chatResponse.flatMap(response -> {
-                if (ToolCallingChatOptions.isInternalToolExecutionEnabled(prompt.getOptions()) && Objects.nonNull(response) && response.hasToolCalls()) {
-                    var toolExecutionResult = toolCallingManager.executeToolCalls(prompt, response);
-                    if (toolExecutionResult.returnDirect()) {
-                        return Flux.just(ChatResponse
-                                .builder()
-                                .from(response)
-                                .generations(ToolExecutionResult.buildGenerations(toolExecutionResult))
-                                .build()
-                        );
-                    } else {
-                        return this.internalStream(new Prompt(toolExecutionResult.conversationHistory(), prompt.getOptions()), response);
+            GigaChatToolLoop loop = new GigaChatToolLoop(toolLoopOptions, toolLoopListener);
+            Sinks.Many<Prompt> prompts = Sinks.many().unicast().onBackpressureBuffer();
+            prompts.tryEmitNext(prompt);
+            return prompts.asFlux().concatMap(iterationPrompt -> streamIteration(iterationPrompt, view, loop, prompts, onAggregate));
+        });
+    }
+
+    /**
+     * Streams one iteration of the tool calling loop.
+     *
+     * <p>Chunks are aggregated while they are emitted. Tool calls are detected once on the aggregated
+     * response at the end of the stream rather than on every partial chunk. The observation of the call is stopped
+     * when the stream terminates, with the aggregated response and its usage if the stream completed.</p>
+     *
+     * @param prompt      The prompt of the iteration.
+     * @param view        The context of the subscriber.
+     * @param loop        The state of the loop.
+     * @param prompts     The queue receiving the prompt of the next iteration; completed after the last iteration.
+     * @param onAggregate Callback receiving the consolidated response, or {@code null}.
+     * @return A {@link Flux} emitting chat responses as they are generated.
+     */
+    private Flux<ChatResponse> streamIteration(Prompt prompt, ContextView view, GigaChatToolLoop loop, Sinks.Many<Prompt> prompts, Consumer<ChatResponse> onAggregate) {
+        loop.modelStarted();
+        GigaChatChatRequest request = buildPrompt(prompt, true);
+        ChatModelObservationContext observationContext = sampled() ? createObservationContext(prompt, request) : null;
+
+        Observation observation = createObservation(observationContext);
+        observation.parentObservation(view.getOrDefault(ObservationThreadLocalAccessor.KEY, null)).start();
+
+        boolean internalToolExecution = ToolCallingChatOptions.isInternalToolExecutionEnabled(prompt.getOptions());
+        GigaChatStreamAggregator aggregator = new GigaChatStreamAggregator();
+        ChatResponse previousChatResponse = loop.getPreviousResponse();
+        AtomicReference<ChatResponse> aggregated = new AtomicReference<>();
+
+        Flux<ChatResponse> chatResponse = recorded(request, chatApi.streamingChat(request))
+                .map(aggregator::accept)
+                .map(part -> toChatResponse(part, previousChatResponse))
+                .filter(response -> !internalToolExecution || !response.hasToolCalls())
+                .doOnComplete(() -> {
+                    aggregated.set(toChatResponse(aggregator.aggregate(), previousChatResponse));
+                    if (Objects.nonNull(observationContext)) {
+                        observationContext.setResponse(aggregated.get());
                     }
+                })
+                .doOnError(observation::error)
+                .doFinally(signal -> observation.stop())
+                .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, observation));
+
+        return chatResponse.concatWith(Flux.defer(() -> {
+            ChatResponse response = aggregated.get();
+            if (internalToolExecution && response.hasToolCalls()) {
+                loop.toolsRequested(response);
+                long toolsStartedAt = System.nanoTime();
+                var toolExecutionResult = toolCallingManager.executeToolCalls(prompt, response);
+                loop.toolsExecuted(response, System.nanoTime() - toolsStartedAt);
+                if (!toolExecutionResult.returnDirect()) {
+                    prompts.tryEmitNext(new Prompt(toolExecutionResult.conversationHistory(), prompt.getOptions()));
+                    return Flux.empty();
+                }
+                response = ChatResponse
+                        .builder()
+                        .from(response)
+                        .generations(ToolExecutionResult.buildGenerations(toolExecutionResult))
+                        .build();
+                prompts.tryEmitComplete();
+                if (Objects.nonNull(onAggregate)) {
+                    onAggregate.accept(response);
                 }
                 return Flux.just(response);
-            });
-        });
+            }
+
+            loop.completed(response);
+            prompts.tryEmitComplete();
+            if (Objects.nonNull(onAggregate)) {
+                onAggregate.accept(response);
+            }
+            return Flux.empty();
+        }));
     }
 }
@@ -0,0 +1,163 @@
+package org.springframework.ai.gigachat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.gigachat.api.model.GigaChatChatRequest;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Cache of converted conversation histories.
+ *
+ * <p>For every conversation the cache keeps the messages of the previous turn together with their converted
+ * form. When the next turn starts with the same messages, only the new ones are converted, and the converted
+ * messages of the unchanged prefix are reused along with their serialized JSON, so the request body is assembled
+ * without serializing old turns again. A conversation whose history was edited is rebuilt from the first changed
+ * message. Conversations are evicted in LRU order.</p>
+ */
+public class GigaChatConversationCache {
+
+    /**
+     * The writer used to serialize converted messages.
+     */
+    private static final ObjectWriter MESSAGE_WRITER = ModelOptionsUtils.OBJECT_MAPPER.writerFor(GigaChatChatRequest.Message.class);
+
+    /**
+     * The conversations in LRU order, guarded by itself.
+     */
+    private final LinkedHashMap<String, Conversation> conversations;
+
+    /**
+     * Constructs a new GigaChatConversationCache.
+     *
+     * @param maxConversations The maximum number of conversations kept in the cache.
+     */
+    public GigaChatConversationCache(int maxConversations) {
+        Assert.isTrue(maxConversations > 0, "Размер кэша должен быть положительным");
+        this.conversations = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Conversation> eldest) {
+                return size() > maxConversations;
+            }
+        };
+    }
+
+    /**
+     * Converts the messages of a conversation, reusing the converted messages of the previous turn.
+     *
+     * @param conversationId The identifier of the conversation.
+     * @param messages       The messages of the current turn.
+     * @param converter      The conversion of a single message.
+     * @return The converted messages, in the order of the source messages.
+     */
+    public List<GigaChatChatRequest.Message> convert(String conversationId, List<Message> messages,
+                                                     Function<Message, List<GigaChatChatRequest.Message>> converter) {
+        Conversation conversation;
+        synchronized (conversations) {
+            conversation = conversations.computeIfAbsent(conversationId, id -> new Conversation());
+        }
+        synchronized (conversation) {
+            return conversation.convert(messages, converter);
+        }
+    }
+
+    /**
+     * Removes a conversation from the cache.
+     *
+     * @param conversationId The identifier of the conversation.
+     */
+    public void evict(String conversationId) {
+        synchronized (conversations) {
+            conversations.remove(conversationId);
+        }
+    }
+
+    /**
+     * Returns the number of conversations in the cache.
+     *
+     * @return The number of conversations.
+     */
+    public int size() {
+        synchronized (conversations) {
+            return conversations.size();
+        }
+    }
+
+    /**
+     * Serializes a converted message and attaches the result to it.
+     *
+     * @param message The converted message.
+     * @return The same message.
+     */
+    private static GigaChatChatRequest.Message serialize(GigaChatChatRequest.Message message) {
+        try {
+            message.setJson(new SerializedString(MESSAGE_WRITER.writeValueAsString(message)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать сообщение", e);
+        }
+        return message;
+    }
+
+    /**
+     * The cached history of a single conversation.
+     */
+    private static final class Conversation {
+
+        /**
+         * The source messages of the previous turn.
+         */
+        private final List<Message> sources = new ArrayList<>();
+
+        /**
+         * The number of converted messages produced by each source message.
+         */
+        private final List<Integer> counts = new ArrayList<>();
+
+        /**
+         * The converted messages of the previous turn.
+         */
+        private final ArrayList<GigaChatChatRequest.Message> converted = new ArrayList<>();
+
+        private List<GigaChatChatRequest.Message> convert(List<Message> messages,
+                                                          Function<Message, List<GigaChatChatRequest.Message>> converter) {
+            int common = 0;
+            int limit = Math.min(sources.size(), messages.size());
+            while (common < limit && same(sources.get(common), messages.get(common))) {
+                common++;
+            }
+
+            if (common < sources.size()) {
+                int keep = 0;
+                for (int i = 0; i < common; i++) {
+                    keep += counts.get(i);
+                }
+                sources.subList(common, sources.size()).clear();
+                counts.subList(common, counts.size()).clear();
+                converted.subList(keep, converted.size()).clear();
+            }
+
+            for (Message message : messages.subList(common, messages.size())) {
+                List<GigaChatChatRequest.Message> parts = converter.apply(message);
+                sources.add(message);
+                counts.add(parts.size());
+                for (GigaChatChatRequest.Message part : parts) {
+                    converted.add(serialize(part));
+                }
+            }
+            return new ArrayList<>(converted);
+        }
+
+        private static boolean same(Message cached, Message message) {
+            return cached == message || Objects.equals(cached, message);
+        }
+    }
+}
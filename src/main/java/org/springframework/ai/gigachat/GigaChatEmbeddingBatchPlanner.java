@@ -0,0 +1,242 @@
+package org.springframework.ai.gigachat;
+
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingMatrix;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingRequest;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingResponse;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Splits large embedding requests into sub-batches limited by item count and estimated tokens,
+ * and runs them concurrently with bounded parallelism.
+ *
+ * <p>The responses of the sub-batches are merged back into a single {@link GigaChatEmbeddingResponse}
+ * whose embedding indices refer to the positions in the original request.</p>
+ */
+public class GigaChatEmbeddingBatchPlanner {
+
+    /**
+     * Default maximum number of texts per sub-batch.
+     */
+    public static final int DEFAULT_MAX_ITEMS = 100;
+
+    /**
+     * Default maximum number of estimated tokens per sub-batch.
+     */
+    public static final int DEFAULT_MAX_TOKENS = 8000;
+
+    /**
+     * Default number of sub-batches sent concurrently.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * The maximum number of texts per sub-batch.
+     */
+    private final int maxItems;
+
+    /**
+     * The maximum number of estimated tokens per sub-batch.
+     */
+    private final int maxTokens;
+
+    /**
+     * The maximum number of sub-batches sent concurrently.
+     */
+    private final int parallelism;
+
+    /**
+     * Estimator of the number of tokens in a text.
+     */
+    private final TokenCountEstimator tokenCountEstimator;
+
+    /**
+     * Executor running the sub-batch requests.
+     */
+    private final Executor executor;
+
+    /**
+     * Constructs a new GigaChatEmbeddingBatchPlanner with the default limits.
+     */
+    public GigaChatEmbeddingBatchPlanner() {
+        this(DEFAULT_MAX_ITEMS, DEFAULT_MAX_TOKENS, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Constructs a new GigaChatEmbeddingBatchPlanner using its own daemon thread pool.
+     *
+     * @param maxItems    The maximum number of texts per sub-batch.
+     * @param maxTokens   The maximum number of estimated tokens per sub-batch.
+     * @param parallelism The maximum number of sub-batches sent concurrently.
+     */
+    public GigaChatEmbeddingBatchPlanner(int maxItems, int maxTokens, int parallelism) {
+        this(maxItems, maxTokens, parallelism, new JTokkitTokenCountEstimator(), Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "gigachat-embedding-planner");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Constructs a new GigaChatEmbeddingBatchPlanner.
+     *
+     * @param maxItems            The maximum number of texts per sub-batch.
+     * @param maxTokens           The maximum number of estimated tokens per sub-batch.
+     * @param parallelism         The maximum number of sub-batches sent concurrently.
+     * @param tokenCountEstimator Estimator of the number of tokens in a text.
+     * @param executor            Executor running the sub-batch requests.
+     */
+    public GigaChatEmbeddingBatchPlanner(int maxItems, int maxTokens, int parallelism, TokenCountEstimator tokenCountEstimator, Executor executor) {
+        Assert.isTrue(maxItems > 0, "Размер пакета должен быть положительным");
+        Assert.isTrue(maxTokens > 0, "Лимит токенов должен быть положительным");
+        Assert.isTrue(parallelism > 0, "Параллелизм должен быть положительным");
+        Assert.notNull(tokenCountEstimator, "Оценщик токенов не может быть пустым");
+        Assert.notNull(executor, "Исполнитель не может быть пустым");
+
+        this.maxItems = maxItems;
+        this.maxTokens = maxTokens;
+        this.parallelism = parallelism;
+        this.tokenCountEstimator = tokenCountEstimator;
+        this.executor = executor;
+    }
+
+    /**
+     * Splits the texts into consecutive sub-batches. A text exceeding the token limit on its own gets a sub-batch of its own.
+     *
+     * @param inputs The texts to embed.
+     * @return The sub-batches in the original order.
+     */
+    public List<Range> plan(List<String> inputs) {
+        List<Range> ranges = new ArrayList<>();
+        int from = 0;
+        int tokens = 0;
+        for (int i = 0; i < inputs.size(); i++) {
+            int estimate = tokenCountEstimator.estimate(inputs.get(i));
+            if (i > from && (i - from >= maxItems || tokens + estimate > maxTokens)) {
+                ranges.add(new Range(from, i));
+                from = i;
+                tokens = 0;
+            }
+            tokens += estimate;
+        }
+        if (from < inputs.size()) {
+            ranges.add(new Range(from, inputs.size()));
+        }
+        return ranges;
+    }
+
+    /**
+     * Executes an embedding request, splitting it into sub-batches when it exceeds the limits.
+     *
+     * @param request The embedding request.
+     * @param call    The function sending a single request to the API.
+     * @return The merged response with indices referring to the original request.
+     */
+    public GigaChatEmbeddingResponse execute(GigaChatEmbeddingRequest request, Function<GigaChatEmbeddingRequest, GigaChatEmbeddingResponse> call) {
+        List<String> inputs = List.copyOf(request.getInput());
+        List<Range> ranges = plan(inputs);
+        if (ranges.size() <= 1) {
+            return call.apply(request);
+        }
+        return merge(ranges, executeParts(request.getModel(), inputs, ranges, call));
+    }
+
+    /**
+     * Executes an embedding request decoded into a matrix, splitting it into sub-batches when it exceeds the limits.
+     *
+     * @param request The embedding request.
+     * @param call    The function sending a single request to the API.
+     * @return The matrix of all sub-batches stacked in the original order.
+     */
+    public GigaChatEmbeddingMatrix executeMatrix(GigaChatEmbeddingRequest request, Function<GigaChatEmbeddingRequest, GigaChatEmbeddingMatrix> call) {
+        List<String> inputs = List.copyOf(request.getInput());
+        List<Range> ranges = plan(inputs);
+        if (ranges.size() <= 1) {
+            return call.apply(request);
+        }
+        return GigaChatEmbeddingMatrix.concat(executeParts(request.getModel(), inputs, ranges, call).stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Sends the sub-batches concurrently, at most {@code parallelism} at a time, and waits for all of them.
+     * No further sub-batches are sent once one of them has failed.
+     *
+     * @param model  The model of the request.
+     * @param inputs The texts to embed.
+     * @param ranges The sub-batches.
+     * @param call   The function sending a single request to the API.
+     * @param <T>    The type of the response.
+     * @return The completed responses of the sub-batches.
+     */
+    private <T> List<CompletableFuture<T>> executeParts(String model, List<String> inputs, List<Range> ranges, Function<GigaChatEmbeddingRequest, T> call) {
+        Semaphore permits = new Semaphore(parallelism);
+        List<CompletableFuture<T>> parts = new ArrayList<>(ranges.size());
+        try {
+            for (Range range : ranges) {
+                permits.acquire();
+                if (parts.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                    permits.release();
+                    break;
+                }
+                GigaChatEmbeddingRequest part = new GigaChatEmbeddingRequest(model, inputs.subList(range.from(), range.to()));
+                parts.add(CompletableFuture.supplyAsync(() -> call.apply(part), executor).whenComplete((r, e) -> permits.release()));
+            }
+            CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Получение эмбеддингов прервано", e);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return parts;
+    }
+
+    /**
+     * Merges the responses of the sub-batches, shifting the embedding indices by the sub-batch offsets.
+     *
+     * @param ranges The sub-batches.
+     * @param parts  The responses of the sub-batches.
+     * @return The merged response.
+     */
+    private GigaChatEmbeddingResponse merge(List<Range> ranges, List<CompletableFuture<GigaChatEmbeddingResponse>> parts) {
+        GigaChatEmbeddingResponse merged = new GigaChatEmbeddingResponse();
+        List<GigaChatEmbeddingResponse.EmbeddingData> data = new ArrayList<>(ranges.get(ranges.size() - 1).to());
+        for (int i = 0; i < parts.size(); i++) {
+            GigaChatEmbeddingResponse part = parts.get(i).join();
+            int offset = ranges.get(i).from();
+            for (GigaChatEmbeddingResponse.EmbeddingData item : part.getData()) {
+                item.setIndex(Objects.isNull(item.getIndex()) ? null : item.getIndex() + offset);
+                data.add(item);
+            }
+            merged.setObject(part.getObject());
+            merged.setModel(part.getModel());
+        }
+        data.sort(Comparator.comparing(GigaChatEmbeddingResponse.EmbeddingData::getIndex, Comparator.nullsLast(Comparator.naturalOrder())));
+        merged.setData(data);
+        return merged;
+    }
+
+    /**
+     * A consecutive range of texts sent as one sub-batch.
+     *
+     * @param from The index of the first text, inclusive.
+     * @param to   The index of the last text, exclusive.
+     */
+    public record Range(int from, int to) {
+    }
+}
@@ -0,0 +1,298 @@
+package org.springframework.ai.gigachat;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces concurrent single-text embedding calls into batched requests.
+ *
+ * <p>Texts are queued until either {@code maxBatchSize} items are collected or {@code maxDelay} has passed since
+ * the first queued item, and are then sent to the delegate model as one request. The embeddings of the response
+ * are matched back to the waiting callers by their index. At most {@code maxConcurrency} batches are sent at once;
+ * further batches wait for a free sender.</p>
+ */
+public class GigaChatEmbeddingBatcher implements AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(GigaChatEmbeddingBatcher.class);
+
+    /**
+     * The default maximum number of batches sent at once.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    /**
+     * The model used to embed the collected batches.
+     */
+    private final EmbeddingModel delegate;
+
+    /**
+     * The maximum number of texts sent in a single request.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * The maximum time a text waits in the queue before its batch is sent.
+     */
+    private final Duration maxDelay;
+
+    /**
+     * Scheduler that flushes batches which did not fill up in time.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Executor running the batched requests, with one thread per batch sent at once.
+     */
+    private final ExecutorService flushExecutor;
+
+    /**
+     * Distribution of the number of texts per sent batch.
+     */
+    private final DistributionSummary batchSize;
+
+    /**
+     * Time the texts spent in the queue before their batch was sent.
+     */
+    private final Timer queueWait;
+
+    /**
+     * Texts waiting to be sent, guarded by {@code this}.
+     */
+    private List<Pending> pending = new ArrayList<>();
+
+    /**
+     * Scheduled flush of the current batch, guarded by {@code this}.
+     */
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Indicates whether the batcher has been closed, guarded by {@code this}.
+     */
+    private boolean closed;
+
+    /**
+     * Constructs a new GigaChatEmbeddingBatcher reporting metrics to the global meter registry.
+     *
+     * @param delegate     The model used to embed the collected batches.
+     * @param maxBatchSize The maximum number of texts sent in a single request.
+     * @param maxDelay     The maximum time a text waits in the queue.
+     */
+    public GigaChatEmbeddingBatcher(EmbeddingModel delegate, int maxBatchSize, Duration maxDelay) {
+        this(delegate, maxBatchSize, maxDelay, Metrics.globalRegistry);
+    }
+
+    /**
+     * Constructs a new GigaChatEmbeddingBatcher.
+     *
+     * @param delegate      The model used to embed the collected batches.
+     * @param maxBatchSize  The maximum number of texts sent in a single request.
+     * @param maxDelay      The maximum time a text waits in the queue.
+     * @param meterRegistry Registry for the batch size and queue wait metrics.
+     */
+    public GigaChatEmbeddingBatcher(EmbeddingModel delegate, int maxBatchSize, Duration maxDelay, MeterRegistry meterRegistry) {
+        this(delegate, maxBatchSize, maxDelay, DEFAULT_MAX_CONCURRENCY, meterRegistry);
+    }
+
+    /**
+     * Constructs a new GigaChatEmbeddingBatcher.
+     *
+     * @param delegate       The model used to embed the collected batches.
+     * @param maxBatchSize   The maximum number of texts sent in a single request.
+     * @param maxDelay       The maximum time a text waits in the queue.
+     * @param maxConcurrency The maximum number of batches sent at once.
+     * @param meterRegistry  Registry for the batch size and queue wait metrics.
+     */
+    public GigaChatEmbeddingBatcher(EmbeddingModel delegate, int maxBatchSize, Duration maxDelay, int maxConcurrency, MeterRegistry meterRegistry) {
+        Assert.notNull(delegate, "Модель не может быть пустой");
+        Assert.isTrue(maxBatchSize > 0, "Размер пакета должен быть положительным");
+        Assert.isTrue(maxConcurrency > 0, "Число одновременных запросов должно быть положительным");
+        Assert.isTrue(Objects.nonNull(maxDelay) && !maxDelay.isNegative(), "Задержка не может быть отрицательной");
+        Assert.notNull(meterRegistry, "Реестр метрик не может быть пустым");
+
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "gigachat-embedding-batch-timer"));
+        this.flushExecutor = Executors.newFixedThreadPool(maxConcurrency, runnable -> daemon(runnable, "gigachat-embedding-batch"));
+        this.batchSize = DistributionSummary.builder("gigachat.embedding.batch.size")
+                .description("Количество текстов в пакетном запросе эмбеддингов")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("gigachat.embedding.batch.queue.wait")
+                .description("Время ожидания текста в очереди до отправки пакета")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a text for embedding.
+     *
+     * @param text The text to embed.
+     * @return A future completed with the embedding once the batch containing the text is processed.
+     */
+    public CompletableFuture<float[]> submit(String text) {
+        Assert.hasText(text, "Нужен текст!");
+        Pending item = new Pending(text, System.nanoTime(), new CompletableFuture<>());
+
+        List<Pending> full = null;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Пакетная обработка эмбеддингов остановлена");
+            }
+            pending.add(item);
+            if (pending.size() >= maxBatchSize) {
+                full = drain();
+            } else if (pending.size() == 1) {
+                scheduledFlush = scheduler.schedule(this::flushScheduled, maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (Objects.nonNull(full)) {
+            List<Pending> batch = full;
+            flushExecutor.execute(() -> send(batch));
+        }
+        return item.result();
+    }
+
+    /**
+     * Embeds a text as part of a batch and waits for the result.
+     *
+     * @param text The text to embed.
+     * @return The embedding of the text.
+     */
+    public float[] embed(String text) {
+        try {
+            return submit(text).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Sends the pending texts and stops accepting new ones.
+     */
+    @Override
+    public void close() {
+        List<Pending> remaining;
+        synchronized (this) {
+            closed = true;
+            remaining = drain();
+        }
+        if (!remaining.isEmpty()) {
+            send(remaining);
+        }
+        scheduler.shutdownNow();
+        flushExecutor.shutdown();
+    }
+
+    /**
+     * Sends the current batch once its delay has expired.
+     */
+    private void flushScheduled() {
+        List<Pending> batch;
+        synchronized (this) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            flushExecutor.execute(() -> send(batch));
+        }
+    }
+
+    /**
+     * Takes the pending texts out of the queue. Must be called while holding the lock.
+     *
+     * @return The texts of the current batch.
+     */
+    private List<Pending> drain() {
+        List<Pending> batch = pending;
+        pending = new ArrayList<>(maxBatchSize);
+        if (Objects.nonNull(scheduledFlush)) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    /**
+     * Embeds a batch of texts and completes the futures of the waiting callers.
+     *
+     * @param batch The texts to embed.
+     */
+    private void send(List<Pending> batch) {
+        long now = System.nanoTime();
+        batchSize.record(batch.size());
+        for (Pending item : batch) {
+            queueWait.record(now - item.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            List<String> texts = batch.stream().map(Pending::text).toList();
+            EmbeddingResponse response = delegate.call(new EmbeddingRequest(texts, EmbeddingOptionsBuilder.builder().build()));
+
+            float[][] vectors = new float[batch.size()][];
+            for (Embedding embedding : response.getResults()) {
+                Integer index = embedding.getIndex();
+                if (Objects.nonNull(index) && index >= 0 && index < vectors.length) {
+                    vectors[index] = embedding.getOutput();
+                }
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                if (Objects.nonNull(vectors[i])) {
+                    batch.get(i).result().complete(vectors[i]);
+                } else {
+                    batch.get(i).result().completeExceptionally(new IllegalStateException("В ответе нет эмбеддинга с индексом " + i));
+                }
+            }
+        } catch (Throwable e) {
+            logger.warn("Не удалось получить эмбеддинги для пакета из " + batch.size() + " текстов", e);
+            batch.forEach(item -> item.result().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Creates a daemon thread with the given name.
+     *
+     * @param runnable The task of the thread.
+     * @param name     The name of the thread.
+     * @return The created thread.
+     */
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * A text waiting in the queue.
+     *
+     * @param text       The text to embed.
+     * @param enqueuedAt The time the text was queued, in nanoseconds.
+     * @param result     The future completed with the embedding.
+     */
+    private record Pending(String text, long enqueuedAt, CompletableFuture<float[]> result) {
+    }
+}
@@ -0,0 +1,205 @@
+package org.springframework.ai.gigachat;
+
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Content-addressed cache of embedding vectors.
+ *
+ * <p>Vectors are keyed by the SHA-256 hash of the model name and the input text. The cache has a bounded
+ * in-memory LRU tier and an optional memory-mapped file tier that keeps vectors across restarts. Vectors are copied
+ * when stored and when returned, so callers may modify them in place without affecting the cache.</p>
+ */
+public class GigaChatEmbeddingCache implements AutoCloseable {
+
+    /**
+     * The in-memory LRU tier, guarded by itself.
+     */
+    private final LinkedHashMap<Key, float[]> memory;
+
+    /**
+     * The maximum number of vectors kept in memory.
+     */
+    private final int maxEntries;
+
+    /**
+     * The file tier, if enabled.
+     */
+    private final GigaChatEmbeddingDiskStore disk;
+
+    /**
+     * Constructs a new in-memory GigaChatEmbeddingCache.
+     *
+     * @param maxEntries The maximum number of vectors kept in memory.
+     */
+    public GigaChatEmbeddingCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    /**
+     * Constructs a new GigaChatEmbeddingCache backed by a file.
+     *
+     * @param maxEntries The maximum number of vectors kept in memory.
+     * @param file       The file of the persistent tier, or {@code null} to keep vectors in memory only.
+     */
+    public GigaChatEmbeddingCache(int maxEntries, Path file) {
+        Assert.isTrue(maxEntries > 0, "Размер кэша должен быть положительным");
+        this.maxEntries = maxEntries;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true);
+        this.disk = Objects.isNull(file) ? null : new GigaChatEmbeddingDiskStore(file);
+    }
+
+    /**
+     * Computes the cache key of a text embedded with the given model.
+     *
+     * @param model The name of the embedding model.
+     * @param text  The input text.
+     * @return The cache key.
+     */
+    public static Key key(String model, String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(model).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest());
+            return new Key(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Looks up a vector, promoting vectors found in the file tier to memory.
+     *
+     * @param key The cache key.
+     * @return A copy of the cached vector, or {@code null} on a miss.
+     */
+    public Lookup get(Key key) {
+        synchronized (memory) {
+            float[] vector = memory.get(key);
+            if (Objects.nonNull(vector)) {
+                return new Lookup(vector.clone(), 0);
+            }
+        }
+
+        if (Objects.isNull(disk)) {
+            return new Lookup(null, 0);
+        }
+
+        float[] vector = disk.get(key);
+        return new Lookup(vector, Objects.isNull(vector) ? 0 : putInMemory(key, vector.clone()));
+    }
+
+    /**
+     * Stores a vector in all tiers.
+     *
+     * @param key    The cache key.
+     * @param vector The vector to store; the cache keeps a copy.
+     * @return The number of vectors evicted from memory to make room for it.
+     */
+    public int put(Key key, float[] vector) {
+        if (Objects.nonNull(disk)) {
+            disk.put(key, vector);
+        }
+        return putInMemory(key, vector.clone());
+    }
+
+    /**
+     * Returns the number of vectors kept in memory.
+     *
+     * @return The number of vectors kept in memory.
+     */
+    public int size() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    /**
+     * Flushes and closes the file tier.
+     */
+    @Override
+    public void close() {
+        if (Objects.nonNull(disk)) {
+            disk.close();
+        }
+    }
+
+    /**
+     * Stores a vector in the memory tier, evicting the least recently used vectors beyond the limit.
+     *
+     * @param key    The cache key.
+     * @param vector The vector to store.
+     * @return The number of evicted vectors.
+     */
+    private int putInMemory(Key key, float[] vector) {
+        int evicted = 0;
+        synchronized (memory) {
+            memory.put(key, vector);
+            var iterator = memory.entrySet().iterator();
+            while (memory.size() > maxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * SHA-256 hash of the model name and the input text.
+     */
+    public record Key(long h0, long h1, long h2, long h3) {
+
+        /**
+         * Writes the key at the given position of a buffer.
+         *
+         * @param buffer   The target buffer.
+         * @param position The position in the buffer.
+         */
+        void writeTo(ByteBuffer buffer, int position) {
+            buffer.putLong(position, h0);
+            buffer.putLong(position + Long.BYTES, h1);
+            buffer.putLong(position + 2 * Long.BYTES, h2);
+            buffer.putLong(position + 3 * Long.BYTES, h3);
+        }
+
+        /**
+         * Reads a key from the given position of a buffer.
+         *
+         * @param buffer   The source buffer.
+         * @param position The position in the buffer.
+         * @return The key.
+         */
+        static Key readFrom(ByteBuffer buffer, int position) {
+            return new Key(buffer.getLong(position), buffer.getLong(position + Long.BYTES), buffer.getLong(position + 2 * Long.BYTES), buffer.getLong(position + 3 * Long.BYTES));
+        }
+    }
+
+    /**
+     * Result of a cache lookup.
+     *
+     * @param vector  The cached vector, or {@code null} on a miss.
+     * @param evicted The number of vectors evicted from memory while promoting the vector from the file tier.
+     */
+    public record Lookup(float[] vector, int evicted) {
+
+        /**
+         * Checks whether the vector was found.
+         *
+         * @return {@code true} on a cache hit.
+         */
+        public boolean hit() {
+            return Objects.nonNull(vector);
+        }
+    }
+}
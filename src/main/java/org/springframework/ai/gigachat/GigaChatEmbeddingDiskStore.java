@@ -0,0 +1,197 @@
+package org.springframework.ai.gigachat;
+
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Append-only, memory-mapped file of embedding vectors addressed by {@link GigaChatEmbeddingCache.Key}.
+ *
+ * <p>The file consists of fixed-size segments, each mapped separately. Segment zero starts with a header holding
+ * the magic number, the format version and the write position. Every record is laid out as the 32-byte key,
+ * the number of dimensions and the raw {@code float} values. A record never crosses a segment boundary; the
+ * unused tail of a segment is marked with a padding record whose dimension count is {@code -1}.</p>
+ */
+class GigaChatEmbeddingDiskStore implements AutoCloseable {
+
+    private static final int MAGIC = 0x47434543;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int KEY_SIZE = 32;
+    private static final int RECORD_HEADER_SIZE = KEY_SIZE + Integer.BYTES;
+    private static final int PADDING = -1;
+    private static final long SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * The channel of the backing file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The mapped segments of the file.
+     */
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    /**
+     * Offsets of the stored records by key.
+     */
+    private final Map<GigaChatEmbeddingCache.Key, Long> index = new HashMap<>();
+
+    /**
+     * The position where the next record is written.
+     */
+    private long writePosition;
+
+    /**
+     * Opens or creates the store at the given path and indexes the stored records.
+     *
+     * @param path The path of the backing file.
+     */
+    GigaChatEmbeddingDiskStore(Path path) {
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (channel.size() == 0) {
+                MappedByteBuffer header = segment(0);
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.putLong(8, HEADER_SIZE);
+            }
+
+            MappedByteBuffer header = segment(0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IllegalStateException("Файл не является кэшем эмбеддингов: " + path);
+            }
+            this.writePosition = header.getLong(8);
+            scan();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a vector from the store.
+     *
+     * @param key The key of the vector.
+     * @return The vector, or {@code null} if it is not stored.
+     */
+    synchronized float[] get(GigaChatEmbeddingCache.Key key) {
+        Long offset = index.get(key);
+        if (Objects.isNull(offset)) {
+            return null;
+        }
+
+        MappedByteBuffer segment = segment((int) (offset / SEGMENT_SIZE));
+        int position = (int) (offset % SEGMENT_SIZE);
+        int dimensions = segment.getInt(position + KEY_SIZE);
+        float[] vector = new float[dimensions];
+        segment.slice(position + RECORD_HEADER_SIZE, dimensions * Float.BYTES).asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    /**
+     * Appends a vector to the store unless it is already present.
+     *
+     * @param key    The key of the vector.
+     * @param vector The vector to store.
+     */
+    synchronized void put(GigaChatEmbeddingCache.Key key, float[] vector) {
+        if (index.containsKey(key)) {
+            return;
+        }
+
+        int size = RECORD_HEADER_SIZE + vector.length * Float.BYTES;
+        Assert.isTrue(size <= SEGMENT_SIZE - HEADER_SIZE, "Вектор слишком велик для файлового кэша");
+
+        long remaining = SEGMENT_SIZE - writePosition % SEGMENT_SIZE;
+        if (remaining < size) {
+            if (remaining >= RECORD_HEADER_SIZE) {
+                segment((int) (writePosition / SEGMENT_SIZE)).putInt((int) (writePosition % SEGMENT_SIZE) + KEY_SIZE, PADDING);
+            }
+            writePosition += remaining;
+        }
+
+        MappedByteBuffer segment = segment((int) (writePosition / SEGMENT_SIZE));
+        int position = (int) (writePosition % SEGMENT_SIZE);
+        key.writeTo(segment, position);
+        segment.putInt(position + KEY_SIZE, vector.length);
+        segment.slice(position + RECORD_HEADER_SIZE, vector.length * Float.BYTES).asFloatBuffer().put(vector);
+
+        index.put(key, writePosition);
+        writePosition += size;
+        segment(0).putLong(8, writePosition);
+    }
+
+    /**
+     * Returns the number of stored vectors.
+     *
+     * @return The number of stored vectors.
+     */
+    synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Flushes the mapped segments to disk and closes the file.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            segments.forEach(MappedByteBuffer::force);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds the index of the stored records up to the write position.
+     */
+    private void scan() {
+        long position = HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= writePosition) {
+            MappedByteBuffer segment = segment((int) (position / SEGMENT_SIZE));
+            int offset = (int) (position % SEGMENT_SIZE);
+            if (SEGMENT_SIZE - offset < RECORD_HEADER_SIZE) {
+                position += SEGMENT_SIZE - offset;
+                continue;
+            }
+
+            int dimensions = segment.getInt(offset + KEY_SIZE);
+            if (dimensions == PADDING) {
+                position += SEGMENT_SIZE - offset;
+                continue;
+            }
+
+            index.put(GigaChatEmbeddingCache.Key.readFrom(segment, offset), position);
+            position += RECORD_HEADER_SIZE + (long) dimensions * Float.BYTES;
+        }
+    }
+
+    /**
+     * Returns the mapped segment with the given number, mapping it and the preceding ones if necessary.
+     *
+     * @param number The number of the segment.
+     * @return The mapped segment.
+     */
+    private MappedByteBuffer segment(int number) {
+        try {
+            while (segments.size() <= number) {
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, segments.size() * SEGMENT_SIZE, SEGMENT_SIZE));
+            }
+            return segments.get(number);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -3,7 +3,6 @@ package org.springframework.ai.gigachat;
 import io.micrometer.observation.ObservationRegistry;
 import lombok.Setter;
 import org.springframework.ai.chat.metadata.DefaultUsage;
-import org.springframework.ai.chat.metadata.Usage;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.AbstractEmbeddingModel;
 import org.springframework.ai.embedding.Embedding;
@@ -18,13 +17,16 @@ import org.springframework.ai.embedding.observation.EmbeddingModelObservationCon
 import org.springframework.ai.embedding.observation.EmbeddingModelObservationDocumentation;
 import org.springframework.ai.gigachat.api.GigaChatApi;
 import org.springframework.ai.gigachat.api.GigaChatChatOptions;
+import org.springframework.ai.gigachat.api.GigaChatMetrics;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingMatrix;
 import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingRequest;
-import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingResponse;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Represents a Giga Chat embedding model, which extends the abstract class AbstractEmbeddingModel.
@@ -57,6 +59,24 @@ public class GigaChatEmbeddingModel extends AbstractEmbeddingModel {
     @Setter
     private EmbeddingModelObservationConvention observationConvention = DEFAULT_OBSERVATION_CONVENTION;
 
+    /**
+     * Batcher coalescing concurrent single-text embedding calls, if enabled.
+     */
+    @Setter
+    private GigaChatEmbeddingBatcher batcher;
+
+    /**
+     * Planner splitting large requests into concurrently sent sub-batches, if enabled.
+     */
+    @Setter
+    private GigaChatEmbeddingBatchPlanner batchPlanner;
+
+    /**
+     * Metrics of the embedding requests, such as the number of texts per request, or {@code null} to disable them.
+     */
+    @Setter
+    private GigaChatMetrics metrics;
+
     /**
      * Constructs a new GigaChatEmbeddingModel instance with the provided parameters.
      *
@@ -80,11 +100,14 @@ public class GigaChatEmbeddingModel extends AbstractEmbeddingModel {
     public EmbeddingResponse call(EmbeddingRequest request) {
         Assert.notEmpty(request.getInstructions(), "Нужен текст!");
         GigaChatEmbeddingRequest embeddingRequest = embeddingRequest(request.getInstructions(), request.getOptions());
-        EmbeddingModelObservationContext observationContext = EmbeddingModelObservationContext.builder().embeddingRequest(request).provider(GigaChatApi.PROVIDER_NAME).requestOptions(buildRequestOptions(embeddingRequest)).build();
+        EmbeddingModelObservationContext observationContext = observationContext(request, embeddingRequest);
         return EmbeddingModelObservationDocumentation.EMBEDDING_MODEL_OPERATION.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext, this.observationRegistry).observe(() -> {
-            GigaChatEmbeddingResponse response = chatApi.embed(embeddingRequest);
-            List<Embedding> embeddings = response.getData().stream().map((e) -> new Embedding(e.getEmbedding(), e.getIndex())).toList();
-            EmbeddingResponseMetadata embeddingResponseMetadata = new EmbeddingResponseMetadata(response.getModel(), from(response));
+            GigaChatEmbeddingMatrix matrix = embedMatrix(embeddingRequest);
+            List<Embedding> embeddings = new ArrayList<>(matrix.getRows());
+            for (int row = 0; row < matrix.getRows(); row++) {
+                embeddings.add(new Embedding(matrix.row(row), row));
+            }
+            EmbeddingResponseMetadata embeddingResponseMetadata = new EmbeddingResponseMetadata(matrix.getModel(), new DefaultUsage(matrix.getPromptTokens(), 0));
             EmbeddingResponse embeddingResponse = new EmbeddingResponse(embeddings, embeddingResponseMetadata);
             observationContext.setResponse(embeddingResponse);
             return embeddingResponse;
@@ -92,23 +115,61 @@ public class GigaChatEmbeddingModel extends AbstractEmbeddingModel {
     }
 
     /**
-     * Builds the request options based on the provided Giga Chat embedding request.
+     * Embeds the texts into a contiguous matrix, without creating an {@link Embedding} per text.
+     *
+     * @param texts The texts to embed.
+     * @return The embeddings, one row per text in the given order.
+     */
+    public GigaChatEmbeddingMatrix embedMatrix(List<String> texts) {
+        return embedMatrix(texts, EmbeddingOptionsBuilder.builder().build());
+    }
+
+    /**
+     * Embeds the texts into a contiguous matrix, without creating an {@link Embedding} per text.
+     *
+     * @param texts   The texts to embed.
+     * @param options The embedding options.
+     * @return The embeddings, one row per text in the given order.
+     */
+    public GigaChatEmbeddingMatrix embedMatrix(List<String> texts, EmbeddingOptions options) {
+        Assert.notEmpty(texts, "Нужен текст!");
+        EmbeddingRequest request = new EmbeddingRequest(texts, options);
+        GigaChatEmbeddingRequest embeddingRequest = embeddingRequest(texts, options);
+        EmbeddingModelObservationContext observationContext = observationContext(request, embeddingRequest);
+        return EmbeddingModelObservationDocumentation.EMBEDDING_MODEL_OPERATION.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext, this.observationRegistry)
+                .observe(() -> embedMatrix(embeddingRequest));
+    }
+
+    /**
+     * Sends an embedding request, split into sub-batches if a planner is configured, and records it in the metrics.
      *
-     * @param request The Giga Chat embedding request.
-     * @return The constructed embedding options.
+     * @param embeddingRequest The embedding request.
+     * @return The embeddings in request order.
      */
-    private EmbeddingOptions buildRequestOptions(GigaChatEmbeddingRequest request) {
-        return EmbeddingOptionsBuilder.builder().withModel(request.getModel()).build();
+    private GigaChatEmbeddingMatrix embedMatrix(GigaChatEmbeddingRequest embeddingRequest) {
+        GigaChatEmbeddingMatrix matrix = Objects.isNull(batchPlanner) ? chatApi.embedMatrix(embeddingRequest) : batchPlanner.executeMatrix(embeddingRequest, chatApi::embedMatrix);
+        GigaChatMetrics metrics = this.metrics;
+        if (Objects.nonNull(metrics)) {
+            metrics.embedded(embeddingRequest.getModel(), chatApi.getScope(), embeddingRequest.getInput().size(), matrix.getRows(), matrix.getDimensions());
+        }
+        return matrix;
     }
 
     /**
-     * Converts the Giga Chat embedding response to a DefaultUsage object.
+     * Builds the observation context of an embedding request, with the model of the Giga Chat request as its options.
+     * The request options are still required by the observation context, although their builder method is deprecated.
      *
-     * @param response The Giga Chat embedding response.
-     * @return A Usage object representing the prompt tokens used.
+     * @param request          The embedding request.
+     * @param embeddingRequest The Giga Chat embedding request.
+     * @return The observation context.
      */
-    private Usage from(GigaChatEmbeddingResponse response) {
-        return new DefaultUsage(response.getData().stream().mapToInt(item -> item.getUsage().getPromptTokens()).sum(), 0);
+    @SuppressWarnings("removal")
+    static EmbeddingModelObservationContext observationContext(EmbeddingRequest request, GigaChatEmbeddingRequest embeddingRequest) {
+        return EmbeddingModelObservationContext.builder()
+                .embeddingRequest(request)
+                .provider(GigaChatApi.PROVIDER_NAME)
+                .requestOptions(EmbeddingOptionsBuilder.builder().withModel(embeddingRequest.getModel()).build())
+                .build();
     }
 
     /**
@@ -119,18 +180,51 @@ public class GigaChatEmbeddingModel extends AbstractEmbeddingModel {
      * @return A new GigaChatEmbeddingRequest instance.
      */
     private GigaChatEmbeddingRequest embeddingRequest(List<String> inputContent, EmbeddingOptions options) {
+        return new GigaChatEmbeddingRequest(resolveModel(options), inputContent);
+    }
+
+    /**
+     * Resolves the name of the model used for a request with the given options.
+     *
+     * @param options The embedding options.
+     * @return The name of the model.
+     */
+    String resolveModel(EmbeddingOptions options) {
+        return resolveModel(options, this.defaultOptions);
+    }
+
+    /**
+     * Resolves the name of the model used for a request with the given options.
+     *
+     * @param options        The embedding options.
+     * @param defaultOptions The default options of the model.
+     * @return The name of the model.
+     */
+    static String resolveModel(EmbeddingOptions options, GigaChatChatOptions defaultOptions) {
         GigaChatChatOptions runtimeOptions = null;
         if (options instanceof GigaChatChatOptions mergedOptions) {
             runtimeOptions = mergedOptions;
         }
 
-        GigaChatChatOptions mergedOptions = ModelOptionsUtils.merge(runtimeOptions, this.defaultOptions, GigaChatChatOptions.class);
+        GigaChatChatOptions mergedOptions = ModelOptionsUtils.merge(runtimeOptions, defaultOptions, GigaChatChatOptions.class);
         if (!StringUtils.hasText(mergedOptions.getModel())) {
             throw new IllegalArgumentException("Модель не установлена!");
-        } else {
-            String model = mergedOptions.getModel();
-            return new GigaChatEmbeddingRequest(model, inputContent);
         }
+        return mergedOptions.getModel();
+    }
+
+    /**
+     * Embeds a single text, coalescing it with concurrent calls when a batcher is configured.
+     *
+     * @param text The text to be embedded.
+     * @return A float array representing the embedding of the text.
+     */
+    @Override
+    public float[] embed(String text) {
+        if (Objects.nonNull(batcher)) {
+            return batcher.embed(text);
+        }
+        return super.embed(text);
     }
 
     /**
@@ -0,0 +1,211 @@
+package org.springframework.ai.gigachat;
+
+import lombok.Setter;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tool calling manager that executes the tool calls of one model response concurrently.
+ *
+ * <p>Every tool call is executed by the delegate manager as if the model had requested it alone, so tool resolution,
+ * error processing and observations stay those of the delegate. The calls run on the executor, and the responses are
+ * assembled into one {@link ToolResponseMessage} in the order of the calls. A call that does not finish within its
+ * timeout is interrupted and fails the whole execution, cancelling the remaining calls. The tool call history passed in
+ * the tool context contains only the call being executed.</p>
+ */
+public class GigaChatParallelToolCallingManager implements ToolCallingManager {
+
+    /**
+     * The number of threads created by the default executor.
+     */
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    /**
+     * Executor used when none is provided: tools are expected to be I/O-bound, so threads are created on demand.
+     */
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "gigachat-tool-" + THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The manager executing the individual tool calls.
+     */
+    private final ToolCallingManager delegate;
+
+    /**
+     * The executor running the tool calls.
+     */
+    private final Executor executor;
+
+    /**
+     * The maximum execution time of a tool call, or {@code null} for no limit.
+     * Can be set by external clients.
+     */
+    @Setter
+    private Duration timeout;
+
+    /**
+     * The maximum execution times of individual tools by name, overriding {@link #timeout}.
+     * Can be set by external clients.
+     */
+    @Setter
+    private Map<String, Duration> toolTimeouts = Map.of();
+
+    /**
+     * Constructs a new GigaChatParallelToolCallingManager running the tool calls on a shared thread pool.
+     *
+     * @param delegate The manager executing the individual tool calls.
+     */
+    public GigaChatParallelToolCallingManager(ToolCallingManager delegate) {
+        this(delegate, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * Constructs a new GigaChatParallelToolCallingManager.
+     *
+     * @param delegate The manager executing the individual tool calls.
+     * @param executor The executor running the tool calls.
+     */
+    public GigaChatParallelToolCallingManager(ToolCallingManager delegate, Executor executor) {
+        Assert.notNull(delegate, "Менеджер инструментов не может быть пустым");
+        Assert.notNull(executor, "Исполнитель не может быть пустым");
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public List<ToolDefinition> resolveToolDefinitions(ToolCallingChatOptions chatOptions) {
+        return delegate.resolveToolDefinitions(chatOptions);
+    }
+
+    @Override
+    public ToolExecutionResult executeToolCalls(Prompt prompt, ChatResponse chatResponse) {
+        Assert.notNull(prompt, "Запрос не может быть пустым");
+        Assert.notNull(chatResponse, "Ответ не может быть пустым");
+
+        Generation generation = chatResponse.getResults()
+                .stream()
+                .filter(g -> !CollectionUtils.isEmpty(g.getOutput().getToolCalls()))
+                .findFirst()
+                .orElse(null);
+        if (Objects.isNull(generation) || (generation.getOutput().getToolCalls().size() == 1
+                && Objects.isNull(timeout(generation.getOutput().getToolCalls().get(0).name())))) {
+            return delegate.executeToolCalls(prompt, chatResponse);
+        }
+
+        AssistantMessage assistantMessage = generation.getOutput();
+        List<AssistantMessage.ToolCall> toolCalls = assistantMessage.getToolCalls();
+        List<FutureTask<ToolExecutionResult>> tasks = new ArrayList<>(toolCalls.size());
+        long start = System.nanoTime();
+        for (AssistantMessage.ToolCall toolCall : toolCalls) {
+            AssistantMessage single = new AssistantMessage(assistantMessage.getText(), assistantMessage.getMetadata(), List.of(toolCall));
+            ChatResponse response = new ChatResponse(List.of(new Generation(single, generation.getMetadata())), chatResponse.getMetadata());
+            FutureTask<ToolExecutionResult> task = new FutureTask<>(() -> delegate.executeToolCalls(prompt, response));
+            tasks.add(task);
+            executor.execute(task);
+        }
+
+        // Waiting in the order of the deadlines ensures that no call is awaited past its own deadline.
+        Integer[] order = new Integer[tasks.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> timeout(toolCalls.get(i).name()), Comparator.nullsLast(Comparator.naturalOrder())));
+
+        ToolExecutionResult[] results = new ToolExecutionResult[tasks.size()];
+        try {
+            for (int i : order) {
+                results[i] = await(tasks.get(i), toolCalls.get(i).name(), start);
+            }
+        } finally {
+            tasks.forEach(task -> task.cancel(true));
+        }
+
+        List<ToolResponseMessage.ToolResponse> responses = new ArrayList<>(toolCalls.size());
+        boolean returnDirect = true;
+        for (ToolExecutionResult result : results) {
+            List<Message> history = result.conversationHistory();
+            if (history.get(history.size() - 1) instanceof ToolResponseMessage toolResponseMessage) {
+                responses.addAll(toolResponseMessage.getResponses());
+            }
+            returnDirect &= result.returnDirect();
+        }
+
+        List<Message> conversationHistory = new ArrayList<>(prompt.getInstructions());
+        conversationHistory.add(assistantMessage);
+        conversationHistory.add(new ToolResponseMessage(responses, Map.of()));
+        return ToolExecutionResult.builder()
+                .conversationHistory(conversationHistory)
+                .returnDirect(returnDirect)
+                .build();
+    }
+
+    /**
+     * Returns the maximum execution time of a tool.
+     *
+     * @param name The name of the tool.
+     * @return The timeout, or {@code null} for no limit.
+     */
+    private Duration timeout(String name) {
+        return Objects.isNull(toolTimeouts) ? timeout : toolTimeouts.getOrDefault(name, timeout);
+    }
+
+    /**
+     * Waits for a tool call to complete.
+     *
+     * @param task  The running tool call.
+     * @param name  The name of the tool.
+     * @param start The time the tool calls were started.
+     * @return The result of the tool call.
+     */
+    private ToolExecutionResult await(FutureTask<ToolExecutionResult> task, String name, long start) {
+        Duration limit = timeout(name);
+        try {
+            if (Objects.isNull(limit)) {
+                return task.get();
+            }
+            return task.get(start + limit.toNanos() - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Истекло время выполнения инструмента " + name, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Выполнение инструмента " + name + " прервано", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package org.springframework.ai.gigachat;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import lombok.Setter;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.EmbeddingResponseMetadata;
+import org.springframework.ai.embedding.observation.DefaultEmbeddingModelObservationConvention;
+import org.springframework.ai.embedding.observation.EmbeddingModelObservationContext;
+import org.springframework.ai.embedding.observation.EmbeddingModelObservationConvention;
+import org.springframework.ai.embedding.observation.EmbeddingModelObservationDocumentation;
+import org.springframework.ai.gigachat.api.GigaChatApi;
+import org.springframework.ai.gigachat.api.GigaChatChatOptions;
+import org.springframework.ai.gigachat.api.GigaChatMetrics;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingRequest;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingResponse;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Non-blocking variant of {@link GigaChatEmbeddingModel} built on the reactive client of {@link GigaChatApi}.
+ *
+ * <p>A stream of documents is embedded in batches, with a bounded number of batches in flight. Documents are
+ * requested from the source only as fast as the batches complete, and the embeddings are emitted in the order of the
+ * documents as soon as the batch holding them and all earlier batches have completed.</p>
+ */
+public class GigaChatReactiveEmbeddingModel {
+
+    /**
+     * Default observation convention for embedding models.
+     */
+    private static final EmbeddingModelObservationConvention DEFAULT_OBSERVATION_CONVENTION = new DefaultEmbeddingModelObservationConvention();
+
+    /**
+     * The default number of documents per request.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 16;
+
+    /**
+     * The default number of requests in flight.
+     */
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    /**
+     * The Giga Chat API to interact with the embedding service.
+     */
+    private final GigaChatApi chatApi;
+
+    /**
+     * Default options for the Giga Chat embedding model.
+     */
+    private final GigaChatChatOptions defaultOptions;
+
+    /**
+     * Observation registry used for observing and logging the model's operations.
+     */
+    private final ObservationRegistry observationRegistry;
+
+    /**
+     * Observation convention to be used for this model.
+     */
+    @Setter
+    private EmbeddingModelObservationConvention observationConvention = DEFAULT_OBSERVATION_CONVENTION;
+
+    /**
+     * The number of documents per request when embedding a stream.
+     */
+    @Setter
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * The number of requests in flight when embedding a stream.
+     */
+    @Setter
+    private int concurrency = DEFAULT_CONCURRENCY;
+
+    /**
+     * Metrics of the embedding requests, such as the number of texts per request, or {@code null} to disable them.
+     */
+    @Setter
+    private GigaChatMetrics metrics;
+
+    /**
+     * Constructs a new GigaChatReactiveEmbeddingModel instance with the provided parameters.
+     *
+     * @param chatApi             The Giga Chat API instance to interact with the embedding service.
+     * @param defaultOptions      Default options for the embedding model.
+     * @param observationRegistry Observation registry used for observing and logging.
+     */
+    public GigaChatReactiveEmbeddingModel(GigaChatApi chatApi, GigaChatChatOptions defaultOptions, ObservationRegistry observationRegistry) {
+        this.chatApi = chatApi;
+        this.defaultOptions = defaultOptions;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Calls the embedding API with the provided request.
+     *
+     * @param request The embedding request containing instructions and options.
+     * @return A {@link Mono} emitting the embedding response.
+     */
+    public Mono<EmbeddingResponse> call(EmbeddingRequest request) {
+        return Mono.deferContextual(view -> {
+            Assert.notEmpty(request.getInstructions(), "Нужен текст!");
+            GigaChatEmbeddingRequest embeddingRequest = new GigaChatEmbeddingRequest(GigaChatEmbeddingModel.resolveModel(request.getOptions(), defaultOptions), request.getInstructions());
+            EmbeddingModelObservationContext observationContext = GigaChatEmbeddingModel.observationContext(request, embeddingRequest);
+
+            Observation observation = EmbeddingModelObservationDocumentation.EMBEDDING_MODEL_OPERATION.observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext, this.observationRegistry);
+            observation.parentObservation(view.getOrDefault(ObservationThreadLocalAccessor.KEY, null)).start();
+
+            return chatApi.embedAsync(embeddingRequest)
+                    .doOnNext(response -> record(embeddingRequest, response))
+                    .map(GigaChatReactiveEmbeddingModel::toEmbeddingResponse)
+                    .doOnNext(observationContext::setResponse)
+                    .doOnError(observation::error)
+                    .doFinally(signal -> observation.stop());
+        });
+    }
+
+    /**
+     * Embeds a single text.
+     *
+     * @param text The text to be embedded.
+     * @return A {@link Mono} emitting the embedding of the text.
+     */
+    public Mono<float[]> embed(String text) {
+        return call(new EmbeddingRequest(List.of(text), EmbeddingOptionsBuilder.builder().build()))
+                .map(response -> response.getResult().getOutput());
+    }
+
+    /**
+     * Embeds a stream of documents in batches of {@code batchSize} with at most {@code concurrency} requests in flight.
+     *
+     * @param documents The documents to be embedded.
+     * @return A {@link Flux} emitting the embedding of every document, in the order of the documents.
+     */
+    public Flux<float[]> embed(Flux<Document> documents) {
+        return embed(documents, EmbeddingOptionsBuilder.builder().build());
+    }
+
+    /**
+     * Embeds a stream of documents in batches of {@code batchSize} with at most {@code concurrency} requests in flight.
+     *
+     * @param documents The documents to be embedded.
+     * @param options   The embedding options.
+     * @return A {@link Flux} emitting the embedding of every document, in the order of the documents.
+     */
+    public Flux<float[]> embed(Flux<Document> documents, EmbeddingOptions options) {
+        Assert.isTrue(batchSize > 0, "Размер пакета должен быть положительным");
+        Assert.isTrue(concurrency > 0, "Число одновременных запросов должно быть положительным");
+        return documents
+                .map(Document::getText)
+                .buffer(batchSize)
+                .flatMapSequential(texts -> call(new EmbeddingRequest(texts, options)), concurrency, 1)
+                .concatMapIterable(response -> response.getResults().stream().map(Embedding::getOutput).toList());
+    }
+
+    /**
+     * Records an embedding request in the metrics if they are enabled.
+     *
+     * @param request  The embedding request.
+     * @param response The response of the API.
+     */
+    private void record(GigaChatEmbeddingRequest request, GigaChatEmbeddingResponse response) {
+        GigaChatMetrics metrics = this.metrics;
+        if (Objects.isNull(metrics) || Objects.isNull(response.getData())) {
+            return;
+        }
+        int dimensions = response.getData().stream()
+                .map(GigaChatEmbeddingResponse.EmbeddingData::getEmbedding)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .map(embedding -> embedding.length)
+                .orElse(0);
+        metrics.embedded(request.getModel(), chatApi.getScope(), request.getInput().size(), response.getData().size(), dimensions);
+    }
+
+    /**
+     * Converts a GigaChat API response into an {@link EmbeddingResponse}, ordering the embeddings by index.
+     * An item without an index takes its position in the response.
+     *
+     * @param response The GigaChat API response.
+     * @return The embedding response.
+     */
+    private static EmbeddingResponse toEmbeddingResponse(GigaChatEmbeddingResponse response) {
+        int promptTokens = 0;
+        List<Embedding> embeddings = new ArrayList<>(response.getData().size());
+        for (GigaChatEmbeddingResponse.EmbeddingData item : response.getData()) {
+            int index = Objects.nonNull(item.getIndex()) ? item.getIndex() : embeddings.size();
+            embeddings.add(new Embedding(item.getEmbedding(), index));
+            if (Objects.nonNull(item.getUsage()) && Objects.nonNull(item.getUsage().getPromptTokens())) {
+                promptTokens += item.getUsage().getPromptTokens();
+            }
+        }
+        embeddings.sort(Comparator.comparing(Embedding::getIndex));
+        return new EmbeddingResponse(embeddings, new EmbeddingResponseMetadata(response.getModel(), new DefaultUsage(promptTokens, 0)));
+    }
+}
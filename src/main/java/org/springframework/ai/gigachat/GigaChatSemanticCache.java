@@ -0,0 +1,272 @@
+package org.springframework.ai.gigachat;
+
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of chat answers looked up by the meaning of the question.
+ *
+ * <p>Answers are grouped in scopes, and a question is only compared with the questions of its own scope. Within a
+ * scope the most similar cached question is found by comparing the normalized embeddings of the questions. Answers
+ * expire after the configured time to live, and the oldest answers are evicted when the cache is full.</p>
+ *
+ * <p>Lookups scan an immutable snapshot of the answers of their scope without locking, so they do not wait for each
+ * other or for stores. Stores and evictions are serialized and publish new snapshots of the scopes they change.</p>
+ */
+public class GigaChatSemanticCache {
+
+    /**
+     * The options of the cache.
+     */
+    private final GigaChatSemanticCacheOptions options;
+
+    /**
+     * All answers from the oldest to the newest, guarded by this cache.
+     */
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+
+    /**
+     * Snapshots of the answers of every scope from the oldest to the newest, replaced while holding the lock of this cache.
+     */
+    private final Map<Scope, Entry[]> scopes = new ConcurrentHashMap<>();
+
+    /**
+     * The oldest answer, or {@code null} if the cache is empty, updated while holding the lock of this cache.
+     */
+    private volatile Entry oldest;
+
+    /**
+     * Constructs a new GigaChatSemanticCache.
+     *
+     * @param options The options of the cache.
+     */
+    public GigaChatSemanticCache(GigaChatSemanticCacheOptions options) {
+        Assert.notNull(options, "Параметры кэша не могут быть пустыми");
+        Assert.isTrue(options.getMaxEntries() > 0, "Размер кэша должен быть положительным");
+        Assert.isTrue(Objects.nonNull(options.getTtl()) && options.getTtl().toNanos() > 0, "Время жизни ответа должно быть положительным");
+        this.options = options;
+    }
+
+    /**
+     * Computes the scope of a question: answers are only shared between questions of the same scope.
+     *
+     * @param model        The name of the chat model.
+     * @param systemPrompt The system prompt of the conversation.
+     * @param options      The serialized options of the request.
+     * @return The scope.
+     */
+    public static Scope scope(String model, String systemPrompt, String options) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(model).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(systemPrompt).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(options).getBytes(StandardCharsets.UTF_8));
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest());
+            return new Scope(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Looks up the answer to the most similar question of a scope.
+     *
+     * @param scope     The scope of the question.
+     * @param embedding The embedding of the question.
+     * @return The answer, or a miss if no cached question is similar enough.
+     */
+    public Lookup get(Scope scope, float[] embedding) {
+        int evicted = expireIfDue();
+        Entry[] candidates = scopes.get(scope);
+        if (Objects.isNull(candidates)) {
+            return new Lookup(null, Double.NEGATIVE_INFINITY, evicted);
+        }
+        float[] query = normalize(embedding);
+        long now = System.nanoTime();
+        long ttl = options.getTtl().toNanos();
+        Entry best = null;
+        double bestSimilarity = Double.NEGATIVE_INFINITY;
+        for (Entry entry : candidates) {
+            if (now - entry.createdAt() >= ttl) {
+                continue;
+            }
+            double similarity = dot(entry.vector(), query);
+            if (similarity > bestSimilarity) {
+                best = entry;
+                bestSimilarity = similarity;
+            }
+        }
+        if (Objects.isNull(best) || bestSimilarity < options.getSimilarityThreshold()) {
+            return new Lookup(null, bestSimilarity, evicted);
+        }
+        return new Lookup(best.answer(), bestSimilarity, evicted);
+    }
+
+    /**
+     * Stores the answer to a question.
+     *
+     * @param scope     The scope of the question.
+     * @param embedding The embedding of the question.
+     * @param answer    The answer.
+     * @return The number of answers evicted because they expired or to make room for this one.
+     */
+    public synchronized int put(Scope scope, float[] embedding, String answer) {
+        Entry entry = new Entry(scope, normalize(embedding), answer, System.nanoTime());
+        entries.addLast(entry);
+        Entry[] previous = scopes.get(scope);
+        if (Objects.isNull(previous)) {
+            scopes.put(scope, new Entry[]{entry});
+        } else {
+            Entry[] appended = Arrays.copyOf(previous, previous.length + 1);
+            appended[previous.length] = entry;
+            scopes.put(scope, appended);
+        }
+        return evict(Math.max(expired(), entries.size() - options.getMaxEntries()));
+    }
+
+    /**
+     * Removes all answers from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        scopes.clear();
+        oldest = null;
+    }
+
+    /**
+     * Returns the number of answers in the cache.
+     *
+     * @return The number of answers.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Evicts the expired answers if the oldest answer has expired, taking the lock only in that case.
+     *
+     * @return The number of evicted answers.
+     */
+    private int expireIfDue() {
+        Entry first = this.oldest;
+        if (Objects.isNull(first) || System.nanoTime() - first.createdAt() < options.getTtl().toNanos()) {
+            return 0;
+        }
+        synchronized (this) {
+            return evict(expired());
+        }
+    }
+
+    /**
+     * Counts the expired answers. Answers are stored in the order of their creation, so they expire from the head.
+     *
+     * @return The number of expired answers.
+     */
+    private int expired() {
+        long now = System.nanoTime();
+        long ttl = options.getTtl().toNanos();
+        int expired = 0;
+        for (Entry entry : entries) {
+            if (now - entry.createdAt() < ttl) {
+                break;
+            }
+            expired++;
+        }
+        return expired;
+    }
+
+    /**
+     * Evicts the oldest answers, which are also the oldest answers of their scopes, and publishes the new
+     * snapshots of the changed scopes.
+     *
+     * @param count The number of answers to evict.
+     * @return The number of evicted answers.
+     */
+    private int evict(int count) {
+        if (count > 0) {
+            Map<Scope, Integer> removed = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                removed.merge(entries.pollFirst().scope(), 1, Integer::sum);
+            }
+            removed.forEach((scope, n) -> {
+                Entry[] previous = scopes.get(scope);
+                if (previous.length == n) {
+                    scopes.remove(scope);
+                } else {
+                    scopes.put(scope, Arrays.copyOfRange(previous, n, previous.length));
+                }
+            });
+        }
+        oldest = entries.peekFirst();
+        return Math.max(count, 0);
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = Math.sqrt(dot(vector, vector));
+        Assert.isTrue(norm > 0, "Вектор не может быть нулевым");
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = (float) (vector[i] / norm);
+        }
+        return result;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        if (a.length != b.length) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    /**
+     * SHA-256 hash of the model name, the system prompt and the options of a request.
+     */
+    public record Scope(long h0, long h1, long h2, long h3) {
+    }
+
+    /**
+     * A cached answer.
+     *
+     * @param scope     The scope of the question.
+     * @param vector    The normalized embedding of the question.
+     * @param answer    The answer.
+     * @param createdAt The time the answer was cached, in {@link System#nanoTime()} units.
+     */
+    private record Entry(Scope scope, float[] vector, String answer, long createdAt) {
+    }
+
+    /**
+     * Result of a cache lookup.
+     *
+     * @param answer     The cached answer, or {@code null} on a miss.
+     * @param similarity The similarity of the most similar cached question, or negative infinity if there is none.
+     * @param evicted    The number of answers evicted because they expired.
+     */
+    public record Lookup(String answer, double similarity, int evicted) {
+
+        /**
+         * Checks whether an answer was found.
+         *
+         * @return {@code true} on a cache hit.
+         */
+        public boolean hit() {
+            return Objects.nonNull(answer);
+        }
+    }
+}
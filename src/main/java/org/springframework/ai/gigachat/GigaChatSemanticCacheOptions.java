@@ -0,0 +1,36 @@
+package org.springframework.ai.gigachat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Options of a {@link GigaChatSemanticCache}.
+ */
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class GigaChatSemanticCacheOptions {
+
+    /**
+     * The minimum cosine similarity between two questions for the answer to one to be served for the other.
+     */
+    @Builder.Default
+    private double similarityThreshold = 0.95;
+
+    /**
+     * The time an answer is kept in the cache.
+     */
+    @Builder.Default
+    private Duration ttl = Duration.ofHours(1);
+
+    /**
+     * The maximum number of answers kept in the cache; the oldest answers are evicted first.
+     */
+    @Builder.Default
+    private int maxEntries = 10_000;
+}
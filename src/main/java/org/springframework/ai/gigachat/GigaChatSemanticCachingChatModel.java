@@ -0,0 +1,296 @@
+package org.springframework.ai.gigachat;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.metadata.ChatGenerationMetadata;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.model.function.FunctionCallingOptions;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Chat model decorator that serves answers to questions similar to earlier ones from a {@link GigaChatSemanticCache}.
+ *
+ * <p>The last user message of a prompt is embedded and compared with the questions answered before in the same
+ * scope: the same model, the same system prompt and the same request options. A short follow-up means nothing
+ * without the turns before it, so prompts carrying earlier user or assistant turns bypass the cache, as do prompts
+ * that do not end with a text user message or that enable tools. Only complete answers are cached; streamed answers are cached
+ * once the stream completes, and a cached answer is streamed as a single chunk.</p>
+ *
+ * <p>Cache hits, misses, bypasses and evictions are reported as events of the {@code gigachat.chat.cache}
+ * observation, which the default meter handler turns into counters.</p>
+ */
+public class GigaChatSemanticCachingChatModel implements ChatModel {
+
+    /**
+     * Name of the observation wrapping cache lookups.
+     */
+    public static final String OBSERVATION_NAME = "gigachat.chat.cache";
+
+    /**
+     * Metadata key of a cached response holding the similarity of the cached question.
+     */
+    public static final String SIMILARITY_METADATA = "gigachat.cache.similarity";
+
+    private static final Observation.Event HIT = Observation.Event.of("hit", "Ответ найден в кэше");
+    private static final Observation.Event MISS = Observation.Event.of("miss", "Ответ не найден в кэше");
+    private static final Observation.Event BYPASS = Observation.Event.of("bypass", "Запрос не подлежит кэшированию");
+    private static final Observation.Event EVICTION = Observation.Event.of("eviction", "Ответ вытеснен из кэша");
+    private static final String STOP = "stop";
+
+    /**
+     * The model answering the questions missing from the cache.
+     */
+    private final GigaChatChatModel delegate;
+
+    /**
+     * The model embedding the questions.
+     */
+    private final GigaChatEmbeddingModel embeddingModel;
+
+    /**
+     * The cache of answers.
+     */
+    private final GigaChatSemanticCache cache;
+
+    /**
+     * Observation registry receiving the cache events.
+     */
+    private final ObservationRegistry observationRegistry;
+
+    /**
+     * Constructs a new GigaChatSemanticCachingChatModel.
+     *
+     * @param delegate            The model answering the questions missing from the cache.
+     * @param embeddingModel      The model embedding the questions.
+     * @param cache               The cache of answers.
+     * @param observationRegistry Observation registry receiving the cache events.
+     */
+    public GigaChatSemanticCachingChatModel(GigaChatChatModel delegate, GigaChatEmbeddingModel embeddingModel, GigaChatSemanticCache cache, ObservationRegistry observationRegistry) {
+        Assert.notNull(delegate, "Модель не может быть пустой");
+        Assert.notNull(embeddingModel, "Модель эмбеддингов не может быть пустой");
+        Assert.notNull(cache, "Кэш не может быть пустым");
+        this.delegate = delegate;
+        this.embeddingModel = embeddingModel;
+        this.cache = cache;
+        this.observationRegistry = Objects.requireNonNullElse(observationRegistry, ObservationRegistry.NOOP);
+    }
+
+    /**
+     * Returns the cached answer to a similar question, or calls the delegate model and caches its answer.
+     *
+     * @param prompt The user's input prompt.
+     * @return The chat response.
+     */
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        Question question = question(prompt);
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, this.observationRegistry)
+                .lowCardinalityKeyValue("gen_ai.request.model", Objects.isNull(question) ? String.valueOf(model(prompt)) : question.model());
+
+        return observation.observe(() -> {
+            if (Objects.isNull(question)) {
+                observation.event(BYPASS);
+                return delegate.call(prompt);
+            }
+            float[] embedding = embeddingModel.embed(question.text());
+            ChatResponse cached = lookup(observation, question, embedding);
+            if (Objects.nonNull(cached)) {
+                return cached;
+            }
+            ChatResponse response = delegate.call(prompt);
+            store(observation, question, embedding, response);
+            return response;
+        });
+    }
+
+    /**
+     * Streams the cached answer to a similar question, or streams the answer of the delegate model and caches it
+     * once the stream completes.
+     *
+     * @param prompt The user's input prompt.
+     * @return A {@link Flux} emitting chat responses.
+     */
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.deferContextual(view -> {
+            Question question = question(prompt);
+            Observation observation = Observation.createNotStarted(OBSERVATION_NAME, this.observationRegistry)
+                    .lowCardinalityKeyValue("gen_ai.request.model", Objects.isNull(question) ? String.valueOf(model(prompt)) : question.model());
+            observation.parentObservation(view.getOrDefault(ObservationThreadLocalAccessor.KEY, null)).start();
+
+            if (Objects.isNull(question)) {
+                observation.event(BYPASS);
+                observation.stop();
+                return delegate.stream(prompt);
+            }
+
+            return Mono.fromCallable(() -> embeddingModel.embed(question.text()))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapMany(embedding -> {
+                        ChatResponse cached = lookup(observation, question, embedding);
+                        if (Objects.nonNull(cached)) {
+                            return Flux.just(cached);
+                        }
+                        return delegate.stream(prompt, response -> store(observation, question, embedding, response));
+                    })
+                    .doOnError(observation::error)
+                    .doFinally(signal -> observation.stop());
+        });
+    }
+
+    /**
+     * Retrieves the default options of the delegate model.
+     *
+     * @return A {@link ChatOptions} instance containing the default settings.
+     */
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return delegate.getDefaultOptions();
+    }
+
+    /**
+     * Looks up the answer to a question.
+     *
+     * @param observation The current observation.
+     * @param question    The question.
+     * @param embedding   The embedding of the question.
+     * @return The cached response, or {@code null} on a miss.
+     */
+    private ChatResponse lookup(Observation observation, Question question, float[] embedding) {
+        GigaChatSemanticCache.Lookup lookup = cache.get(question.scope(), embedding);
+        evicted(observation, lookup.evicted());
+        if (!lookup.hit()) {
+            observation.event(MISS);
+            return null;
+        }
+        observation.event(HIT);
+        Generation generation = new Generation(new AssistantMessage(lookup.answer()), ChatGenerationMetadata.builder().finishReason(STOP).build());
+        ChatResponseMetadata metadata = ChatResponseMetadata.builder()
+                .model(question.model())
+                .usage(new DefaultUsage(0, 0))
+                .keyValue(SIMILARITY_METADATA, lookup.similarity())
+                .build();
+        return new ChatResponse(List.of(generation), metadata);
+    }
+
+    /**
+     * Caches a complete answer.
+     *
+     * @param observation The current observation.
+     * @param question    The question.
+     * @param embedding   The embedding of the question.
+     * @param response    The response of the delegate model.
+     */
+    private void store(Observation observation, Question question, float[] embedding, ChatResponse response) {
+        Generation generation = response.getResult();
+        if (Objects.isNull(generation) || response.hasToolCalls() || !StringUtils.hasText(generation.getOutput().getText())) {
+            return;
+        }
+        String finishReason = generation.getMetadata().getFinishReason();
+        if (Objects.nonNull(finishReason) && !STOP.equalsIgnoreCase(finishReason)) {
+            return;
+        }
+        evicted(observation, cache.put(question.scope(), embedding, generation.getOutput().getText()));
+    }
+
+    /**
+     * Extracts the cacheable question of a prompt.
+     *
+     * @param prompt The user's input prompt.
+     * @return The question, or {@code null} if the prompt bypasses the cache.
+     */
+    private Question question(Prompt prompt) {
+        List<Message> messages = prompt.getInstructions();
+        if (messages.isEmpty() || !(messages.get(messages.size() - 1) instanceof UserMessage userMessage)
+                || !CollectionUtils.isEmpty(userMessage.getMedia()) || !StringUtils.hasText(userMessage.getText())) {
+            return null;
+        }
+        if (messages.subList(0, messages.size() - 1).stream().anyMatch(message -> !(message instanceof SystemMessage))) {
+            return null;
+        }
+        if (hasTools(prompt.getOptions()) || hasTools(delegate.getDefaultOptions())) {
+            return null;
+        }
+        String systemPrompt = messages.stream()
+                .filter(SystemMessage.class::isInstance)
+                .map(Message::getText)
+                .collect(Collectors.joining("\n"));
+        String options = Objects.isNull(prompt.getOptions()) ? "" : ModelOptionsUtils.toJsonString(prompt.getOptions());
+        String model = model(prompt);
+        return new Question(model, userMessage.getText(), GigaChatSemanticCache.scope(model, systemPrompt, options));
+    }
+
+    /**
+     * Resolves the model of a prompt.
+     *
+     * @param prompt The user's input prompt.
+     * @return The name of the model.
+     */
+    private String model(Prompt prompt) {
+        if (Objects.nonNull(prompt.getOptions()) && StringUtils.hasText(prompt.getOptions().getModel())) {
+            return prompt.getOptions().getModel();
+        }
+        return delegate.getDefaultOptions().getModel();
+    }
+
+    /**
+     * Checks whether options enable tools.
+     *
+     * @param options The chat options.
+     * @return {@code true} if tools are enabled.
+     */
+    @SuppressWarnings("deprecation")
+    private static boolean hasTools(ChatOptions options) {
+        if (options instanceof ToolCallingChatOptions toolCallingChatOptions) {
+            return !CollectionUtils.isEmpty(toolCallingChatOptions.getToolCallbacks()) || !CollectionUtils.isEmpty(toolCallingChatOptions.getToolNames());
+        }
+        if (options instanceof FunctionCallingOptions functionCallingOptions) {
+            return !CollectionUtils.isEmpty(functionCallingOptions.getFunctionCallbacks()) || !CollectionUtils.isEmpty(functionCallingOptions.getFunctions());
+        }
+        return false;
+    }
+
+    /**
+     * Reports evicted answers to the observation.
+     *
+     * @param observation The current observation.
+     * @param count       The number of evicted answers.
+     */
+    private static void evicted(Observation observation, int count) {
+        for (int i = 0; i < count; i++) {
+            observation.event(EVICTION);
+        }
+    }
+
+    /**
+     * A cacheable question.
+     *
+     * @param model The name of the model.
+     * @param text  The text of the question.
+     * @param scope The scope of the question.
+     */
+    private record Question(String model, String text, GigaChatSemanticCache.Scope scope) {
+    }
+}
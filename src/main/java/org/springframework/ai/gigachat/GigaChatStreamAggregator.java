@@ -0,0 +1,163 @@
+package org.springframework.ai.gigachat;
+
+import org.springframework.ai.gigachat.api.model.GigaChatChatResponse;
+import org.springframework.ai.gigachat.api.model.GigaChatRole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Incrementally aggregates the chunks of a streaming chat response into a single response.
+ *
+ * <p>The content of every choice is appended to its own {@link StringBuilder}, function call fragments are
+ * merged by choice index, and the last reported usage and finish reason win. An instance aggregates one stream
+ * and is not thread-safe, which matches the serialized signals of a {@code Flux}.</p>
+ */
+public class GigaChatStreamAggregator {
+
+    /**
+     * The aggregated state of every choice by index.
+     */
+    private final Map<Integer, ChoiceState> choices = new TreeMap<>();
+
+    /**
+     * The timestamp of the last chunk.
+     */
+    private Long created;
+
+    /**
+     * The model reported by the stream.
+     */
+    private String model;
+
+    /**
+     * The object type reported by the stream.
+     */
+    private String object;
+
+    /**
+     * The last usage reported by the stream.
+     */
+    private GigaChatChatResponse.Usage usage;
+
+    /**
+     * Adds a chunk to the aggregate.
+     *
+     * @param chunk The streamed chunk.
+     * @return The same chunk, to allow use in {@code map} and {@code doOnNext}.
+     */
+    public GigaChatChatResponse accept(GigaChatChatResponse chunk) {
+        created = Optional.ofNullable(chunk.getCreated()).orElse(created);
+        model = Optional.ofNullable(chunk.getModel()).orElse(model);
+        object = Optional.ofNullable(chunk.getObject()).orElse(object);
+        usage = Optional.ofNullable(chunk.getUsage()).orElse(usage);
+
+        if (Objects.nonNull(chunk.getChoices())) {
+            int position = 0;
+            for (GigaChatChatResponse.Choice choice : chunk.getChoices()) {
+                int index = Optional.ofNullable(choice.getIndex()).orElse(position);
+                choices.computeIfAbsent(index, i -> new ChoiceState()).accept(choice);
+                position++;
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Builds the aggregated response, with the complete message of every choice set as its {@code message}.
+     *
+     * @return The aggregated response.
+     */
+    public GigaChatChatResponse aggregate() {
+        GigaChatChatResponse response = new GigaChatChatResponse();
+        response.setCreated(created);
+        response.setModel(model);
+        response.setObject(object);
+        response.setUsage(usage);
+
+        List<GigaChatChatResponse.Choice> aggregated = new ArrayList<>(choices.size());
+        choices.forEach((index, state) -> aggregated.add(state.toChoice(index)));
+        response.setChoices(aggregated);
+        return response;
+    }
+
+    /**
+     * The aggregated state of a single choice.
+     */
+    private static class ChoiceState {
+        private final StringBuilder content = new StringBuilder();
+        private GigaChatRole role;
+        private String name;
+        private Long created;
+        private UUID functionStateId;
+        private String functionName;
+        private Map<String, Object> arguments;
+        private String finishReason;
+
+        /**
+         * Merges a chunk of the choice.
+         *
+         * @param choice The streamed choice.
+         */
+        void accept(GigaChatChatResponse.Choice choice) {
+            finishReason = Optional.ofNullable(choice.getFinishReason()).orElse(finishReason);
+
+            GigaChatChatResponse.Message delta = Optional.ofNullable(choice.getDelta()).orElseGet(choice::getMessage);
+            if (Objects.isNull(delta)) {
+                return;
+            }
+
+            role = Optional.ofNullable(delta.getRole()).orElse(role);
+            name = Optional.ofNullable(delta.getName()).orElse(name);
+            created = Optional.ofNullable(delta.getCreated()).orElse(created);
+            functionStateId = Optional.ofNullable(delta.getFunctionStateId()).orElse(functionStateId);
+            if (Objects.nonNull(delta.getContent())) {
+                content.append(delta.getContent());
+            }
+
+            GigaChatChatResponse.FunctionCall functionCall = delta.getFunctionCall();
+            if (Objects.nonNull(functionCall)) {
+                functionName = Optional.ofNullable(functionCall.getName()).orElse(functionName);
+                if (Objects.nonNull(functionCall.getArguments())) {
+                    if (Objects.isNull(arguments)) {
+                        arguments = new LinkedHashMap<>();
+                    }
+                    arguments.putAll(functionCall.getArguments());
+                }
+            }
+        }
+
+        /**
+         * Builds the aggregated choice.
+         *
+         * @param index The index of the choice.
+         * @return The aggregated choice.
+         */
+        GigaChatChatResponse.Choice toChoice(int index) {
+            GigaChatChatResponse.Message message = new GigaChatChatResponse.Message();
+            message.setRole(role);
+            message.setContent(content.toString());
+            message.setName(name);
+            message.setCreated(created);
+            message.setFunctionStateId(functionStateId);
+            if (Objects.nonNull(functionName) || Objects.nonNull(arguments)) {
+                GigaChatChatResponse.FunctionCall functionCall = new GigaChatChatResponse.FunctionCall();
+                functionCall.setName(functionName);
+                functionCall.setArguments(arguments);
+                message.setFunctionCall(functionCall);
+            }
+
+            GigaChatChatResponse.Choice choice = new GigaChatChatResponse.Choice();
+            choice.setIndex(index);
+            choice.setMessage(message);
+            choice.setFinishReason(finishReason);
+            return choice;
+        }
+    }
+}
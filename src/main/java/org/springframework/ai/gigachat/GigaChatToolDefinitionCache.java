@@ -0,0 +1,151 @@
+package org.springframework.ai.gigachat;
+
+import org.springframework.ai.gigachat.api.GigaChatChatOptions;
+import org.springframework.ai.gigachat.api.model.GigaChatChatRequest;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Cache of the function definitions sent to the API.
+ *
+ * <p>Resolving the tool definitions and parsing their JSON schemas is repeated on every request, including every
+ * iteration of the tool calling loop. The cache keeps the resulting {@link GigaChatChatRequest.Function} objects keyed
+ * by the identity of the tool callbacks in the options and by the requested tool names, so a request with a different
+ * set of callbacks resolves its definitions again. Tools resolved by name through the tool calling manager are assumed
+ * not to change; call {@link #clear()} after re-registering them. Entries are evicted in LRU order.</p>
+ */
+public class GigaChatToolDefinitionCache {
+
+    /**
+     * The cached function definitions in LRU order, guarded by itself.
+     */
+    private final LinkedHashMap<Key, List<GigaChatChatRequest.Function>> functions;
+
+    /**
+     * Constructs a new GigaChatToolDefinitionCache.
+     *
+     * @param maxEntries The maximum number of tool sets kept in the cache.
+     */
+    public GigaChatToolDefinitionCache(int maxEntries) {
+        Assert.isTrue(maxEntries > 0, "Размер кэша должен быть положительным");
+        this.functions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<GigaChatChatRequest.Function>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the function definitions of a request, resolving them on a cache miss.
+     *
+     * @param toolCallingManager The manager resolving the tool definitions.
+     * @param options            The merged options of the request.
+     * @param functionNames      The names of the functions enabled in the request.
+     * @return The function definitions. The returned objects are shared and must not be modified.
+     */
+    public List<GigaChatChatRequest.Function> resolve(ToolCallingManager toolCallingManager, GigaChatChatOptions options, Set<String> functionNames) {
+        Key key = Key.of(options, functionNames);
+        synchronized (functions) {
+            List<GigaChatChatRequest.Function> cached = functions.get(key);
+            if (Objects.nonNull(cached)) {
+                return cached;
+            }
+        }
+
+        List<GigaChatChatRequest.Function> resolved = resolveFunctions(toolCallingManager, options, functionNames);
+        synchronized (functions) {
+            functions.put(key, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void clear() {
+        synchronized (functions) {
+            functions.clear();
+        }
+    }
+
+    /**
+     * Returns the number of tool sets in the cache.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        synchronized (functions) {
+            return functions.size();
+        }
+    }
+
+    /**
+     * Resolves the function definitions of a request without caching.
+     *
+     * @param toolCallingManager The manager resolving the tool definitions.
+     * @param options            The merged options of the request.
+     * @param functionNames      The names of the functions enabled in the request.
+     * @return The function definitions.
+     */
+    static List<GigaChatChatRequest.Function> resolveFunctions(ToolCallingManager toolCallingManager, GigaChatChatOptions options, Set<String> functionNames) {
+        return toolCallingManager.resolveToolDefinitions(options)
+                .stream()
+                .filter(item -> functionNames.contains(item.name()))
+                .map(toolDefinition -> new GigaChatChatRequest.Function(
+                        toolDefinition.name(),
+                        toolDefinition.description(),
+                        ModelOptionsUtils.jsonToMap(toolDefinition.inputSchema()),
+                        null,
+                        null))
+                .toList();
+    }
+
+    /**
+     * The key of a tool set: the tool callbacks compared by identity, the tool names and the enabled functions.
+     *
+     * @param callbacks     The tool callbacks of the options.
+     * @param toolNames     The tool names of the options.
+     * @param functionNames The names of the functions enabled in the request.
+     */
+    private record Key(List<Identity> callbacks, Set<String> toolNames, Set<String> functionNames) {
+
+        private static Key of(GigaChatChatOptions options, Set<String> functionNames) {
+            List<Identity> callbacks = new ArrayList<>();
+            if (Objects.nonNull(options.getToolCallbacks())) {
+                for (FunctionCallback callback : options.getToolCallbacks()) {
+                    callbacks.add(new Identity(callback));
+                }
+            }
+            Set<String> toolNames = Objects.isNull(options.getToolNames()) ? Set.of() : Set.copyOf(options.getToolNames());
+            return new Key(callbacks, toolNames, Set.copyOf(functionNames));
+        }
+    }
+
+    /**
+     * A reference compared by identity.
+     *
+     * @param value The referenced object.
+     */
+    private record Identity(Object value) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Identity other && other.value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(value);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package org.springframework.ai.gigachat;
+
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.metadata.EmptyUsage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * State of one run of the tool calling loop: enforces the budget and reports every iteration.
+ *
+ * <p>The usage of a response is cumulative over the loop, so the usage of an iteration is the difference between the
+ * usage of its response and the usage of the previous one.</p>
+ */
+class GigaChatToolLoop {
+
+    /**
+     * The budget of the loop.
+     */
+    private final GigaChatToolLoopOptions options;
+
+    /**
+     * The receiver of the iteration reports, if any.
+     */
+    private final Consumer<GigaChatToolLoopStep> listener;
+
+    /**
+     * The start of the loop.
+     */
+    private final long startedAt = System.nanoTime();
+
+    /**
+     * The reports of the completed iterations.
+     */
+    private final List<GigaChatToolLoopStep> steps = new ArrayList<>();
+
+    /**
+     * The start of the current model call.
+     */
+    private long modelStartedAt;
+
+    /**
+     * The duration of the current model call.
+     */
+    private long modelNanos;
+
+    /**
+     * The response of the previous iteration, or {@code null} in the first one.
+     */
+    private ChatResponse previousResponse;
+
+    /**
+     * Constructs a new GigaChatToolLoop.
+     *
+     * @param options  The budget of the loop.
+     * @param listener The receiver of the iteration reports, or {@code null}.
+     */
+    GigaChatToolLoop(GigaChatToolLoopOptions options, Consumer<GigaChatToolLoopStep> listener) {
+        this.options = options;
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the response of the previous iteration.
+     *
+     * @return The previous response, or {@code null} in the first iteration.
+     */
+    ChatResponse getPreviousResponse() {
+        return previousResponse;
+    }
+
+    /**
+     * Marks the start of a model call.
+     */
+    void modelStarted() {
+        modelStartedAt = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of a model call that requested tools, and checks that the budget allows executing them and
+     * calling the model again.
+     *
+     * @param response The response of the model.
+     * @throws GigaChatToolLoopException If the budget is exhausted.
+     */
+    void toolsRequested(ChatResponse response) {
+        modelNanos = System.nanoTime() - modelStartedAt;
+        String exceeded = null;
+        if (steps.size() + 1 >= options.getMaxSteps()) {
+            exceeded = "число шагов " + options.getMaxSteps();
+        } else if (Objects.nonNull(options.getMaxDuration()) && System.nanoTime() - startedAt >= options.getMaxDuration().toNanos()) {
+            exceeded = "время " + options.getMaxDuration();
+        } else if (Objects.nonNull(options.getMaxTotalTokens()) && totalTokens(response) >= options.getMaxTotalTokens()) {
+            exceeded = "число токенов " + options.getMaxTotalTokens();
+        }
+
+        if (Objects.nonNull(exceeded)) {
+            report(response, 0, response.getResult().getOutput().getToolCalls().size());
+            throw new GigaChatToolLoopException("Превышен бюджет цикла вызова инструментов: " + exceeded, steps, response);
+        }
+    }
+
+    /**
+     * Marks the end of the tool execution of the current iteration.
+     *
+     * @param response  The response of the model that requested the tools.
+     * @param toolNanos The duration of the tool execution.
+     */
+    void toolsExecuted(ChatResponse response, long toolNanos) {
+        report(response, toolNanos, response.getResult().getOutput().getToolCalls().size());
+        previousResponse = response;
+    }
+
+    /**
+     * Marks the end of the last model call of the loop.
+     *
+     * @param response The final response of the model.
+     */
+    void completed(ChatResponse response) {
+        modelNanos = System.nanoTime() - modelStartedAt;
+        report(response, 0, 0);
+    }
+
+    /**
+     * Records the report of the current iteration and passes it to the listener.
+     *
+     * @param response  The response of the model.
+     * @param toolNanos The duration of the tool execution.
+     * @param toolCalls The number of tool calls.
+     */
+    private void report(ChatResponse response, long toolNanos, int toolCalls) {
+        Usage total = usage(response);
+        Usage previous = usage(previousResponse);
+        Usage usage = new DefaultUsage(
+                tokens(total.getPromptTokens()) - tokens(previous.getPromptTokens()),
+                tokens(total.getCompletionTokens()) - tokens(previous.getCompletionTokens()),
+                tokens(total.getTotalTokens()) - tokens(previous.getTotalTokens()));
+
+        GigaChatToolLoopStep step = new GigaChatToolLoopStep(steps.size() + 1, Duration.ofNanos(modelNanos), Duration.ofNanos(toolNanos), toolCalls, usage, total);
+        steps.add(step);
+        if (Objects.nonNull(listener)) {
+            listener.accept(step);
+        }
+    }
+
+    /**
+     * Returns the cumulative usage of a response.
+     *
+     * @param response The response, or {@code null}.
+     * @return The usage, empty if unknown.
+     */
+    private static Usage usage(ChatResponse response) {
+        if (Objects.isNull(response) || Objects.isNull(response.getMetadata()) || Objects.isNull(response.getMetadata().getUsage())) {
+            return new EmptyUsage();
+        }
+        return response.getMetadata().getUsage();
+    }
+
+    /**
+     * Returns the number of tokens used by the loop up to a response.
+     *
+     * @param response The response.
+     * @return The total number of tokens.
+     */
+    private static int totalTokens(ChatResponse response) {
+        return tokens(usage(response).getTotalTokens());
+    }
+
+    /**
+     * Returns a token count, treating an unknown count as zero.
+     *
+     * @param tokens The token count, or {@code null}.
+     * @return The token count.
+     */
+    private static int tokens(Integer tokens) {
+        return Objects.isNull(tokens) ? 0 : tokens;
+    }
+}
@@ -0,0 +1,57 @@
+package org.springframework.ai.gigachat;
+
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.retry.NonTransientAiException;
+
+import java.io.Serial;
+import java.util.List;
+
+/**
+ * Thrown when the tool calling loop exceeds its budget.
+ */
+public class GigaChatToolLoopException extends NonTransientAiException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The reports of the completed iterations.
+     */
+    private final List<GigaChatToolLoopStep> steps;
+
+    /**
+     * The last response of the model, with the tool calls that were not executed.
+     */
+    private final ChatResponse response;
+
+    /**
+     * Constructs a new GigaChatToolLoopException.
+     *
+     * @param message  The error message.
+     * @param steps    The reports of the completed iterations.
+     * @param response The last response of the model.
+     */
+    public GigaChatToolLoopException(String message, List<GigaChatToolLoopStep> steps, ChatResponse response) {
+        super(message);
+        this.steps = List.copyOf(steps);
+        this.response = response;
+    }
+
+    /**
+     * Returns the reports of the completed iterations.
+     *
+     * @return The iteration reports.
+     */
+    public List<GigaChatToolLoopStep> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Returns the last response of the model.
+     *
+     * @return The last response, with the tool calls that were not executed.
+     */
+    public ChatResponse getResponse() {
+        return response;
+    }
+}
@@ -0,0 +1,34 @@
+package org.springframework.ai.gigachat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Budget of the tool calling loop of a {@link GigaChatChatModel}.
+ */
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class GigaChatToolLoopOptions {
+
+    /**
+     * The maximum number of model calls in one loop, including the last one.
+     */
+    @Builder.Default
+    private int maxSteps = 20;
+
+    /**
+     * The maximum wall-clock time of the loop, or {@code null} for no limit.
+     */
+    private Duration maxDuration;
+
+    /**
+     * The maximum number of tokens used by the loop, or {@code null} for no limit.
+     */
+    private Integer maxTotalTokens;
+}
@@ -0,0 +1,18 @@
+package org.springframework.ai.gigachat;
+
+import org.springframework.ai.chat.metadata.Usage;
+
+import java.time.Duration;
+
+/**
+ * Report of one iteration of the tool calling loop: a model call and the execution of the tools it requested.
+ *
+ * @param step         The number of the iteration, starting from {@code 1}.
+ * @param modelLatency The duration of the model call.
+ * @param toolLatency  The duration of the tool execution, zero if no tools were called.
+ * @param toolCalls    The number of tool calls requested by the model.
+ * @param usage        The tokens used by the model call.
+ * @param totalUsage   The tokens used by the loop so far.
+ */
+public record GigaChatToolLoopStep(int step, Duration modelLatency, Duration toolLatency, int toolCalls, Usage usage, Usage totalUsage) {
+}
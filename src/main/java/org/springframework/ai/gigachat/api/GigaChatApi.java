@@ -1,15 +1,26 @@
 package org.springframework.ai.gigachat.api;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.Setter;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.ai.gigachat.api.model.GigaChatChatRequest;
 import org.springframework.ai.gigachat.api.model.GigaChatChatResponse;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingMatrix;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingMatrixDeserializer;
 import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingRequest;
 import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingResponse;
 import org.springframework.ai.gigachat.api.model.GigaChatOAuthResponse;
 import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.converter.FormHttpMessageConverter;
@@ -20,31 +31,74 @@ import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
  * API class for interacting with GigaChat services.
+ *
+ * <p>An instance built from client credentials refreshes its access token in the background and should be
+ * {@linkplain #close() closed} when it is no longer used.</p>
  */
-public class GigaChatApi {
+public class GigaChatApi implements AutoCloseable {
     public static final String PROVIDER_NAME = "gigachat";
     public static final String REQUEST_BODY_NULL_ERROR = "Тело запроса не может быть пустым.";
     private static final Log logger = LogFactory.getLog(GigaChatApi.class);
+    private static final ObjectReader MATRIX_READER = ModelOptionsUtils.OBJECT_MAPPER.readerFor(GigaChatEmbeddingMatrix.class).with(JsonParser.Feature.USE_FAST_DOUBLE_PARSER);
+    private static final ObjectReader EMBEDDING_READER = ModelOptionsUtils.OBJECT_MAPPER.readerFor(GigaChatEmbeddingResponse.class).with(JsonParser.Feature.USE_FAST_DOUBLE_PARSER);
     private final ResponseErrorHandler responseErrorHandler;
     private final RestClient restClient;
     private final WebClient webClient;
-    private final Consumer<HttpHeaders> defaultHeaders;
+    private final Supplier<String> apiKeySupplier;
+    private final boolean ownsApiKeySupplier;
+    private final String clientId;
+    private final String xSession;
+
+    /**
+     * Limiter of chat requests, including streaming ones, if enabled.
+     */
+    @Setter
+    private GigaChatRateLimiter chatRateLimiter;
+
+    /**
+     * Limiter of embedding requests, if enabled.
+     */
+    @Setter
+    private GigaChatRateLimiter embeddingRateLimiter;
+
+    /**
+     * Retry of calls failed with a transient error, if enabled. A repeated chat request may be billed twice when
+     * the first attempt reached the server, so retries are opt-in.
+     */
+    @Setter
+    private GigaChatRetry retry;
 
     /**
      * Constructs a new GigaChatApi instance.
@@ -56,7 +110,21 @@ public class GigaChatApi {
      * @param secret   The client secret for authentication.
      */
     public GigaChatApi(String baseUrl, String authUrl, Scope scope, String clientId, String secret) {
-        this(baseUrl, clientId, new ApiKeySupplier(scope, clientId, secret, RestClient.builder().baseUrl(authUrl).clone()), RestClient.builder(), WebClient.builder());
+        this(baseUrl, authUrl, scope, clientId, secret, RestClient.builder(), WebClient.builder());
+    }
+
+    /**
+     * Constructs a new GigaChatApi instance on top of a shared, tuned transport.
+     *
+     * @param baseUrl   The base URL for the API.
+     * @param authUrl   The authentication URL.
+     * @param scope     The OAuth scope.
+     * @param clientId  The client ID for authentication.
+     * @param secret    The client secret for authentication.
+     * @param transport The transport providing the pooled HTTP client.
+     */
+    public GigaChatApi(String baseUrl, String authUrl, Scope scope, String clientId, String secret, GigaChatTransport transport) {
+        this(baseUrl, authUrl, scope, clientId, secret, transport.restClientBuilder(), transport.webClientBuilder());
     }
 
     /**
@@ -71,11 +139,11 @@ public class GigaChatApi {
      * @param webClientBuilder  The builder for WebClient.
      */
     public GigaChatApi(String baseUrl, String authUrl, Scope scope, String clientId, String secret, RestClient.Builder restClientBuilder, WebClient.Builder webClientBuilder) {
-        this(baseUrl, clientId, new ApiKeySupplier(scope, clientId, secret, restClientBuilder.baseUrl(authUrl).clone()), restClientBuilder, webClientBuilder);
+        this(baseUrl, clientId, new ApiKeySupplier(scope, clientId, secret, restClientBuilder.baseUrl(authUrl).clone()), true, restClientBuilder, webClientBuilder);
     }
 
     /**
-     * Constructs a new GigaChatApi instance with a custom API key supplier.
+     * Constructs a new GigaChatApi instance with a custom API key supplier. The supplier is not closed by {@link #close()}.
      *
      * @param baseUrl          The base URL for the API.
      * @param clientId         The client ID for authentication.
@@ -84,23 +152,45 @@ public class GigaChatApi {
      * @param webClientBuilder  The builder for WebClient.
      */
     public GigaChatApi(String baseUrl, String clientId, Supplier<String> apiKeySupplier, RestClient.Builder restClientBuilder, WebClient.Builder webClientBuilder) {
-        this.responseErrorHandler = new GigaChataResponseErrorHandler();
+        this(baseUrl, clientId, apiKeySupplier, false, restClientBuilder, webClientBuilder);
+    }
 
-        String xSession = UUID.randomUUID().toString();
+    /**
+     * Constructs a new GigaChatApi instance.
+     *
+     * @param baseUrl            The base URL for the API.
+     * @param clientId           The client ID for authentication.
+     * @param apiKeySupplier     Supplier of the API key.
+     * @param ownsApiKeySupplier Whether the supplier is closed together with this instance.
+     * @param restClientBuilder  The builder for RestClient.
+     * @param webClientBuilder   The builder for WebClient.
+     */
+    private GigaChatApi(String baseUrl, String clientId, Supplier<String> apiKeySupplier, boolean ownsApiKeySupplier, RestClient.Builder restClientBuilder, WebClient.Builder webClientBuilder) {
+        this.responseErrorHandler = new GigaChataResponseErrorHandler();
 
-      defaultHeaders = headers -> {
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-            headers.setBearerAuth(apiKeySupplier.get());
-            headers.set("X-Client-ID", clientId);
-            headers.set("X-Session-ID", xSession);
-            headers.set("X-Request-ID", UUID.randomUUID().toString());
-        };
+        this.apiKeySupplier = apiKeySupplier;
+        this.ownsApiKeySupplier = ownsApiKeySupplier;
+        this.clientId = clientId;
+        this.xSession = UUID.randomUUID().toString();
 
         this.restClient = restClientBuilder.baseUrl(baseUrl).build();
         this.webClient = webClientBuilder.baseUrl(baseUrl).build();
     }
 
+    /**
+     * Constructs a GigaChatApi instance that sends no requests itself, for subclasses delegating every call
+     * to other instances.
+     */
+    protected GigaChatApi() {
+        this.responseErrorHandler = null;
+        this.apiKeySupplier = null;
+        this.ownsApiKeySupplier = false;
+        this.clientId = null;
+        this.xSession = null;
+        this.restClient = null;
+        this.webClient = null;
+    }
+
     /**
      * Sends a chat request to the GigaChat API.
      *
@@ -111,13 +201,17 @@ public class GigaChatApi {
         Assert.notNull(chatRequest, REQUEST_BODY_NULL_ERROR);
         Assert.isTrue(!chatRequest.getStream(), "Потоковая обработка должна быть выключена.");
 
-        return this.restClient.post()
+        return retried("chat", () -> limited(chatRateLimiter, permit -> this.restClient.post()
                 .uri("/api/v1/chat/completions")
                 .body(chatRequest)
-                .headers(defaultHeaders)
+                .headers(defaultHeaders(apiKeySupplier.get()))
                 .retrieve()
+                .onStatus(status -> Objects.nonNull(permit) && status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS), (request, response) -> {
+                    permit.throttled();
+                    this.responseErrorHandler.handleError(request.getURI(), request.getMethod(), response);
+                })
                 .onStatus(this.responseErrorHandler)
-                .body(GigaChatChatResponse.class);
+                .body(GigaChatChatResponse.class)));
     }
 
     /**
@@ -130,15 +224,40 @@ public class GigaChatApi {
         Assert.notNull(chatRequest, REQUEST_BODY_NULL_ERROR);
         Assert.isTrue(chatRequest.getStream(), "Потоковая обработка должна быть включена.");
 
-        return this.webClient.post()
-                .uri("/api/v1/chat/completions")
-                .body(Mono.just(chatRequest), GigaChatChatRequest.class)
-                .headers(defaultHeaders)
-                .retrieve()
-                .bodyToFlux(String.class)
-                .takeUntil("[DONE]"::equals)
-                .filter(item -> !"[DONE]".equals(item))
-                .map(item -> ModelOptionsUtils.jsonToObject(item, GigaChatChatResponse.class))
+        GigaChatRateLimiter limiter = this.chatRateLimiter;
+        Flux<GigaChatChatResponse> stream = Objects.isNull(limiter)
+                ? stream(chatRequest, null)
+                : Flux.usingWhen(limiter.acquireAsync(),
+                        permit -> stream(chatRequest, permit).doOnNext(chunk -> permit.responded()),
+                        permit -> Mono.fromRunnable(permit::success),
+                        (permit, e) -> Mono.fromRunnable(permit::failure),
+                        permit -> Mono.fromRunnable(permit::release));
+
+        return retriedBeforeFirst("stream", stream);
+    }
+
+    /**
+     * Sends a streaming chat request and parses the server-sent events.
+     *
+     * @param chatRequest The chat request object.
+     * @param permit      The rate limiter permit of the request, or {@code null} if the request is not limited.
+     * @return A Flux of responses from the GigaChat API.
+     */
+    private Flux<GigaChatChatResponse> stream(GigaChatChatRequest chatRequest, GigaChatRateLimiter.Permit permit) {
+        return apiKey().flatMapMany(apiKey -> {
+                    GigaChatStreamParser parser = new GigaChatStreamParser();
+                    return this.webClient.post()
+                            .uri("/api/v1/chat/completions")
+                            .body(Mono.just(chatRequest), GigaChatChatRequest.class)
+                            .headers(defaultHeaders(apiKey))
+                            .retrieve()
+                            .onStatus(HttpStatusCode::isError, response -> toException(response, permit))
+                            .bodyToFlux(DataBuffer.class)
+                            .map(parser::parse)
+                            .takeUntil(items -> parser.isDone())
+                            .concatMapIterable(Function.identity())
+                            .concatWith(Flux.defer(() -> Flux.fromIterable(parser.finish())));
+                })
                 .handle((data, sink) -> {
                     if (logger.isTraceEnabled()) {
                         logger.trace(data);
@@ -156,13 +275,206 @@ public class GigaChatApi {
     public GigaChatEmbeddingResponse embed(GigaChatEmbeddingRequest embeddingsRequest) {
         Assert.notNull(embeddingsRequest, REQUEST_BODY_NULL_ERROR);
 
-        return this.restClient.post()
+        return retried("embed", () -> limited(embeddingRateLimiter, permit -> this.restClient.post()
                 .uri("/api/v1/embeddings")
                 .body(embeddingsRequest)
-                .headers(defaultHeaders)
+                .headers(defaultHeaders(apiKeySupplier.get()))
                 .retrieve()
+                .onStatus(status -> Objects.nonNull(permit) && status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS), (request, response) -> {
+                    permit.throttled();
+                    this.responseErrorHandler.handleError(request.getURI(), request.getMethod(), response);
+                })
                 .onStatus(this.responseErrorHandler)
-                .body(GigaChatEmbeddingResponse.class);
+                .body(GigaChatEmbeddingResponse.class)));
+    }
+
+    /**
+     * Sends an embedding request to the GigaChat API without blocking the subscribing thread.
+     *
+     * @param embeddingsRequest The embedding request object.
+     * @return A {@link Mono} emitting the response from the GigaChat API.
+     */
+    public Mono<GigaChatEmbeddingResponse> embedAsync(GigaChatEmbeddingRequest embeddingsRequest) {
+        Assert.notNull(embeddingsRequest, REQUEST_BODY_NULL_ERROR);
+
+        GigaChatRateLimiter limiter = this.embeddingRateLimiter;
+        Mono<GigaChatEmbeddingResponse> embedding = Objects.isNull(limiter)
+                ? embedAsync(embeddingsRequest, null)
+                : Mono.usingWhen(limiter.acquireAsync(),
+                        permit -> embedAsync(embeddingsRequest, permit),
+                        permit -> Mono.fromRunnable(permit::success),
+                        (permit, e) -> Mono.fromRunnable(permit::failure),
+                        permit -> Mono.fromRunnable(permit::release));
+
+        return retriedBeforeFirst("embed", embedding.flux()).next();
+    }
+
+    /**
+     * Sends an embedding request on the reactive client. The body is joined from the raw buffers and decoded
+     * in one pass, so large batches are not rejected by the in-memory limit of the codecs of the client.
+     *
+     * @param embeddingsRequest The embedding request object.
+     * @param permit            The rate limiter permit of the request, or {@code null} if the request is not limited.
+     * @return A {@link Mono} emitting the response from the GigaChat API.
+     */
+    private Mono<GigaChatEmbeddingResponse> embedAsync(GigaChatEmbeddingRequest embeddingsRequest, GigaChatRateLimiter.Permit permit) {
+        return apiKey().flatMap(apiKey -> this.webClient.post()
+                .uri("/api/v1/embeddings")
+                .bodyValue(embeddingsRequest)
+                .headers(defaultHeaders(apiKey))
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, response -> toException(response, permit))
+                .bodyToFlux(DataBuffer.class)
+                .as(DataBufferUtils::join)
+                .<GigaChatEmbeddingResponse>handle((buffer, sink) -> {
+                    try (InputStream body = buffer.asInputStream(true)) {
+                        sink.next(EMBEDDING_READER.<GigaChatEmbeddingResponse>readValue(body));
+                    } catch (JsonProcessingException e) {
+                        sink.error(new NonTransientAiException("Некорректный ответ сервиса эмбеддингов: " + e.getOriginalMessage(), e));
+                    } catch (IOException e) {
+                        sink.error(e);
+                    }
+                }));
+    }
+
+    /**
+     * Sends an embedding request to the GigaChat API and decodes the embeddings into a contiguous matrix,
+     * without the per-item objects of {@link #embed(GigaChatEmbeddingRequest)}.
+     *
+     * @param embeddingsRequest The embedding request object.
+     * @return The embeddings, one row per input text in request order.
+     */
+    public GigaChatEmbeddingMatrix embedMatrix(GigaChatEmbeddingRequest embeddingsRequest) {
+        Assert.notNull(embeddingsRequest, REQUEST_BODY_NULL_ERROR);
+        ObjectReader reader = MATRIX_READER.withAttribute(GigaChatEmbeddingMatrixDeserializer.EXPECTED_ROWS, embeddingsRequest.getInput().size());
+
+        return retried("embed", () -> limited(embeddingRateLimiter, permit -> this.restClient.post()
+                .uri("/api/v1/embeddings")
+                .body(embeddingsRequest)
+                .headers(defaultHeaders(apiKeySupplier.get()))
+                .exchange((request, response) -> {
+                    if (this.responseErrorHandler.hasError(response)) {
+                        if (Objects.nonNull(permit) && response.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+                            permit.throttled();
+                        }
+                        this.responseErrorHandler.handleError(request.getURI(), request.getMethod(), response);
+                    }
+                    try (InputStream body = response.getBody()) {
+                        return reader.<GigaChatEmbeddingMatrix>readValue(body);
+                    } catch (JsonProcessingException e) {
+                        throw new NonTransientAiException("Некорректный ответ сервиса эмбеддингов: " + e.getOriginalMessage(), e);
+                    }
+                })));
+    }
+
+    /**
+     * Returns the OAuth scope the access tokens of this API are requested for.
+     *
+     * @return The scope, or {@code null} if the tokens come from a custom supplier.
+     */
+    public Scope getScope() {
+        return apiKeySupplier instanceof ApiKeySupplier supplier ? supplier.getScope() : null;
+    }
+
+    /**
+     * Sets the metrics receiving the latencies of the token refreshes.
+     *
+     * @param metrics The metrics, or {@code null} to stop reporting.
+     */
+    public void setMetrics(GigaChatMetrics metrics) {
+        if (apiKeySupplier instanceof ApiKeySupplier supplier) {
+            supplier.setMetrics(metrics);
+        }
+    }
+
+    /**
+     * Stops the background token refresh of the API key supplier created by this instance. A supplier passed to
+     * the constructor stays open and is closed by its owner.
+     */
+    @Override
+    public void close() {
+        if (ownsApiKeySupplier && apiKeySupplier instanceof ApiKeySupplier supplier) {
+            supplier.close();
+        }
+    }
+
+    /**
+     * Executes a synchronous request, retrying it after transient errors if retries are enabled.
+     *
+     * @param operation The name of the operation, used as a metric tag.
+     * @param request   The request.
+     * @param <T>       The type of the response.
+     * @return The response.
+     */
+    protected <T> T retried(String operation, Supplier<T> request) {
+        GigaChatRetry retry = this.retry;
+        return Objects.isNull(retry) ? request.get() : retry.execute(operation, request);
+    }
+
+    /**
+     * Retries a stream after transient errors that happen before its first element, if retries are enabled.
+     *
+     * @param operation The name of the operation, used as a metric tag.
+     * @param source    The stream, subscribed again on every attempt.
+     * @param <T>       The type of the elements.
+     * @return The retried stream.
+     */
+    protected <T> Flux<T> retriedBeforeFirst(String operation, Flux<T> source) {
+        GigaChatRetry retry = this.retry;
+        return Objects.isNull(retry) ? source : retry.retryBeforeFirst(operation, source);
+    }
+
+    /**
+     * Executes a synchronous request under the given rate limiter and reports its outcome to the limiter.
+     *
+     * @param limiter The rate limiter, or {@code null} if the request is not limited.
+     * @param request The request, receiving the permit to mark throttled responses on.
+     * @param <T>     The type of the response.
+     * @return The response.
+     */
+    private <T> T limited(GigaChatRateLimiter limiter, Function<GigaChatRateLimiter.Permit, T> request) {
+        if (Objects.isNull(limiter)) {
+            return request.apply(null);
+        }
+
+        GigaChatRateLimiter.Permit permit = limiter.acquireBlocking();
+        try {
+            T response = request.apply(permit);
+            permit.success();
+            return response;
+        } catch (RuntimeException e) {
+            permit.failure();
+            throw e;
+        }
+    }
+
+    /**
+     * Builds the default headers of an API request.
+     *
+     * @param apiKey The access token to authorize the request with.
+     * @return A consumer filling in the request headers.
+     */
+    private Consumer<HttpHeaders> defaultHeaders(String apiKey) {
+        return headers -> {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+            headers.setBearerAuth(apiKey);
+            headers.set("X-Client-ID", clientId);
+            headers.set("X-Session-ID", xSession);
+            headers.set("X-Request-ID", UUID.randomUUID().toString());
+        };
+    }
+
+    /**
+     * Obtains the access token without blocking the subscribing thread.
+     *
+     * @return A {@link Mono} emitting the access token.
+     */
+    private Mono<String> apiKey() {
+        if (apiKeySupplier instanceof ApiKeySupplier supplier) {
+            return supplier.getAsync();
+        }
+        return Mono.fromSupplier(apiKeySupplier).subscribeOn(Schedulers.boundedElastic());
     }
 
     /**
@@ -178,26 +490,101 @@ public class GigaChatApi {
         @Override
         public void handleError(URI url, HttpMethod method, ClientHttpResponse response) throws IOException {
             if (response.getStatusCode().isError()) {
-                int statusCode = response.getStatusCode().value();
-                String statusText = response.getStatusText();
                 String message = StreamUtils.copyToString(response.getBody(), java.nio.charset.StandardCharsets.UTF_8);
-                logger.warn(String.format("[%s] %s - %s", statusCode, statusText, message));
-                throw new RuntimeException(String.format("[%s] %s - %s", statusCode, statusText, message));
+                throw toException(response.getStatusCode(), response.getStatusText(), message, response.getHeaders());
+            }
+        }
+    }
+
+    /**
+     * Converts an error response of the reactive client to an exception, marking a throttled request on its permit.
+     *
+     * @param response The error response.
+     * @param permit   The rate limiter permit of the request, or {@code null} if the request is not limited.
+     * @return A {@link Mono} emitting the exception.
+     */
+    private static Mono<RuntimeException> toException(ClientResponse response, GigaChatRateLimiter.Permit permit) {
+        if (Objects.nonNull(permit) && response.statusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+            permit.throttled();
+        }
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(body -> toException(response.statusCode(), "", body, response.headers().asHttpHeaders()));
+    }
+
+    /**
+     * Converts an error response to an exception, classifying it as transient or not by its status.
+     *
+     * @param status     The status of the response.
+     * @param statusText The status text of the response.
+     * @param body       The body of the response.
+     * @param headers    The headers of the response.
+     * @return A {@link GigaChatTransientApiException} for {@code 408}, {@code 429} and {@code 5xx} statuses,
+     * a {@link GigaChatNonTransientApiException} otherwise.
+     */
+    static RuntimeException toException(HttpStatusCode status, String statusText, String body, HttpHeaders headers) {
+        String message = String.format("[%s] %s - %s", status.value(), statusText, body);
+        logger.warn(message);
+        if (status.is5xxServerError() || status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS) || status.isSameCodeAs(HttpStatus.REQUEST_TIMEOUT)) {
+            return new GigaChatTransientApiException(message, status.value(), retryAfter(headers));
+        }
+        return new GigaChatNonTransientApiException(message, status.value());
+    }
+
+    /**
+     * Parses the {@code Retry-After} header, given either in seconds or as an HTTP date.
+     *
+     * @param headers The headers of the response.
+     * @return The requested delay, or {@code null} if the header is absent or malformed.
+     */
+    private static Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Duration delay = Duration.between(Instant.now(), ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException ex) {
+                return null;
             }
         }
     }
 
     /**
      * Supplier class for managing API keys.
+     *
+     * <p>The current token is kept in a volatile snapshot, so reads never take a lock. The token is refreshed
+     * in the background shortly before it expires, and concurrent callers that find no valid token share
+     * a single in-flight refresh instead of issuing their own OAuth requests.</p>
      */
-    public static class ApiKeySupplier implements Supplier<String> {
+    public static class ApiKeySupplier implements Supplier<String>, AutoCloseable {
         private static final long tokenUpdateInterval = TimeUnit.of(ChronoUnit.MINUTES).toMillis(1);
+        private static final long tokenRefreshAhead = TimeUnit.of(ChronoUnit.MINUTES).toMillis(1);
+        private static final long tokenRefreshRetryInterval = TimeUnit.of(ChronoUnit.SECONDS).toMillis(5);
         private final Scope scope;
         private final RestClient oauthRestClient;
-        private String apiKey;
-        private long apiKeyExpiresAt;
         private final ResponseErrorHandler responseErrorHandler;
         private final  Consumer<HttpHeaders> oauthHeaders;
+        private final ScheduledExecutorService refreshExecutor;
+        private final AtomicReference<CompletableFuture<Token>> refreshInFlight = new AtomicReference<>();
+        private volatile Token token;
+        private volatile ScheduledFuture<?> scheduledRefresh;
+
+        /**
+         * Whether the cached token has been read since it was refreshed. An unread token is not refreshed
+         * in the background, so an abandoned supplier stops requesting tokens and its thread can terminate.
+         */
+        private volatile boolean read;
+
+        /**
+         * Metrics receiving the latencies of the token refreshes, if enabled.
+         */
+        @Setter
+        private volatile GigaChatMetrics metrics;
 
         /**
          * Constructs a new ApiKeySupplier instance.
@@ -220,23 +607,216 @@ public class GigaChatApi {
 
 
             this.oauthRestClient = restClient.messageConverters(c -> c.add(new FormHttpMessageConverter())).build();
+
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "gigachat-token-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setKeepAliveTime(1, TimeUnit.MINUTES);
+            executor.allowCoreThreadTimeOut(true);
+            executor.setRemoveOnCancelPolicy(true);
+            this.refreshExecutor = executor;
         }
 
+        /**
+         * Returns a valid access token, waiting for a refresh only when no usable token is cached.
+         *
+         * @return The access token.
+         */
         @Override
-        public synchronized String get() {
-            if (StringUtils.hasText(apiKey) && apiKeyExpiresAt - tokenUpdateInterval > Instant.now().toEpochMilli()) {
-                return apiKey;
+        public String get() {
+            Token current = this.token;
+            if (isUsable(current)) {
+                read = true;
+                refreshIfStale(current);
+                return current.value();
             }
 
-            MultiValueMap<String, String> req = new LinkedMultiValueMap<>();
-            req.add("scope", scope.name());
+            try {
+                return markRead(refresh().join()).value();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
 
+        /**
+         * Returns a valid access token without blocking the subscribing thread.
+         *
+         * @return A {@link Mono} emitting the access token.
+         */
+        public Mono<String> getAsync() {
+            return Mono.defer(() -> {
+                Token current = this.token;
+                if (isUsable(current)) {
+                    read = true;
+                    refreshIfStale(current);
+                    return Mono.just(current.value());
+                }
+                return Mono.fromFuture(refresh(), true).map(fresh -> markRead(fresh).value());
+            });
+        }
 
-            GigaChatOAuthResponse response = oauthRestClient.post().uri("/api/v2/oauth").headers(oauthHeaders).body(req).retrieve().onStatus(responseErrorHandler).body(GigaChatOAuthResponse.class);
-            apiKey = response.getAccessToken();
-            apiKeyExpiresAt = response.getExpiresAt();
+        /**
+         * Returns the OAuth scope the tokens are requested for.
+         *
+         * @return The OAuth scope.
+         */
+        public Scope getScope() {
+            return scope;
+        }
 
-            return apiKey;
+        /**
+         * Stops the background refresh of the token.
+         */
+        @Override
+        public void close() {
+            refreshExecutor.shutdownNow();
+        }
+
+        /**
+         * Starts a token refresh, or joins the one that is already in flight.
+         *
+         * @return A future completed with the new token.
+         */
+        private CompletableFuture<Token> refresh() {
+            while (true) {
+                CompletableFuture<Token> inFlight = refreshInFlight.get();
+                if (Objects.nonNull(inFlight)) {
+                    return inFlight;
+                }
+
+                CompletableFuture<Token> created = new CompletableFuture<>();
+                if (refreshInFlight.compareAndSet(null, created)) {
+                    try {
+                        refreshExecutor.execute(() -> requestToken(created));
+                    } catch (RejectedExecutionException e) {
+                        requestToken(created);
+                    }
+                    return created;
+                }
+            }
+        }
+
+        /**
+         * Requests a new token from the OAuth endpoint and publishes it.
+         *
+         * @param result The future to complete with the new token.
+         */
+        private void requestToken(CompletableFuture<Token> result) {
+            long startedAt = System.nanoTime();
+            GigaChatMetrics metrics = this.metrics;
+            try {
+                MultiValueMap<String, String> req = new LinkedMultiValueMap<>();
+                req.add("scope", scope.name());
+
+                GigaChatOAuthResponse response = oauthRestClient.post().uri("/api/v2/oauth").headers(oauthHeaders).body(req).retrieve().onStatus(responseErrorHandler).body(GigaChatOAuthResponse.class);
+                Token fresh = new Token(response.getAccessToken(), response.getExpiresAt());
+                this.read = false;
+                this.token = fresh;
+                scheduleRefresh(fresh.expiresAt() - tokenUpdateInterval - tokenRefreshAhead - Instant.now().toEpochMilli());
+                if (Objects.nonNull(metrics)) {
+                    metrics.tokenRefreshed(scope, System.nanoTime() - startedAt, true);
+                }
+                result.complete(fresh);
+            } catch (Throwable e) {
+                if (Objects.nonNull(metrics)) {
+                    metrics.tokenRefreshed(scope, System.nanoTime() - startedAt, false);
+                }
+                result.completeExceptionally(e);
+            } finally {
+                refreshInFlight.compareAndSet(result, null);
+            }
+        }
+
+        /**
+         * Triggers a background refresh when the token is about to expire.
+         *
+         * @param current The currently cached token.
+         */
+        private void refreshIfStale(Token current) {
+            if (current.expiresAt() - tokenUpdateInterval - tokenRefreshAhead <= Instant.now().toEpochMilli()) {
+                refreshInBackground();
+            }
+        }
+
+        /**
+         * Refreshes the token without waiting for the result. A failed refresh is retried while the cached token is still usable.
+         */
+        private void refreshInBackground() {
+            refresh().whenComplete((fresh, e) -> {
+                if (Objects.nonNull(e)) {
+                    logger.warn("Не удалось обновить токен доступа", e);
+                    if (isUsable(this.token)) {
+                        scheduleRefresh(tokenRefreshRetryInterval);
+                    }
+                }
+            });
+        }
+
+        /**
+         * Runs a scheduled refresh if the token has been read since the last refresh. Otherwise the token is
+         * refreshed on the next read, once it becomes stale.
+         */
+        private void scheduledRefresh() {
+            if (read) {
+                refreshInBackground();
+            }
+        }
+
+        /**
+         * Marks a token as read.
+         *
+         * @param fresh The token returned to the caller.
+         * @return The same token.
+         */
+        private Token markRead(Token fresh) {
+            read = true;
+            return fresh;
+        }
+
+        /**
+         * Schedules a proactive refresh of the token.
+         *
+         * @param delay The delay in milliseconds before the refresh.
+         */
+        private void scheduleRefresh(long delay) {
+            if (delay <= 0 || refreshExecutor.isShutdown()) {
+                return;
+            }
+
+            ScheduledFuture<?> previous = this.scheduledRefresh;
+            if (Objects.nonNull(previous)) {
+                previous.cancel(false);
+            }
+
+            try {
+                this.scheduledRefresh = refreshExecutor.schedule(this::scheduledRefresh, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Фоновое обновление токена остановлено");
+            }
+        }
+
+        /**
+         * Checks whether the token can still be used for requests.
+         *
+         * @param token The token to check.
+         * @return {@code true} if the token exists and does not expire within the update interval.
+         */
+        private static boolean isUsable(Token token) {
+            return Objects.nonNull(token) && StringUtils.hasText(token.value()) && token.expiresAt() - tokenUpdateInterval > Instant.now().toEpochMilli();
+        }
+
+        /**
+         * Immutable snapshot of an access token and its expiration time.
+         *
+         * @param value     The access token.
+         * @param expiresAt The expiration time in milliseconds since the Unix epoch.
+         */
+        private record Token(String value, long expiresAt) {
         }
     }
 
@@ -96,6 +96,12 @@ public class GigaChatChatOptions implements ToolCallingChatOptions, EmbeddingOpt
      */
     private @JsonIgnore Boolean internalToolExecutionEnabled;
 
+    /**
+     * Identifier of the conversation, used to reuse the converted history of earlier turns
+     * when the chat model has a conversation cache.
+     */
+    private @JsonIgnore String conversationId;
+
     @Override
     public List<FunctionCallback> getFunctionCallbacks() {
         return getToolCallbacks();
@@ -0,0 +1,169 @@
+package org.springframework.ai.gigachat.api;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * GigaChat API spreading requests over the quotas of several accounts.
+ *
+ * <p>Every set of credentials gets its own {@link GigaChatApi.ApiKeySupplier}, so the tokens of the accounts are
+ * obtained and refreshed independently, while all of them share one transport. Requests are distributed over the
+ * accounts as configured by the {@link GigaChatRoutingOptions.Balancing balancing}, by default to the account with
+ * the fewest requests in flight relative to its weight. An account answering {@code 429} cools down while the others
+ * keep serving, and the request moves on to the next account at once, so the accounts themselves do not retry;
+ * a request is retried only when every account refused it. Limiters of individual accounts can be set on
+ * {@link #getApi(String)}.</p>
+ */
+public class GigaChatCredentialPool extends GigaChatRoutingApi implements AutoCloseable {
+
+    /**
+     * The API instances of the accounts by the names of their credentials.
+     */
+    private final Map<String, GigaChatApi> apis;
+
+    /**
+     * The token suppliers of the accounts.
+     */
+    private final List<GigaChatApi.ApiKeySupplier> apiKeySuppliers;
+
+    /**
+     * Constructs a new GigaChatCredentialPool with least-outstanding balancing, reporting to the global meter registry.
+     *
+     * @param baseUrl     The base URL for the API.
+     * @param authUrl     The authentication URL.
+     * @param credentials The credentials of the accounts.
+     * @param transport   The transport shared by the accounts.
+     */
+    public GigaChatCredentialPool(String baseUrl, String authUrl, List<GigaChatCredentials> credentials, GigaChatTransport transport) {
+        this(baseUrl, authUrl, credentials, transport, GigaChatRoutingOptions.builder().balancing(GigaChatRoutingOptions.Balancing.LEAST_OUTSTANDING).build(), Metrics.globalRegistry);
+    }
+
+    /**
+     * Constructs a new GigaChatCredentialPool.
+     *
+     * @param baseUrl       The base URL for the API.
+     * @param authUrl       The authentication URL.
+     * @param credentials   The credentials of the accounts.
+     * @param transport     The transport shared by the accounts.
+     * @param options       The options of the routing; the weights are taken from the credentials.
+     * @param meterRegistry The registry of the routing metrics.
+     */
+    public GigaChatCredentialPool(String baseUrl, String authUrl, List<GigaChatCredentials> credentials, GigaChatTransport transport, GigaChatRoutingOptions options, MeterRegistry meterRegistry) {
+        this(accounts(baseUrl, authUrl, credentials, transport), credentials, options, meterRegistry);
+    }
+
+    /**
+     * Constructs a new GigaChatCredentialPool over the accounts.
+     *
+     * @param accounts      The accounts by the names of their credentials.
+     * @param credentials   The credentials of the accounts.
+     * @param options       The options of the routing.
+     * @param meterRegistry The registry of the routing metrics.
+     */
+    private GigaChatCredentialPool(Map<String, Account> accounts, List<GigaChatCredentials> credentials, GigaChatRoutingOptions options, MeterRegistry meterRegistry) {
+        super(endpoints(accounts), weighted(options, credentials), meterRegistry);
+        this.apis = endpoints(accounts);
+        this.apiKeySuppliers = accounts.values().stream().map(Account::apiKeySupplier).toList();
+        setRetry(new GigaChatRetry(GigaChatRetryOptions.builder().build(), meterRegistry));
+    }
+
+    /**
+     * Returns the API instance of an account, for example to set its rate limiters.
+     *
+     * @param name The name of the credentials.
+     * @return The API instance, or {@code null} if there are no such credentials.
+     */
+    public GigaChatApi getApi(String name) {
+        return apis.get(name);
+    }
+
+    /**
+     * Stops the background refresh of the tokens of all accounts.
+     */
+    @Override
+    public void close() {
+        apiKeySuppliers.forEach(GigaChatApi.ApiKeySupplier::close);
+    }
+
+    /**
+     * Creates the accounts of the pool.
+     *
+     * @param baseUrl     The base URL for the API.
+     * @param authUrl     The authentication URL.
+     * @param credentials The credentials of the accounts.
+     * @param transport   The transport shared by the accounts.
+     * @return The accounts by the names of their credentials.
+     */
+    private static Map<String, Account> accounts(String baseUrl, String authUrl, List<GigaChatCredentials> credentials, GigaChatTransport transport) {
+        Assert.isTrue(!CollectionUtils.isEmpty(credentials), "Список учётных данных не может быть пустым");
+        Assert.notNull(transport, "Транспорт не может быть пустым");
+
+        Map<String, Account> accounts = new LinkedHashMap<>();
+        for (GigaChatCredentials credential : credentials) {
+            Assert.notNull(credential, "Учётные данные не могут быть пустыми");
+            Assert.hasText(credential.getClientId(), "Идентификатор клиента не может быть пустым");
+            Assert.isTrue(credential.getWeight() > 0, "Вес учётных данных должен быть положительным");
+            String name = name(credential);
+            Assert.isTrue(!accounts.containsKey(name), "Учётные данные " + name + " указаны дважды");
+
+            GigaChatApi.ApiKeySupplier apiKeySupplier = new GigaChatApi.ApiKeySupplier(credential.getScope(), credential.getClientId(), credential.getSecret(), transport.restClientBuilder().baseUrl(authUrl));
+            GigaChatApi api = new GigaChatApi(baseUrl, credential.getClientId(), apiKeySupplier, transport.restClientBuilder(), transport.webClientBuilder());
+            accounts.put(name, new Account(api, apiKeySupplier));
+        }
+        return accounts;
+    }
+
+    /**
+     * Extracts the API instances of the accounts.
+     *
+     * @param accounts The accounts by the names of their credentials.
+     * @return The API instances by the names of the credentials.
+     */
+    private static Map<String, GigaChatApi> endpoints(Map<String, Account> accounts) {
+        Map<String, GigaChatApi> endpoints = new LinkedHashMap<>();
+        accounts.forEach((name, account) -> endpoints.put(name, account.api()));
+        return endpoints;
+    }
+
+    /**
+     * Adds the weights of the credentials to the routing options.
+     *
+     * @param options     The options of the routing.
+     * @param credentials The credentials of the accounts.
+     * @return The options with the weights of the credentials.
+     */
+    private static GigaChatRoutingOptions weighted(GigaChatRoutingOptions options, List<GigaChatCredentials> credentials) {
+        Assert.notNull(options, "Настройки маршрутизации не могут быть пустыми");
+        Map<String, Integer> weights = new HashMap<>();
+        credentials.forEach(credential -> weights.put(name(credential), credential.getWeight()));
+        return options.toBuilder().weights(weights).build();
+    }
+
+    /**
+     * Resolves the name of credentials.
+     *
+     * @param credential The credentials.
+     * @return The name, or the client ID if the name is not set.
+     */
+    private static String name(GigaChatCredentials credential) {
+        return StringUtils.hasText(credential.getName()) ? credential.getName() : Objects.requireNonNull(credential.getClientId());
+    }
+
+    /**
+     * Account of the pool.
+     *
+     * @param api            The API instance of the account.
+     * @param apiKeySupplier The token supplier of the account.
+     */
+    private record Account(GigaChatApi api, GigaChatApi.ApiKeySupplier apiKeySupplier) {
+    }
+}
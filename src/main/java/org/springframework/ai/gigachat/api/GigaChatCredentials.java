@@ -0,0 +1,43 @@
+package org.springframework.ai.gigachat.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Credentials of a GigaChat account in a {@link GigaChatCredentialPool}.
+ */
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class GigaChatCredentials {
+
+    /**
+     * The name of the credentials, used as a metric tag; the client ID if not set.
+     */
+    private String name;
+
+    /**
+     * The OAuth scope.
+     */
+    @Builder.Default
+    private GigaChatApi.Scope scope = GigaChatApi.Scope.GIGACHAT_API_PERS;
+
+    /**
+     * The client ID for authentication.
+     */
+    private String clientId;
+
+    /**
+     * The client secret for authentication.
+     */
+    private String secret;
+
+    /**
+     * The share of requests sent with these credentials relative to the others, for weighted balancing.
+     */
+    @Builder.Default
+    private int weight = 1;
+}
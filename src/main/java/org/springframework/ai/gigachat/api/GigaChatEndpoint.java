@@ -0,0 +1,344 @@
+package org.springframework.ai.gigachat.api;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Endpoint of a {@link GigaChatRoutingApi}: an API instance together with its health and circuit breaker.
+ *
+ * <p>The circuit is closed while the endpoint serves requests. It opens after the configured number of consecutive
+ * failures and rejects requests for the open duration, after which a single probe request is let through: its
+ * success closes the circuit, its failure opens it again. An endpoint answering {@code 429} is healthy but out of
+ * quota, so instead of counting a failure it is left alone until the requested cooldown ends.</p>
+ */
+class GigaChatEndpoint {
+
+    /**
+     * The name of the endpoint, used as a metric tag.
+     */
+    private final String name;
+
+    /**
+     * The API instance sending the requests.
+     */
+    private final GigaChatApi api;
+
+    /**
+     * The options of the router.
+     */
+    private final GigaChatRoutingOptions options;
+
+    /**
+     * The weight of the endpoint in the weighted balancing modes.
+     */
+    private final int weight;
+
+    /**
+     * The registry of the latency histograms.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The number of requests in flight.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * The state of the circuit, guarded by {@code this}.
+     */
+    private State state = State.CLOSED;
+
+    /**
+     * The number of consecutive failures, guarded by {@code this}.
+     */
+    private int failures;
+
+    /**
+     * The time the circuit opened, in {@link System#nanoTime()} units, guarded by {@code this}.
+     */
+    private long openedAt;
+
+    /**
+     * The end of the cooldown after a {@code 429} response, in {@link System#nanoTime()} units, guarded by {@code this}.
+     */
+    private long throttledUntil;
+
+    /**
+     * Whether the endpoint is cooling down after a {@code 429} response, guarded by {@code this}.
+     */
+    private boolean throttled;
+
+    /**
+     * The current weight of the smooth weighted round-robin, guarded by the router.
+     */
+    private int currentWeight;
+
+    /**
+     * The moving average of the latency in nanoseconds, guarded by {@code this}.
+     */
+    private double latency;
+
+    /**
+     * The moving average of the share of failed requests, guarded by {@code this}.
+     */
+    private double errorRate;
+
+    /**
+     * Constructs a new GigaChatEndpoint.
+     *
+     * @param name          The name of the endpoint, used as a metric tag.
+     * @param api           The API instance sending the requests.
+     * @param options       The options of the router.
+     * @param meterRegistry The registry of the latency histograms.
+     */
+    GigaChatEndpoint(String name, GigaChatApi api, GigaChatRoutingOptions options, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.api = api;
+        this.options = options;
+        this.meterRegistry = meterRegistry;
+        this.weight = options.getWeights().getOrDefault(name, 1);
+    }
+
+    /**
+     * Returns the name of the endpoint.
+     *
+     * @return The name of the endpoint.
+     */
+    String name() {
+        return name;
+    }
+
+    /**
+     * Returns the API instance sending the requests.
+     *
+     * @return The API instance.
+     */
+    GigaChatApi api() {
+        return api;
+    }
+
+    /**
+     * Returns the weight of the endpoint in the weighted balancing modes.
+     *
+     * @return The weight of the endpoint.
+     */
+    int weight() {
+        return weight;
+    }
+
+    /**
+     * Checks whether the endpoint may be asked to serve a request.
+     *
+     * @param now The current time in {@link System#nanoTime()} units.
+     * @return {@code true} if the endpoint is not cooling down and its circuit is closed or ready for a probe.
+     */
+    synchronized boolean isAvailable(long now) {
+        if (throttled && now - throttledUntil < 0) {
+            return false;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> now - openedAt >= options.getOpenDuration().toNanos();
+            case PROBING -> false;
+        };
+    }
+
+    /**
+     * Returns the time left until the endpoint becomes available again.
+     *
+     * @param now The current time in {@link System#nanoTime()} units.
+     * @return The remaining time of the cooldown or of the open circuit, zero if the endpoint is available
+     * or is being probed.
+     */
+    synchronized Duration remainingUnavailable(long now) {
+        long remaining = throttled ? throttledUntil - now : 0;
+        if (state == State.OPEN) {
+            remaining = Math.max(remaining, openedAt + options.getOpenDuration().toNanos() - now);
+        }
+        return Duration.ofNanos(Math.max(0, remaining));
+    }
+
+    /**
+     * Reserves the endpoint for a request, turning a request to an open circuit into its probe.
+     *
+     * @param now The current time in {@link System#nanoTime()} units.
+     * @return {@code true} if the request may be sent.
+     */
+    synchronized boolean tryAcquire(long now) {
+        if (!isAvailable(now)) {
+            return false;
+        }
+        if (state == State.OPEN) {
+            state = State.PROBING;
+        }
+        inFlight.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Records a successful request, or a request rejected for a reason other than the health of the endpoint.
+     *
+     * @param operation The name of the operation.
+     * @param nanos     The latency of the request.
+     * @param outcome   The outcome of the request, used as a metric tag.
+     */
+    synchronized void success(String operation, long nanos, String outcome) {
+        inFlight.decrementAndGet();
+        responded(operation, nanos, outcome);
+    }
+
+    /**
+     * Records the first chunk of a stream as a successful response. The stream stays in flight until it is
+     * {@link #release() released}.
+     *
+     * @param operation The name of the operation.
+     * @param nanos     The latency of the first chunk.
+     * @param outcome   The outcome of the request, used as a metric tag.
+     */
+    synchronized void responded(String operation, long nanos, String outcome) {
+        state = State.CLOSED;
+        failures = 0;
+        latency = latency == 0 ? nanos : latency + options.getSmoothing() * (nanos - latency);
+        errorRate -= options.getSmoothing() * errorRate;
+        record(operation, nanos, outcome);
+    }
+
+    /**
+     * Releases a stream that has already {@link #responded responded}, once it terminates.
+     */
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Records a request failed with a transient error, opening the circuit if the endpoint keeps failing.
+     *
+     * @param operation The name of the operation.
+     * @param nanos     The latency of the request.
+     */
+    synchronized void failure(String operation, long nanos) {
+        inFlight.decrementAndGet();
+        errorRate += options.getSmoothing() * (1 - errorRate);
+        failures++;
+        if (state == State.PROBING || (state == State.CLOSED && failures >= options.getFailureThreshold())) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            Counter.builder("gigachat.api.endpoint.circuit.opened")
+                    .description("Размыкания цепи точки подключения GigaChat")
+                    .tag("endpoint", name)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        record(operation, nanos, "failure");
+    }
+
+    /**
+     * Records a request answered with {@code 429}, putting the endpoint on cooldown.
+     *
+     * @param operation The name of the operation.
+     * @param nanos     The latency of the request.
+     * @param cooldown  The time the endpoint is left alone.
+     */
+    synchronized void throttled(String operation, long nanos, Duration cooldown) {
+        inFlight.decrementAndGet();
+        if (state == State.PROBING) {
+            state = State.CLOSED;
+            failures = 0;
+        }
+        long until = System.nanoTime() + cooldown.toNanos();
+        if (!throttled || until - throttledUntil > 0) {
+            throttledUntil = until;
+        }
+        throttled = true;
+        Counter.builder("gigachat.api.endpoint.throttled")
+                .description("Ответы 429 точки подключения GigaChat")
+                .tag("endpoint", name)
+                .register(meterRegistry)
+                .increment();
+        record(operation, nanos, "throttled");
+    }
+
+    /**
+     * Records a request that was cancelled before it completed, such as the loser of a hedged request.
+     *
+     * @param operation The name of the operation.
+     * @param nanos     The time the request ran before it was cancelled.
+     */
+    synchronized void cancelled(String operation, long nanos) {
+        inFlight.decrementAndGet();
+        if (state == State.PROBING) {
+            state = State.OPEN;
+            openedAt = System.nanoTime() - options.getOpenDuration().toNanos();
+        }
+        record(operation, nanos, "cancelled");
+    }
+
+    /**
+     * Scores the endpoint for routing: the expected latency, scaled up by the load and the error rate.
+     *
+     * @return The score; endpoints with lower scores are preferred.
+     */
+    synchronized double score() {
+        return (latency + 1) * (inFlight.get() + 1) / Math.max(0.05, 1 - errorRate);
+    }
+
+    /**
+     * Scores the endpoint for least-outstanding balancing.
+     *
+     * @return The requests in flight relative to the weight; endpoints with lower loads are preferred.
+     */
+    double load() {
+        return (inFlight.get() + 1) / (double) weight;
+    }
+
+    /**
+     * Advances the smooth weighted round-robin by the weight of the endpoint. Called by the router only.
+     *
+     * @return The new current weight.
+     */
+    int advance() {
+        currentWeight += weight;
+        return currentWeight;
+    }
+
+    /**
+     * Moves the endpoint back after it was chosen by the smooth weighted round-robin. Called by the router only.
+     *
+     * @param total The sum of the weights of the endpoints that took part in the choice.
+     */
+    void chosen(int total) {
+        currentWeight -= total;
+    }
+
+    /**
+     * Records the latency of a request in the histogram of the endpoint.
+     *
+     * @param operation The name of the operation.
+     * @param nanos     The latency of the request.
+     * @param outcome   The outcome of the request.
+     */
+    private void record(String operation, long nanos, String outcome) {
+        Timer.builder("gigachat.api.endpoint.latency")
+                .description("Время ответа точки подключения GigaChat")
+                .tag("endpoint", name)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * State of the circuit of an endpoint.
+     */
+    private enum State {
+        CLOSED,
+        OPEN,
+        PROBING
+    }
+}
@@ -0,0 +1,262 @@
+package org.springframework.ai.gigachat.api;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.ai.gigachat.api.model.GigaChatChatResponse;
+import org.springframework.util.Assert;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GigaChat-specific metrics complementing the generic chat and embedding model observations.
+ *
+ * <p>Chat requests report the time to the first chunk ({@code gigachat.chat.ttft}), the time between chunks
+ * ({@code gigachat.chat.chunk.interval}), the generation rate in completion tokens per second
+ * ({@code gigachat.chat.tokens.rate}) and the number of requests in flight ({@code gigachat.chat.active}).
+ * Embedding requests report the number of texts per request ({@code gigachat.embedding.request.texts}) and count
+ * the returned vectors by their dimensions ({@code gigachat.embedding.vectors}). All of them are tagged with the model
+ * and the OAuth scope. Token refreshes are timed in {@code gigachat.token.refresh}, tagged with the scope and the
+ * outcome. Meters are resolved once per model and scope, so recording does not allocate meter identifiers.</p>
+ */
+public class GigaChatMetrics {
+
+    /**
+     * The tag value used when the scope of the API is unknown, such as for a routing API.
+     */
+    public static final String UNKNOWN_SCOPE = "unknown";
+
+    /**
+     * The registry of the meters.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The chat meters by model and scope.
+     */
+    private final ConcurrentMap<Tags, ChatMeters> chatMeters = new ConcurrentHashMap<>();
+
+    /**
+     * The embedding meters by model and scope.
+     */
+    private final ConcurrentMap<Tags, EmbeddingMeters> embeddingMeters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new GigaChatMetrics.
+     *
+     * @param meterRegistry The registry of the meters.
+     */
+    public GigaChatMetrics(MeterRegistry meterRegistry) {
+        Assert.notNull(meterRegistry, "Реестр метрик не может быть пустым");
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts recording a chat request.
+     *
+     * @param model The name of the model.
+     * @param scope The OAuth scope of the API, or {@code null} if unknown.
+     * @return The recording of the request, to be stopped once the request completes.
+     */
+    public ChatRecording chatStarted(String model, GigaChatApi.Scope scope) {
+        ChatMeters meters = chatMeters.computeIfAbsent(tags(model, scope), this::chatMeters);
+        meters.active().incrementAndGet();
+        return new ChatRecording(meters);
+    }
+
+    /**
+     * Records a completed embedding request.
+     *
+     * @param model      The name of the model.
+     * @param scope      The OAuth scope of the API, or {@code null} if unknown.
+     * @param texts      The number of texts in the request.
+     * @param vectors    The number of returned vectors.
+     * @param dimensions The number of dimensions of the vectors.
+     */
+    public void embedded(String model, GigaChatApi.Scope scope, int texts, int vectors, int dimensions) {
+        EmbeddingMeters meters = embeddingMeters.computeIfAbsent(tags(model, scope), this::embeddingMeters);
+        meters.texts().record(texts);
+        // Dimensions take very few distinct values per model, so they are a safe tag.
+        Counter.builder("gigachat.embedding.vectors")
+                .description("Векторы, полученные от сервиса эмбеддингов")
+                .tags(meters.tags())
+                .tag("dimensions", String.valueOf(dimensions))
+                .register(meterRegistry)
+                .increment(vectors);
+    }
+
+    /**
+     * Records a request for an access token.
+     *
+     * @param scope   The OAuth scope.
+     * @param nanos   The duration of the request.
+     * @param success Whether a token was obtained.
+     */
+    public void tokenRefreshed(GigaChatApi.Scope scope, long nanos, boolean success) {
+        Timer.builder("gigachat.token.refresh")
+                .description("Время получения токена доступа")
+                .tag("scope", scope(scope))
+                .tag("outcome", success ? "success" : "failure")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Registers the chat meters of a model and scope.
+     *
+     * @param tags The model and scope tags.
+     * @return The meters.
+     */
+    private ChatMeters chatMeters(Tags tags) {
+        AtomicInteger active = new AtomicInteger();
+        Gauge.builder("gigachat.chat.active", active, AtomicInteger::get)
+                .description("Запросы к модели, ожидающие ответа")
+                .tags(tags)
+                .register(meterRegistry);
+        return new ChatMeters(
+                Timer.builder("gigachat.chat.ttft")
+                        .description("Время до первого фрагмента ответа")
+                        .tags(tags)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                Timer.builder("gigachat.chat.chunk.interval")
+                        .description("Время между фрагментами потокового ответа")
+                        .tags(tags)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                DistributionSummary.builder("gigachat.chat.tokens.rate")
+                        .description("Скорость генерации ответа")
+                        .baseUnit("tokens/s")
+                        .tags(tags)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                active);
+    }
+
+    /**
+     * Registers the embedding meters of a model and scope.
+     *
+     * @param tags The model and scope tags.
+     * @return The meters.
+     */
+    private EmbeddingMeters embeddingMeters(Tags tags) {
+        return new EmbeddingMeters(
+                tags,
+                DistributionSummary.builder("gigachat.embedding.request.texts")
+                        .description("Количество текстов в запросе эмбеддингов")
+                        .tags(tags)
+                        .register(meterRegistry));
+    }
+
+    private static Tags tags(String model, GigaChatApi.Scope scope) {
+        return Tags.of("model", String.valueOf(model), "scope", scope(scope));
+    }
+
+    private static String scope(GigaChatApi.Scope scope) {
+        return Objects.isNull(scope) ? UNKNOWN_SCOPE : scope.name();
+    }
+
+    /**
+     * Recording of a chat request, either synchronous or streaming.
+     */
+    public static class ChatRecording {
+
+        /**
+         * The meters of the model and scope.
+         */
+        private final ChatMeters meters;
+
+        /**
+         * The time the request started, in {@link System#nanoTime()} units.
+         */
+        private final long startedAt = System.nanoTime();
+
+        /**
+         * Whether the recording was stopped.
+         */
+        private final AtomicBoolean stopped = new AtomicBoolean();
+
+        /**
+         * The time of the first chunk, or {@code 0} if none arrived yet.
+         */
+        private volatile long firstChunkAt;
+
+        /**
+         * The time of the latest chunk.
+         */
+        private volatile long lastChunkAt;
+
+        /**
+         * The latest number of completion tokens reported by the response.
+         */
+        private volatile int completionTokens;
+
+        private ChatRecording(ChatMeters meters) {
+            this.meters = meters;
+        }
+
+        /**
+         * Records a chunk of a streaming response, or the complete response of a synchronous request.
+         *
+         * @param chunk The chunk.
+         */
+        public void chunk(GigaChatChatResponse chunk) {
+            long now = System.nanoTime();
+            if (firstChunkAt == 0) {
+                firstChunkAt = now;
+                meters.ttft().record(now - startedAt, TimeUnit.NANOSECONDS);
+            } else {
+                meters.chunkInterval().record(now - lastChunkAt, TimeUnit.NANOSECONDS);
+            }
+            lastChunkAt = now;
+            if (Objects.nonNull(chunk) && Objects.nonNull(chunk.getUsage()) && Objects.nonNull(chunk.getUsage().getCompletionTokens())) {
+                completionTokens = chunk.getUsage().getCompletionTokens();
+            }
+        }
+
+        /**
+         * Stops the recording, reporting the generation rate if tokens were generated. Later calls have no effect.
+         */
+        public void stop() {
+            if (!stopped.compareAndSet(false, true)) {
+                return;
+            }
+            meters.active().decrementAndGet();
+            if (completionTokens > 0 && firstChunkAt != 0) {
+                // The rate of a stream excludes the wait for the first chunk; a single response has no such split.
+                long nanos = lastChunkAt > firstChunkAt ? lastChunkAt - firstChunkAt : lastChunkAt - startedAt;
+                if (nanos > 0) {
+                    meters.tokensRate().record(completionTokens * 1e9 / nanos);
+                }
+            }
+        }
+    }
+
+    /**
+     * Chat meters of a model and scope.
+     *
+     * @param ttft          The time to the first chunk.
+     * @param chunkInterval The time between chunks.
+     * @param tokensRate    The generation rate.
+     * @param active        The number of requests in flight.
+     */
+    private record ChatMeters(Timer ttft, Timer chunkInterval, DistributionSummary tokensRate, AtomicInteger active) {
+    }
+
+    /**
+     * Embedding meters of a model and scope.
+     *
+     * @param tags  The model and scope tags.
+     * @param texts The number of texts per request.
+     */
+    private record EmbeddingMeters(Tags tags, DistributionSummary texts) {
+    }
+}
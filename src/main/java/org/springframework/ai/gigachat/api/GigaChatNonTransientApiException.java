@@ -0,0 +1,39 @@
+package org.springframework.ai.gigachat.api;
+
+import org.springframework.ai.retry.NonTransientAiException;
+
+import java.io.Serial;
+
+/**
+ * Error of the GigaChat API that repeats when the request is repeated, such as {@code 400} or {@code 401}.
+ */
+public class GigaChatNonTransientApiException extends NonTransientAiException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The HTTP status code of the response.
+     */
+    private final int statusCode;
+
+    /**
+     * Constructs a new GigaChatNonTransientApiException.
+     *
+     * @param message    The error message.
+     * @param statusCode The HTTP status code of the response.
+     */
+    public GigaChatNonTransientApiException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Returns the HTTP status code of the response.
+     *
+     * @return The HTTP status code.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,342 @@
+package org.springframework.ai.gigachat.api;
+
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Client-side limiter combining a token bucket, a concurrency cap and an adaptive rate.
+ *
+ * <p>Every request needs a permit, which is granted when a token is available in the bucket and the number of
+ * requests in flight is below the cap. Requests that cannot be served immediately wait in a FIFO queue until
+ * the acquire timeout expires and are then rejected with a {@link TransientAiException}. The refill rate of the
+ * bucket follows AIMD: it grows additively after successful requests and shrinks multiplicatively after a
+ * {@code 429} response or a response slower than the latency threshold.</p>
+ */
+public class GigaChatRateLimiter {
+
+    /**
+     * Timer shared by all limiters to wake waiting requests and expire their timeouts.
+     */
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gigachat-rate-limiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The options of the limiter.
+     */
+    private final GigaChatRateLimiterOptions options;
+
+    /**
+     * Requests waiting for a permit, guarded by {@code this}.
+     */
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+    /**
+     * The current rate in requests per second, guarded by {@code this}.
+     */
+    private double rate;
+
+    /**
+     * The tokens available in the bucket, guarded by {@code this}.
+     */
+    private double tokens;
+
+    /**
+     * The time of the last refill of the bucket, guarded by {@code this}.
+     */
+    private long refilledAt;
+
+    /**
+     * The time of the last rate decrease, guarded by {@code this}.
+     */
+    private long decreasedAt;
+
+    /**
+     * The number of requests in flight, guarded by {@code this}.
+     */
+    private int inFlight;
+
+    /**
+     * The scheduled wake-up of waiting requests, guarded by {@code this}.
+     */
+    private ScheduledFuture<?> scheduledDrain;
+
+    /**
+     * Constructs a new GigaChatRateLimiter.
+     *
+     * @param options The options of the limiter.
+     */
+    public GigaChatRateLimiter(GigaChatRateLimiterOptions options) {
+        Assert.notNull(options, "Настройки ограничителя не могут быть пустыми");
+        Assert.isTrue(options.getMaxConcurrency() > 0, "Число одновременных запросов должно быть положительным");
+        Assert.isTrue(options.getMinRate() > 0 && options.getMinRate() <= options.getMaxRate(), "Некорректные границы частоты запросов");
+        Assert.isTrue(options.getBurst() > 0, "Размер всплеска должен быть положительным");
+
+        this.options = options;
+        this.rate = Math.min(Math.max(options.getInitialRate(), options.getMinRate()), options.getMaxRate());
+        this.tokens = options.getBurst();
+        this.refilledAt = System.nanoTime();
+        this.decreasedAt = refilledAt - options.getDecreaseInterval().toNanos();
+    }
+
+    /**
+     * Requests a permit.
+     *
+     * @return A future completed with the permit, or failed with a {@link TransientAiException} when the request is shed.
+     */
+    public CompletableFuture<Permit> acquire() {
+        Waiter waiter;
+        synchronized (this) {
+            if (waiters.isEmpty() && tryTake()) {
+                return CompletableFuture.completedFuture(new Permit());
+            }
+            if (options.getAcquireTimeout().isZero() || waiters.size() >= options.getMaxQueueSize()) {
+                return CompletableFuture.failedFuture(new TransientAiException("Превышен лимит запросов к GigaChat"));
+            }
+
+            waiter = new Waiter(new CompletableFuture<>());
+            waiters.addLast(waiter);
+            scheduleDrain();
+        }
+
+        waiter.timeout = TIMER.schedule(() -> expire(waiter), options.getAcquireTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        waiter.result.whenComplete((permit, e) -> {
+            if (e instanceof CancellationException) {
+                synchronized (this) {
+                    waiters.remove(waiter);
+                }
+            }
+        });
+        return waiter.result;
+    }
+
+    /**
+     * Requests a permit, blocking the calling thread until it is granted.
+     *
+     * @return The permit.
+     */
+    public Permit acquireBlocking() {
+        try {
+            return acquire().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Requests a permit without blocking. Cancelling the subscription removes the request from the queue.
+     *
+     * @return A {@link Mono} emitting the permit.
+     */
+    public Mono<Permit> acquireAsync() {
+        return Mono.defer(() -> Mono.fromFuture(acquire()));
+    }
+
+    /**
+     * Returns the current rate.
+     *
+     * @return The current rate in requests per second.
+     */
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    /**
+     * Returns the number of requests in flight.
+     *
+     * @return The number of requests in flight.
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns the number of requests waiting for a permit.
+     *
+     * @return The number of waiting requests.
+     */
+    public synchronized int getQueueSize() {
+        return waiters.size();
+    }
+
+    /**
+     * Takes a token and a concurrency slot if both are available. Must be called while holding the lock.
+     *
+     * @return {@code true} if the permit was granted.
+     */
+    private boolean tryTake() {
+        long now = System.nanoTime();
+        tokens = Math.min(options.getBurst(), tokens + (now - refilledAt) * rate / TimeUnit.SECONDS.toNanos(1));
+        refilledAt = now;
+        if (inFlight < options.getMaxConcurrency() && tokens >= 1) {
+            tokens -= 1;
+            inFlight++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Grants permits to the waiting requests in FIFO order.
+     */
+    private void drain() {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            scheduledDrain = null;
+            while (!waiters.isEmpty() && tryTake()) {
+                granted.add(waiters.pollFirst());
+            }
+            if (!waiters.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        for (Waiter waiter : granted) {
+            waiter.timeout.cancel(false);
+            Permit permit = new Permit();
+            if (!waiter.result.complete(permit)) {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * Schedules a wake-up for the moment the next token becomes available. Must be called while holding the lock.
+     * When all concurrency slots are taken the wake-up happens on release instead.
+     */
+    private void scheduleDrain() {
+        if (Objects.nonNull(scheduledDrain) || inFlight >= options.getMaxConcurrency()) {
+            return;
+        }
+        long delay = (long) Math.ceil(Math.max(0, 1 - tokens) * TimeUnit.SECONDS.toNanos(1) / rate);
+        scheduledDrain = TIMER.schedule(this::drain, delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Rejects a request that has waited longer than the acquire timeout.
+     *
+     * @param waiter The waiting request.
+     */
+    private void expire(Waiter waiter) {
+        boolean removed;
+        synchronized (this) {
+            removed = waiters.remove(waiter);
+        }
+        if (removed) {
+            waiter.result.completeExceptionally(new TransientAiException("Истекло время ожидания лимита запросов к GigaChat"));
+        }
+    }
+
+    /**
+     * Returns a concurrency slot and adapts the rate to the outcome of the request.
+     *
+     * @param latencyNanos The latency of the request, or {@code -1} if it is unknown.
+     * @param throttled    Whether the request was rejected with {@code 429}.
+     * @param failed       Whether the request failed for another reason.
+     */
+    private void onRelease(long latencyNanos, boolean throttled, boolean failed) {
+        synchronized (this) {
+            inFlight--;
+            Long threshold = Objects.isNull(options.getLatencyThreshold()) ? null : options.getLatencyThreshold().toNanos();
+            if (throttled || (!failed && Objects.nonNull(threshold) && latencyNanos > threshold)) {
+                long now = System.nanoTime();
+                if (now - decreasedAt >= options.getDecreaseInterval().toNanos()) {
+                    rate = Math.max(options.getMinRate(), rate * options.getMultiplicativeDecrease());
+                    decreasedAt = now;
+                }
+            } else if (!failed && latencyNanos >= 0) {
+                rate = Math.min(options.getMaxRate(), rate + options.getAdditiveIncrease());
+            }
+        }
+        drain();
+    }
+
+    /**
+     * A request waiting for a permit.
+     */
+    private static final class Waiter {
+        private final CompletableFuture<Permit> result;
+        private volatile ScheduledFuture<?> timeout;
+
+        private Waiter(CompletableFuture<Permit> result) {
+            this.result = result;
+        }
+    }
+
+    /**
+     * Permission to send one request. The permit must be released exactly once when the request completes.
+     */
+    public final class Permit {
+        private final long acquiredAt = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile long respondedAt;
+        private volatile boolean throttled;
+
+        private Permit() {
+        }
+
+        /**
+         * Marks the arrival of the first part of the response, so that the latency of a streaming request is
+         * measured up to its first chunk rather than to its end.
+         */
+        public void responded() {
+            if (respondedAt == 0) {
+                respondedAt = System.nanoTime();
+            }
+        }
+
+        /**
+         * Marks the request as rejected by the server with {@code 429 Too Many Requests}.
+         */
+        public void throttled() {
+            this.throttled = true;
+        }
+
+        /**
+         * Releases the permit after a successful request.
+         */
+        public void success() {
+            if (released.compareAndSet(false, true)) {
+                onRelease((respondedAt == 0 ? System.nanoTime() : respondedAt) - acquiredAt, throttled, false);
+            }
+        }
+
+        /**
+         * Releases the permit after a failed request.
+         */
+        public void failure() {
+            if (released.compareAndSet(false, true)) {
+                onRelease(-1, throttled, true);
+            }
+        }
+
+        /**
+         * Releases the permit without affecting the rate, for requests that were never sent.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                onRelease(-1, false, true);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.springframework.ai.gigachat.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Options of a {@link GigaChatRateLimiter}.
+ */
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class GigaChatRateLimiterOptions {
+
+    /**
+     * The maximum number of requests in flight.
+     */
+    @Builder.Default
+    private int maxConcurrency = 10;
+
+    /**
+     * The initial number of requests per second.
+     */
+    @Builder.Default
+    private double initialRate = 5;
+
+    /**
+     * The lower bound of the adaptive rate, in requests per second.
+     */
+    @Builder.Default
+    private double minRate = 0.5;
+
+    /**
+     * The upper bound of the adaptive rate, in requests per second.
+     */
+    @Builder.Default
+    private double maxRate = 50;
+
+    /**
+     * The number of requests that may be sent in a burst after an idle period.
+     */
+    @Builder.Default
+    private int burst = 5;
+
+    /**
+     * The rate added after every successful request, in requests per second.
+     */
+    @Builder.Default
+    private double additiveIncrease = 0.1;
+
+    /**
+     * The factor the rate is multiplied by after a throttled or slow request.
+     */
+    @Builder.Default
+    private double multiplicativeDecrease = 0.5;
+
+    /**
+     * The minimum time between two rate decreases, so that one burst of throttled responses decreases the rate once.
+     */
+    @Builder.Default
+    private Duration decreaseInterval = Duration.ofSeconds(1);
+
+    /**
+     * The latency above which a successful request is treated as a congestion signal, or {@code null} to ignore latency.
+     */
+    private Duration latencyThreshold;
+
+    /**
+     * The maximum time a request waits for a permit; {@link Duration#ZERO} sheds requests immediately.
+     */
+    @Builder.Default
+    private Duration acquireTimeout = Duration.ofSeconds(30);
+
+    /**
+     * The maximum number of requests waiting for a permit.
+     */
+    @Builder.Default
+    private int maxQueueSize = 1000;
+}
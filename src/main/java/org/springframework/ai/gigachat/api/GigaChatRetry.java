@@ -0,0 +1,238 @@
+package org.springframework.ai.gigachat.api;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.backoff.BackOffContext;
+import org.springframework.retry.backoff.BackOffInterruptedException;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.util.Assert;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Retries GigaChat API calls that failed with a transient error.
+ *
+ * <p>Responses with {@code 408}, {@code 429} and {@code 5xx} statuses as well as connection failures are retried
+ * with an exponential backoff and jitter, unless the server names the delay in the {@code Retry-After} header.
+ * Synchronous calls are retried by a {@link RetryTemplate}; a stream is retried only until its first element,
+ * so that no element is ever delivered twice. Every attempt is counted in {@code gigachat.api.attempts} and every
+ * call that ran out of attempts in {@code gigachat.api.retries.exhausted}, both tagged with the operation.</p>
+ */
+public class GigaChatRetry {
+
+    /**
+     * The options of the retry.
+     */
+    private final GigaChatRetryOptions options;
+
+    /**
+     * The template retrying synchronous calls.
+     */
+    private final RetryTemplate retryTemplate;
+
+    /**
+     * The registry of the attempt counters.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a new GigaChatRetry reporting to the global meter registry.
+     *
+     * @param options The options of the retry.
+     */
+    public GigaChatRetry(GigaChatRetryOptions options) {
+        this(options, Metrics.globalRegistry);
+    }
+
+    /**
+     * Constructs a new GigaChatRetry.
+     *
+     * @param options       The options of the retry.
+     * @param meterRegistry The registry of the attempt counters.
+     */
+    public GigaChatRetry(GigaChatRetryOptions options, MeterRegistry meterRegistry) {
+        Assert.notNull(options, "Настройки повторов не могут быть пустыми");
+        Assert.isTrue(options.getMaxAttempts() > 0, "Число попыток должно быть положительным");
+        Assert.notNull(meterRegistry, "Реестр метрик не может быть пустым");
+        this.options = options;
+        this.meterRegistry = meterRegistry;
+
+        this.retryTemplate = new RetryTemplate();
+        this.retryTemplate.setRetryPolicy(new SimpleRetryPolicy(options.getMaxAttempts()) {
+            @Override
+            public boolean canRetry(RetryContext context) {
+                Throwable last = context.getLastThrowable();
+                return super.canRetry(context) && (Objects.isNull(last) || isRetryable(last));
+            }
+        });
+        this.retryTemplate.setBackOffPolicy(new RetryBackOffPolicy());
+        this.retryTemplate.setThrowLastExceptionOnExhausted(true);
+    }
+
+    /**
+     * Executes a synchronous call, retrying it after transient errors.
+     *
+     * @param operation The name of the operation, used as a metric tag.
+     * @param call      The call.
+     * @param <T>       The type of the result.
+     * @return The result of the call.
+     */
+    public <T> T execute(String operation, Supplier<T> call) {
+        try {
+            return retryTemplate.execute(context -> {
+                countAttempt(operation, context.getRetryCount());
+                return call.get();
+            });
+        } catch (RuntimeException e) {
+            if (isRetryable(e)) {
+                countExhausted(operation);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Retries a stream after transient errors that happen before its first element.
+     *
+     * @param operation The name of the operation, used as a metric tag.
+     * @param source    The stream, subscribed again on every attempt.
+     * @param <T>       The type of the elements.
+     * @return The retried stream.
+     */
+    public <T> Flux<T> retryBeforeFirst(String operation, Flux<T> source) {
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            AtomicInteger attempt = new AtomicInteger();
+            return Flux.defer(() -> {
+                        countAttempt(operation, attempt.getAndIncrement());
+                        return source;
+                    })
+                    .doOnNext(item -> emitted.set(true))
+                    .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                        Throwable e = signal.failure();
+                        int retry = (int) signal.totalRetries() + 1;
+                        if (emitted.get() || !isRetryable(e)) {
+                            return Mono.error(e);
+                        }
+                        if (retry >= options.getMaxAttempts()) {
+                            countExhausted(operation);
+                            return Mono.error(e);
+                        }
+                        return Mono.delay(delay(e, retry));
+                    })));
+        });
+    }
+
+    /**
+     * Checks whether a failed call may succeed when repeated.
+     *
+     * @param e The error of the call.
+     * @return {@code true} for transient errors, with statuses only within the {@code Retry-After} limit.
+     */
+    public boolean isRetryable(Throwable e) {
+        if (e instanceof GigaChatTransientApiException transientError) {
+            return Objects.isNull(transientError.getRetryAfter()) || transientError.getRetryAfter().compareTo(options.getMaxRetryAfter()) <= 0;
+        }
+        return isTransient(e);
+    }
+
+    /**
+     * Checks whether an error is transient, so the call may succeed later or on another endpoint.
+     *
+     * @param e The error of the call.
+     * @return {@code true} for transient statuses, rate limiter timeouts and connection failures.
+     */
+    public static boolean isTransient(Throwable e) {
+        return e instanceof TransientAiException || e instanceof ResourceAccessException || e instanceof WebClientRequestException;
+    }
+
+    /**
+     * Computes the delay before a retry.
+     *
+     * @param e     The error of the previous attempt.
+     * @param retry The number of the retry, starting with {@code 1}.
+     * @return The {@code Retry-After} delay if the server sent one, otherwise the jittered exponential backoff.
+     */
+    Duration delay(Throwable e, int retry) {
+        if (e instanceof GigaChatTransientApiException transientError && Objects.nonNull(transientError.getRetryAfter())) {
+            return transientError.getRetryAfter();
+        }
+
+        double backoff = Math.min(options.getMaxInterval().toMillis(), options.getInitialInterval().toMillis() * Math.pow(options.getMultiplier(), retry - 1));
+        double jittered = backoff * (1 - options.getJitter() * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis((long) jittered);
+    }
+
+    /**
+     * Counts an attempt of an operation.
+     *
+     * @param operation The name of the operation.
+     * @param retry     The number of previous attempts.
+     */
+    private void countAttempt(String operation, int retry) {
+        Counter.builder("gigachat.api.attempts")
+                .description("Попытки вызова GigaChat API")
+                .tag("operation", operation)
+                .tag("attempt", retry == 0 ? "initial" : "retry")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Counts a call that failed with a transient error after all attempts.
+     *
+     * @param operation The name of the operation.
+     */
+    private void countExhausted(String operation) {
+        Counter.builder("gigachat.api.retries.exhausted")
+                .description("Вызовы GigaChat API, исчерпавшие попытки")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Backoff of the {@link RetryTemplate} based on the error of the previous attempt.
+     */
+    private class RetryBackOffPolicy implements BackOffPolicy {
+
+        @Override
+        public BackOffContext start(RetryContext context) {
+            return new RetryBackOffContext(context);
+        }
+
+        @Override
+        public void backOff(BackOffContext backOffContext) throws BackOffInterruptedException {
+            RetryContext context = ((RetryBackOffContext) backOffContext).retryContext();
+            try {
+                Thread.sleep(delay(context.getLastThrowable(), context.getRetryCount()).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BackOffInterruptedException("Ожидание повтора прервано", e);
+            }
+        }
+    }
+
+    /**
+     * Backoff state holding the context of the retried call.
+     *
+     * @param retryContext The context of the retried call.
+     */
+    private record RetryBackOffContext(RetryContext retryContext) implements BackOffContext {
+    }
+}
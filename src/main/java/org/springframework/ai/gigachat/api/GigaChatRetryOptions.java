@@ -0,0 +1,54 @@
+package org.springframework.ai.gigachat.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Options of {@link GigaChatRetry}.
+ */
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class GigaChatRetryOptions {
+
+    /**
+     * The maximum number of attempts, including the first one.
+     */
+    @Builder.Default
+    private int maxAttempts = 3;
+
+    /**
+     * The delay before the first retry.
+     */
+    @Builder.Default
+    private Duration initialInterval = Duration.ofMillis(500);
+
+    /**
+     * The factor the delay is multiplied by after every retry.
+     */
+    @Builder.Default
+    private double multiplier = 2;
+
+    /**
+     * The upper bound of the delay between retries.
+     */
+    @Builder.Default
+    private Duration maxInterval = Duration.ofSeconds(10);
+
+    /**
+     * The fraction of the delay that is randomized, from {@code 0} for no jitter to {@code 1} for full jitter.
+     */
+    @Builder.Default
+    private double jitter = 0.5;
+
+    /**
+     * The longest {@code Retry-After} delay that is waited for; responses asking for longer delays are not retried.
+     */
+    @Builder.Default
+    private Duration maxRetryAfter = Duration.ofSeconds(60);
+}
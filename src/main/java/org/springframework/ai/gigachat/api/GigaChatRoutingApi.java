@@ -0,0 +1,689 @@
+package org.springframework.ai.gigachat.api;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.ai.gigachat.api.model.GigaChatChatRequest;
+import org.springframework.ai.gigachat.api.model.GigaChatChatResponse;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingMatrix;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingRequest;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * GigaChat API routing requests over several endpoints, such as different base URLs or different credentials.
+ *
+ * <p>By default every request is sent to the healthiest available endpoint: the one with the lowest moving average
+ * of the latency, scaled up by its requests in flight and its error rate. Least-outstanding and weighted round-robin
+ * balancing are available as well. A request failed with a transient error or a connection failure is repeated on
+ * the next endpoint; a stream is repeated only until its first element. Every endpoint has a circuit breaker, so an
+ * endpoint that keeps failing is left alone for a while, and an endpoint answering {@code 429} cools down for the
+ * {@code Retry-After} delay while the others keep serving.</p>
+ *
+ * <p>With hedging enabled, a synchronous chat or embedding request that has not completed within the configured
+ * percentile of recent latencies is duplicated on the next endpoint; the first response wins and the other request
+ * is cancelled. Only idempotent operations are hedged, and at most one duplicate is sent per request.</p>
+ *
+ * <p>Latencies are recorded per endpoint in the {@code gigachat.api.endpoint.latency} histogram, tagged with the
+ * endpoint, the operation and the outcome. Rate limits are configured on the endpoint instances; the limiter of the
+ * router itself is not used. The retry of the router, disabled by default, repeats a request that failed on every
+ * endpoint, such as when all of them answered {@code 429}. Disabling the retries of the endpoints lets a failed
+ * request move to the next endpoint at once.</p>
+ */
+public class GigaChatRoutingApi extends GigaChatApi {
+
+    private static final String CHAT = "chat";
+    private static final String STREAM = "stream";
+    private static final String EMBED = "embed";
+
+    /**
+     * The number of threads created by the hedging executor.
+     */
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    /**
+     * Executor running hedged requests: they block on I/O, so threads are created on demand.
+     */
+    private static final ExecutorService HEDGE_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "gigachat-hedge-" + THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The endpoints in the order they were given.
+     */
+    private final List<GigaChatEndpoint> endpoints;
+
+    /**
+     * The options of the router.
+     */
+    private final GigaChatRoutingOptions options;
+
+    /**
+     * The registry of the routing metrics.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The number of least-outstanding choices, rotating the order of equally loaded endpoints.
+     */
+    private final AtomicInteger turn = new AtomicInteger();
+
+    /**
+     * Recent latencies of the hedged operations.
+     */
+    private final Map<String, LatencyWindow> latencies;
+
+    /**
+     * Constructs a new GigaChatRoutingApi reporting to the global meter registry.
+     *
+     * @param endpoints The API instances by endpoint name, in the order of preference for equally healthy endpoints.
+     * @param options   The options of the router.
+     */
+    public GigaChatRoutingApi(Map<String, GigaChatApi> endpoints, GigaChatRoutingOptions options) {
+        this(endpoints, options, Metrics.globalRegistry);
+    }
+
+    /**
+     * Constructs a new GigaChatRoutingApi.
+     *
+     * @param endpoints     The API instances by endpoint name, in the order of preference for equally healthy endpoints.
+     * @param options       The options of the router.
+     * @param meterRegistry The registry of the routing metrics.
+     */
+    public GigaChatRoutingApi(Map<String, GigaChatApi> endpoints, GigaChatRoutingOptions options, MeterRegistry meterRegistry) {
+        Assert.isTrue(!CollectionUtils.isEmpty(endpoints), "Список точек подключения не может быть пустым");
+        Assert.notNull(options, "Настройки маршрутизации не могут быть пустыми");
+        Assert.isTrue(options.getFailureThreshold() > 0, "Порог ошибок должен быть положительным");
+        Assert.isTrue(Objects.nonNull(options.getOpenDuration()) && !options.getOpenDuration().isNegative(), "Время размыкания цепи не может быть отрицательным");
+        Assert.isTrue(options.getSmoothing() > 0 && options.getSmoothing() <= 1, "Коэффициент сглаживания должен быть в интервале (0, 1]");
+        Assert.isTrue(options.getHedgePercentile() > 0 && options.getHedgePercentile() < 1, "Перцентиль дублирования должен быть в интервале (0, 1)");
+        Assert.isTrue(options.getLatencyWindow() > 0 && options.getHedgeMinSamples() <= options.getLatencyWindow(), "Окно задержек должно вмещать минимальное число замеров");
+        Assert.notNull(options.getMinHedgeDelay(), "Минимальная задержка дублирования не может быть пустой");
+        Assert.notNull(options.getBalancing(), "Способ балансировки не может быть пустым");
+        Assert.notNull(options.getThrottleCooldown(), "Время ожидания после 429 не может быть пустым");
+        Assert.isTrue(Objects.nonNull(options.getWeights()) && options.getWeights().values().stream().allMatch(weight -> Objects.nonNull(weight) && weight > 0), "Веса точек подключения должны быть положительными");
+        Assert.notNull(meterRegistry, "Реестр метрик не может быть пустым");
+
+        this.options = options;
+        this.meterRegistry = meterRegistry;
+        this.endpoints = endpoints.entrySet().stream()
+                .map(endpoint -> {
+                    Assert.notNull(endpoint.getValue(), "Точка подключения не может быть пустой");
+                    return new GigaChatEndpoint(endpoint.getKey(), endpoint.getValue(), options, meterRegistry);
+                })
+                .toList();
+        this.latencies = Map.of(CHAT, new LatencyWindow(options.getLatencyWindow()), EMBED, new LatencyWindow(options.getLatencyWindow()));
+    }
+
+    /**
+     * Sends a chat request to the healthiest endpoint, hedging it if enabled.
+     *
+     * @param chatRequest The chat request object.
+     * @return The response from the GigaChat API.
+     */
+    @Override
+    public GigaChatChatResponse chat(GigaChatChatRequest chatRequest) {
+        Assert.notNull(chatRequest, REQUEST_BODY_NULL_ERROR);
+        return retried(CHAT, () -> route(CHAT, api -> api.chat(chatRequest)));
+    }
+
+    /**
+     * Sends a streaming chat request to the healthiest endpoint, moving to the next endpoint if the stream fails
+     * before its first element.
+     *
+     * @param chatRequest The chat request object.
+     * @return A Flux of responses from the GigaChat API.
+     */
+    @Override
+    public Flux<GigaChatChatResponse> streamingChat(GigaChatChatRequest chatRequest) {
+        Assert.notNull(chatRequest, REQUEST_BODY_NULL_ERROR);
+        return retriedBeforeFirst(STREAM, Flux.defer(() -> stream(candidates().iterator(), chatRequest, null)));
+    }
+
+    /**
+     * Sends an embedding request to the healthiest endpoint, hedging it if enabled.
+     *
+     * @param embeddingsRequest The embedding request object.
+     * @return The response from the GigaChat API.
+     */
+    @Override
+    public GigaChatEmbeddingResponse embed(GigaChatEmbeddingRequest embeddingsRequest) {
+        Assert.notNull(embeddingsRequest, REQUEST_BODY_NULL_ERROR);
+        return retried(EMBED, () -> route(EMBED, api -> api.embed(embeddingsRequest)));
+    }
+
+    /**
+     * Sends an embedding request to the healthiest endpoint without blocking the subscribing thread.
+     * The request is not hedged.
+     *
+     * @param embeddingsRequest The embedding request object.
+     * @return A {@link Mono} emitting the response from the GigaChat API.
+     */
+    @Override
+    public Mono<GigaChatEmbeddingResponse> embedAsync(GigaChatEmbeddingRequest embeddingsRequest) {
+        Assert.notNull(embeddingsRequest, REQUEST_BODY_NULL_ERROR);
+        return retriedBeforeFirst(EMBED, Mono.defer(() -> embedAsync(candidates().iterator(), embeddingsRequest, null)).flux()).next();
+    }
+
+    /**
+     * Sends an embedding request to the healthiest endpoint, hedging it if enabled, and decodes the embeddings
+     * into a contiguous matrix.
+     *
+     * @param embeddingsRequest The embedding request object.
+     * @return The embeddings, one row per input text in request order.
+     */
+    @Override
+    public GigaChatEmbeddingMatrix embedMatrix(GigaChatEmbeddingRequest embeddingsRequest) {
+        Assert.notNull(embeddingsRequest, REQUEST_BODY_NULL_ERROR);
+        return retried(EMBED, () -> route(EMBED, api -> api.embedMatrix(embeddingsRequest)));
+    }
+
+    /**
+     * Sets the metrics receiving the latencies of the token refreshes of all endpoints.
+     *
+     * @param metrics The metrics, or {@code null} to stop reporting.
+     */
+    @Override
+    public void setMetrics(GigaChatMetrics metrics) {
+        endpoints.forEach(endpoint -> endpoint.api().setMetrics(metrics));
+    }
+
+    /**
+     * Sends a synchronous request, hedging it when enabled and enough latencies are known.
+     *
+     * @param operation The name of the operation.
+     * @param call      The request sent to an endpoint.
+     * @param <T>       The type of the response.
+     * @return The response.
+     */
+    private <T> T route(String operation, Function<GigaChatApi, T> call) {
+        List<GigaChatEndpoint> candidates = candidates();
+        long hedgeDelay = options.isHedging() && candidates.size() > 1 ? latencies.get(operation).percentile(options.getHedgePercentile(), options.getHedgeMinSamples()) : -1;
+        if (hedgeDelay < 0) {
+            return failover(operation, candidates, call);
+        }
+        return hedged(operation, candidates, call, Math.max(hedgeDelay, options.getMinHedgeDelay().toNanos()));
+    }
+
+    /**
+     * Sends a synchronous request on the calling thread, moving to the next endpoint after a transient error.
+     *
+     * @param operation  The name of the operation.
+     * @param candidates The endpoints in the order of preference.
+     * @param call       The request sent to an endpoint.
+     * @param <T>        The type of the response.
+     * @return The response.
+     */
+    private <T> T failover(String operation, List<GigaChatEndpoint> candidates, Function<GigaChatApi, T> call) {
+        Iterator<GigaChatEndpoint> remaining = candidates.iterator();
+        RuntimeException failure = null;
+        for (GigaChatEndpoint endpoint = acquire(remaining); Objects.nonNull(endpoint); endpoint = acquire(remaining)) {
+            Attempt<T> attempt = execute(endpoint, operation, call, false);
+            if (Objects.isNull(attempt.error())) {
+                return attempt.response();
+            }
+            if (!isFailover(attempt.error())) {
+                throw attempt.error();
+            }
+            failure = attempt.error();
+        }
+        throw Objects.nonNull(failure) ? failure : unavailable();
+    }
+
+    /**
+     * Sends a synchronous request on the hedging executor and duplicates it on the next endpoint if it is slow.
+     *
+     * @param operation  The name of the operation.
+     * @param candidates The endpoints in the order of preference.
+     * @param call       The request sent to an endpoint.
+     * @param hedgeDelay The time in nanoseconds after which the request is duplicated.
+     * @param <T>        The type of the response.
+     * @return The response of the first successful request.
+     */
+    private <T> T hedged(String operation, List<GigaChatEndpoint> candidates, Function<GigaChatApi, T> call, long hedgeDelay) {
+        Iterator<GigaChatEndpoint> remaining = candidates.iterator();
+        BlockingQueue<Attempt<T>> completed = new LinkedBlockingQueue<>();
+        List<Running> attempts = new ArrayList<>(2);
+        RuntimeException failure = null;
+        boolean hedged = false;
+        int running = 0;
+        try {
+            while (true) {
+                if (running == 0) {
+                    GigaChatEndpoint endpoint = acquire(remaining);
+                    if (Objects.isNull(endpoint)) {
+                        throw Objects.nonNull(failure) ? failure : unavailable();
+                    }
+                    attempts.add(submit(endpoint, operation, call, false, completed));
+                    running++;
+                }
+
+                Attempt<T> attempt = hedged || !remaining.hasNext() ? completed.take() : completed.poll(hedgeDelay, TimeUnit.NANOSECONDS);
+                if (Objects.isNull(attempt)) {
+                    hedged = true;
+                    GigaChatEndpoint endpoint = acquire(remaining);
+                    if (Objects.nonNull(endpoint)) {
+                        count("gigachat.api.hedges", "Дублированные запросы к GigaChat API", operation);
+                        attempts.add(submit(endpoint, operation, call, true, completed));
+                        running++;
+                    }
+                    continue;
+                }
+
+                running--;
+                if (Objects.isNull(attempt.error())) {
+                    if (attempt.hedge()) {
+                        count("gigachat.api.hedges.won", "Дублированные запросы, ответившие первыми", operation);
+                    }
+                    return attempt.response();
+                }
+                if (!isFailover(attempt.error())) {
+                    throw attempt.error();
+                }
+                failure = attempt.error();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание ответа GigaChat прервано", e);
+        } finally {
+            attempts.forEach(Running::cancel);
+        }
+    }
+
+    /**
+     * Submits a synchronous request to the hedging executor.
+     *
+     * @param endpoint  The endpoint reserved for the request.
+     * @param operation The name of the operation.
+     * @param call      The request.
+     * @param hedge     Whether the request duplicates a slow one.
+     * @param completed The queue receiving the outcome of the request.
+     * @param <T>       The type of the response.
+     * @return The running request.
+     */
+    private <T> Running submit(GigaChatEndpoint endpoint, String operation, Function<GigaChatApi, T> call, boolean hedge, BlockingQueue<Attempt<T>> completed) {
+        AtomicBoolean started = new AtomicBoolean();
+        Future<?> future = HEDGE_EXECUTOR.submit(() -> {
+            if (started.compareAndSet(false, true)) {
+                completed.add(execute(endpoint, operation, call, hedge));
+            }
+        });
+        return new Running(endpoint, operation, future, started);
+    }
+
+    /**
+     * Sends a synchronous request to an endpoint and records its outcome.
+     *
+     * @param endpoint  The endpoint reserved for the request.
+     * @param operation The name of the operation.
+     * @param call      The request.
+     * @param hedge     Whether the request duplicates a slow one.
+     * @param <T>       The type of the response.
+     * @return The response or the error of the request.
+     */
+    private <T> Attempt<T> execute(GigaChatEndpoint endpoint, String operation, Function<GigaChatApi, T> call, boolean hedge) {
+        long start = System.nanoTime();
+        try {
+            T response = call.apply(endpoint.api());
+            long latency = System.nanoTime() - start;
+            endpoint.success(operation, latency, "success");
+            latencies.get(operation).record(latency);
+            return new Attempt<>(response, null, hedge);
+        } catch (RuntimeException e) {
+            long latency = System.nanoTime() - start;
+            if (Thread.interrupted()) {
+                endpoint.cancelled(operation, latency);
+            } else {
+                failed(endpoint, operation, latency, e);
+            }
+            return new Attempt<>(null, e, hedge);
+        }
+    }
+
+    /**
+     * Streams a chat response from the next endpoint, moving on if the stream fails before its first element.
+     *
+     * @param remaining   The endpoints not tried yet, in the order of preference.
+     * @param chatRequest The chat request object.
+     * @param failure     The error of the previous endpoint, or {@code null} for the first one.
+     * @return A Flux of responses from the GigaChat API.
+     */
+    private Flux<GigaChatChatResponse> stream(Iterator<GigaChatEndpoint> remaining, GigaChatChatRequest chatRequest, Throwable failure) {
+        GigaChatEndpoint endpoint = acquire(remaining);
+        if (Objects.isNull(endpoint)) {
+            return Flux.error(Objects.nonNull(failure) ? failure : unavailable());
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean emitted = new AtomicBoolean();
+        return endpoint.api().streamingChat(chatRequest)
+                .doOnNext(chunk -> {
+                    // The latency is that of the first chunk, but the stream stays outstanding until it terminates.
+                    if (emitted.compareAndSet(false, true)) {
+                        endpoint.responded(STREAM, System.nanoTime() - start, "success");
+                    }
+                })
+                .doOnError(e -> {
+                    if (!emitted.get()) {
+                        failed(endpoint, STREAM, System.nanoTime() - start, e);
+                    }
+                })
+                .doFinally(signal -> {
+                    if (emitted.get()) {
+                        endpoint.release();
+                    } else if (signal == SignalType.CANCEL) {
+                        endpoint.cancelled(STREAM, System.nanoTime() - start);
+                    } else if (signal == SignalType.ON_COMPLETE) {
+                        endpoint.success(STREAM, System.nanoTime() - start, "success");
+                    }
+                })
+                .onErrorResume(e -> !emitted.get() && isFailover(e), e -> stream(remaining, chatRequest, e));
+    }
+
+    /**
+     * Sends an embedding request to the next endpoint on the reactive client, moving on after a transient error.
+     *
+     * @param remaining         The endpoints not tried yet, in the order of preference.
+     * @param embeddingsRequest The embedding request object.
+     * @param failure           The error of the previous endpoint, or {@code null} for the first one.
+     * @return A {@link Mono} emitting the response from the GigaChat API.
+     */
+    private Mono<GigaChatEmbeddingResponse> embedAsync(Iterator<GigaChatEndpoint> remaining, GigaChatEmbeddingRequest embeddingsRequest, Throwable failure) {
+        GigaChatEndpoint endpoint = acquire(remaining);
+        if (Objects.isNull(endpoint)) {
+            return Mono.error(Objects.nonNull(failure) ? failure : unavailable());
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean completed = new AtomicBoolean();
+        return endpoint.api().embedAsync(embeddingsRequest)
+                .doOnSuccess(response -> {
+                    if (completed.compareAndSet(false, true)) {
+                        endpoint.success(EMBED, System.nanoTime() - start, "success");
+                    }
+                })
+                .doOnError(e -> {
+                    if (completed.compareAndSet(false, true)) {
+                        failed(endpoint, EMBED, System.nanoTime() - start, e);
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (completed.compareAndSet(false, true)) {
+                        endpoint.cancelled(EMBED, System.nanoTime() - start);
+                    }
+                })
+                .onErrorResume(this::isFailover, e -> embedAsync(remaining, embeddingsRequest, e));
+    }
+
+    /**
+     * Records a failed request: a {@code 429} response puts the endpoint on cooldown, other transient errors count
+     * against its circuit, and the remaining errors are blamed on the request rather than the endpoint.
+     *
+     * @param endpoint  The endpoint of the request.
+     * @param operation The name of the operation.
+     * @param nanos     The latency of the request.
+     * @param error     The error of the request.
+     */
+    private void failed(GigaChatEndpoint endpoint, String operation, long nanos, Throwable error) {
+        if (error instanceof GigaChatTransientApiException transientError && transientError.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            endpoint.throttled(operation, nanos, Objects.requireNonNullElse(transientError.getRetryAfter(), options.getThrottleCooldown()));
+        } else if (isFailover(error)) {
+            endpoint.failure(operation, nanos);
+        } else {
+            endpoint.success(operation, nanos, "error");
+        }
+    }
+
+    /**
+     * Orders the available endpoints by their health.
+     *
+     * @return The available endpoints, the healthiest first.
+     */
+    private List<GigaChatEndpoint> candidates() {
+        long now = System.nanoTime();
+        List<GigaChatEndpoint> available = endpoints.stream().filter(endpoint -> endpoint.isAvailable(now)).toList();
+        if (available.size() < 2) {
+            return available;
+        }
+        return switch (options.getBalancing()) {
+            case HEALTH -> rank(available, GigaChatEndpoint::score);
+            case LEAST_OUTSTANDING -> {
+                // Rotating the endpoints first takes equally loaded endpoints in turn, as the sort is stable.
+                int offset = Math.floorMod(turn.getAndIncrement(), available.size());
+                List<GigaChatEndpoint> rotated = new ArrayList<>(available.subList(offset, available.size()));
+                rotated.addAll(available.subList(0, offset));
+                yield rank(rotated, GigaChatEndpoint::load);
+            }
+            case WEIGHTED_ROUND_ROBIN -> {
+                GigaChatEndpoint next = nextWeighted(available);
+                List<GigaChatEndpoint> ranked = new ArrayList<>(available.size());
+                ranked.add(next);
+                rank(available, GigaChatEndpoint::score).stream().filter(endpoint -> endpoint != next).forEach(ranked::add);
+                yield ranked;
+            }
+        };
+    }
+
+    /**
+     * Sorts endpoints by a score.
+     *
+     * @param endpoints The endpoints.
+     * @param score     The score of an endpoint; endpoints with lower scores come first.
+     * @return The sorted endpoints.
+     */
+    private static List<GigaChatEndpoint> rank(List<GigaChatEndpoint> endpoints, ToDoubleFunction<GigaChatEndpoint> score) {
+        // Scores change while requests complete, so they are taken once before sorting.
+        return endpoints.stream()
+                .map(endpoint -> new Candidate(endpoint, score.applyAsDouble(endpoint)))
+                .sorted(Comparator.comparingDouble(Candidate::score))
+                .map(Candidate::endpoint)
+                .toList();
+    }
+
+    /**
+     * Chooses the next endpoint of the smooth weighted round-robin, which spreads the turns of every endpoint evenly
+     * instead of sending its whole weight in a row.
+     *
+     * @param available The available endpoints.
+     * @return The chosen endpoint.
+     */
+    private synchronized GigaChatEndpoint nextWeighted(List<GigaChatEndpoint> available) {
+        GigaChatEndpoint next = null;
+        int nextWeight = Integer.MIN_VALUE;
+        int total = 0;
+        for (GigaChatEndpoint endpoint : available) {
+            int weight = endpoint.advance();
+            total += endpoint.weight();
+            if (weight > nextWeight) {
+                next = endpoint;
+                nextWeight = weight;
+            }
+        }
+        next.chosen(total);
+        return next;
+    }
+
+    /**
+     * Reserves the next endpoint that still accepts a request.
+     *
+     * @param remaining The endpoints not tried yet, in the order of preference.
+     * @return The reserved endpoint, or {@code null} if none is left.
+     */
+    private static GigaChatEndpoint acquire(Iterator<GigaChatEndpoint> remaining) {
+        long now = System.nanoTime();
+        while (remaining.hasNext()) {
+            GigaChatEndpoint endpoint = remaining.next();
+            if (endpoint.tryAcquire(now)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates the error of a request that found no available endpoint.
+     *
+     * @return A transient error asking to retry once the first endpoint becomes available.
+     */
+    private GigaChatTransientApiException unavailable() {
+        long now = System.nanoTime();
+        Duration retryAfter = endpoints.stream()
+                .map(endpoint -> endpoint.remainingUnavailable(now))
+                .min(Comparator.naturalOrder())
+                .orElse(Duration.ZERO);
+        return new GigaChatTransientApiException("Нет доступных точек подключения GigaChat", 503, retryAfter);
+    }
+
+    /**
+     * Checks whether a failed request may succeed on another endpoint.
+     *
+     * @param e The error of the request.
+     * @return {@code true} for transient statuses and connection failures.
+     */
+    private boolean isFailover(Throwable e) {
+        return GigaChatRetry.isTransient(e);
+    }
+
+    /**
+     * Counts an event of an operation.
+     *
+     * @param name        The name of the counter.
+     * @param description The description of the counter.
+     * @param operation   The name of the operation.
+     */
+    private void count(String name, String description, String operation) {
+        Counter.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Outcome of a request sent to an endpoint.
+     *
+     * @param response The response, or {@code null} if the request failed.
+     * @param error    The error, or {@code null} if the request succeeded.
+     * @param hedge    Whether the request duplicated a slow one.
+     * @param <T>      The type of the response.
+     */
+    private record Attempt<T>(T response, RuntimeException error, boolean hedge) {
+    }
+
+    /**
+     * Request running on the hedging executor.
+     *
+     * @param endpoint  The endpoint reserved for the request.
+     * @param operation The name of the operation.
+     * @param future    The future of the request.
+     * @param started   Whether the request was started, or given up before it started.
+     */
+    private record Running(GigaChatEndpoint endpoint, String operation, Future<?> future, AtomicBoolean started) {
+
+        /**
+         * Cancels the request, releasing the endpoint itself if the request never started.
+         */
+        void cancel() {
+            if (started.compareAndSet(false, true)) {
+                future.cancel(false);
+                endpoint.cancelled(operation, 0);
+            } else {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Endpoint with the score it was ranked by.
+     *
+     * @param endpoint The endpoint.
+     * @param score    The score of the endpoint.
+     */
+    private record Candidate(GigaChatEndpoint endpoint, double score) {
+    }
+
+    /**
+     * Ring buffer of recent latencies of an operation.
+     */
+    private static class LatencyWindow {
+
+        /**
+         * The number of new latencies after which the cached percentile is recomputed.
+         */
+        private static final int RECOMPUTE_INTERVAL = 32;
+
+        /**
+         * The latencies in nanoseconds, guarded by {@code this}.
+         */
+        private final long[] samples;
+
+        /**
+         * The number of latencies ever recorded, guarded by {@code this}.
+         */
+        private long count;
+
+        /**
+         * The number of latencies the cached percentile was computed at, guarded by {@code this}.
+         */
+        private long computedAt = -1;
+
+        /**
+         * The cached percentile, guarded by {@code this}.
+         */
+        private long percentile;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long nanos) {
+            samples[(int) (count++ % samples.length)] = nanos;
+        }
+
+        /**
+         * Returns a percentile of the recent latencies.
+         *
+         * @param quantile   The quantile, between {@code 0} and {@code 1}.
+         * @param minSamples The number of latencies required.
+         * @return The percentile in nanoseconds, or {@code -1} if fewer latencies were recorded.
+         */
+        synchronized long percentile(double quantile, int minSamples) {
+            if (count < Math.max(1, minSamples)) {
+                return -1;
+            }
+            if (computedAt < 0 || count - computedAt >= RECOMPUTE_INTERVAL) {
+                long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+                Arrays.sort(sorted);
+                percentile = sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+                computedAt = count;
+            }
+            return percentile;
+        }
+    }
+}
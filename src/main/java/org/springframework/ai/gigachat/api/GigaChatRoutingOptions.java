@@ -0,0 +1,107 @@
+package org.springframework.ai.gigachat.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Options of {@link GigaChatRoutingApi}.
+ */
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class GigaChatRoutingOptions {
+
+    /**
+     * The way requests are distributed over the available endpoints.
+     */
+    @Builder.Default
+    private Balancing balancing = Balancing.HEALTH;
+
+    /**
+     * The weights of the endpoints by name, used by the weighted balancing modes; missing endpoints have the weight {@code 1}.
+     */
+    @Builder.Default
+    private Map<String, Integer> weights = Map.of();
+
+    /**
+     * The time an endpoint answering {@code 429} without a {@code Retry-After} header is left alone.
+     */
+    @Builder.Default
+    private Duration throttleCooldown = Duration.ofSeconds(10);
+
+    /**
+     * The number of consecutive failures after which the circuit of an endpoint opens.
+     */
+    @Builder.Default
+    private int failureThreshold = 5;
+
+    /**
+     * The time an open circuit rejects requests before a single probe request is let through.
+     */
+    @Builder.Default
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * The weight of the latest observation in the moving averages of the latency and the error rate of an endpoint.
+     */
+    @Builder.Default
+    private double smoothing = 0.2;
+
+    /**
+     * Whether a synchronous chat or embedding request that is slower than usual is duplicated on another endpoint.
+     */
+    @Builder.Default
+    private boolean hedging = false;
+
+    /**
+     * The percentile of recent latencies after which a request is duplicated.
+     */
+    @Builder.Default
+    private double hedgePercentile = 0.95;
+
+    /**
+     * The number of latencies that must be observed before requests are duplicated.
+     */
+    @Builder.Default
+    private int hedgeMinSamples = 100;
+
+    /**
+     * The lower bound of the delay before a request is duplicated.
+     */
+    @Builder.Default
+    private Duration minHedgeDelay = Duration.ofMillis(50);
+
+    /**
+     * The number of recent latencies of every operation the hedging percentile is computed over.
+     */
+    @Builder.Default
+    private int latencyWindow = 1024;
+
+    /**
+     * The way requests are distributed over the available endpoints. Whatever the mode, a request that fails
+     * on the chosen endpoint moves on to the healthiest of the others.
+     */
+    public enum Balancing {
+
+        /**
+         * The endpoint with the lowest average latency, scaled up by its requests in flight and its error rate.
+         */
+        HEALTH,
+
+        /**
+         * The endpoint with the fewest requests in flight relative to its weight; ties are taken in turn.
+         */
+        LEAST_OUTSTANDING,
+
+        /**
+         * The endpoints in turn, each as often as its weight, spread evenly over the turns.
+         */
+        WEIGHTED_ROUND_ROBIN
+    }
+}
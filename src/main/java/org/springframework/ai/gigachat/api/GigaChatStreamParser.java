@@ -0,0 +1,219 @@
+package org.springframework.ai.gigachat.api;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.ai.gigachat.api.model.GigaChatChatResponse;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Incremental parser of the server-sent events stream returned by the streaming chat endpoint.
+ *
+ * <p>The parser consumes raw {@link DataBuffer}s, splits them into lines at the byte level and collects the
+ * {@code data} field of every event in a reusable byte array. Completed events are deserialized straight from
+ * that array with a shared {@link ObjectReader}, and the {@code [DONE]} marker is recognized without decoding
+ * the payload to a string. An instance keeps the state of one stream and must not be shared between streams.</p>
+ */
+public class GigaChatStreamParser {
+
+    /**
+     * Shared reader of chat response chunks.
+     */
+    private static final ObjectReader READER = ModelOptionsUtils.OBJECT_MAPPER.readerFor(GigaChatChatResponse.class);
+
+    private static final byte[] DATA_FIELD = {'d', 'a', 't', 'a'};
+    private static final byte[] DONE = {'[', 'D', 'O', 'N', 'E', ']'};
+
+    /**
+     * The current line, which may span several buffers.
+     */
+    private byte[] line = new byte[256];
+
+    /**
+     * The length of the current line.
+     */
+    private int lineLength;
+
+    /**
+     * The data of the current event.
+     */
+    private byte[] data = new byte[1024];
+
+    /**
+     * The length of the data of the current event, or {@code -1} if the event has no data yet.
+     */
+    private int dataLength = -1;
+
+    /**
+     * Indicates that the previous buffer ended with a carriage return.
+     */
+    private boolean afterCarriageReturn;
+
+    /**
+     * Indicates that the {@code [DONE]} marker has been received.
+     */
+    private boolean done;
+
+    /**
+     * Parses the next part of the stream and releases the buffer.
+     *
+     * @param buffer The received bytes.
+     * @return The chunks completed by this part of the stream.
+     */
+    public List<GigaChatChatResponse> parse(DataBuffer buffer) {
+        List<GigaChatChatResponse> result = new ArrayList<>(1);
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                parse(iterator.next(), result);
+            }
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+        return result;
+    }
+
+    /**
+     * Completes the stream, dispatching an event that was not terminated by an empty line.
+     *
+     * @return The last chunk, if any.
+     */
+    public List<GigaChatChatResponse> finish() {
+        List<GigaChatChatResponse> result = new ArrayList<>(1);
+        if (done) {
+            return result;
+        }
+        if (lineLength > 0) {
+            processLine(result);
+        }
+        dispatch(result);
+        return result;
+    }
+
+    /**
+     * Checks whether the {@code [DONE]} marker has been received.
+     *
+     * @return {@code true} if the stream is complete.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Splits the bytes of a buffer into lines.
+     *
+     * @param bytes  The received bytes.
+     * @param result The list collecting completed chunks.
+     */
+    private void parse(ByteBuffer bytes, List<GigaChatChatResponse> result) {
+        while (bytes.hasRemaining() && !done) {
+            byte b = bytes.get();
+            if (b == '\n') {
+                if (!afterCarriageReturn) {
+                    processLine(result);
+                }
+                afterCarriageReturn = false;
+            } else if (b == '\r') {
+                processLine(result);
+                afterCarriageReturn = true;
+            } else {
+                afterCarriageReturn = false;
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, line.length * 2);
+                }
+                line[lineLength++] = b;
+            }
+        }
+    }
+
+    /**
+     * Handles a complete line: an empty line dispatches the event, a {@code data} line extends its data.
+     *
+     * @param result The list collecting completed chunks.
+     */
+    private void processLine(List<GigaChatChatResponse> result) {
+        if (lineLength == 0) {
+            dispatch(result);
+            return;
+        }
+
+        if (startsWith(line, lineLength, DATA_FIELD) && (lineLength == DATA_FIELD.length || line[DATA_FIELD.length] == ':')) {
+            int from = Math.min(DATA_FIELD.length + 1, lineLength);
+            if (from < lineLength && line[from] == ' ') {
+                from++;
+            }
+            appendData(from);
+        }
+        lineLength = 0;
+    }
+
+    /**
+     * Appends the value of a {@code data} line to the data of the current event.
+     *
+     * @param from The offset of the value in the current line.
+     */
+    private void appendData(int from) {
+        int length = lineLength - from;
+        int required = Math.max(dataLength, 0) + length + 1;
+        if (required > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, required));
+        }
+        if (dataLength < 0) {
+            dataLength = 0;
+        } else {
+            data[dataLength++] = '\n';
+        }
+        System.arraycopy(line, from, data, dataLength, length);
+        dataLength += length;
+    }
+
+    /**
+     * Deserializes the data of the current event, or marks the stream as complete on {@code [DONE]}.
+     *
+     * @param result The list collecting completed chunks.
+     */
+    private void dispatch(List<GigaChatChatResponse> result) {
+        if (dataLength < 0) {
+            return;
+        }
+
+        int length = dataLength;
+        dataLength = -1;
+        if (length == DONE.length && startsWith(data, length, DONE)) {
+            done = true;
+            return;
+        }
+
+        try {
+            result.add(READER.readValue(data, 0, length));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Некорректный фрагмент потокового ответа", e);
+        }
+    }
+
+    /**
+     * Checks whether a byte array starts with the given prefix.
+     *
+     * @param bytes  The byte array.
+     * @param length The number of meaningful bytes in the array.
+     * @param prefix The expected prefix.
+     * @return {@code true} if the array starts with the prefix.
+     */
+    private static boolean startsWith(byte[] bytes, int length, byte[] prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
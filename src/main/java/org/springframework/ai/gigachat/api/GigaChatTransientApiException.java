@@ -0,0 +1,56 @@
+package org.springframework.ai.gigachat.api;
+
+import org.springframework.ai.retry.TransientAiException;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * Error of the GigaChat API that may succeed when the request is repeated, such as {@code 429} or {@code 5xx}.
+ */
+public class GigaChatTransientApiException extends TransientAiException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The HTTP status code of the response.
+     */
+    private final int statusCode;
+
+    /**
+     * The delay requested by the {@code Retry-After} header, or {@code null} if it is absent.
+     */
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new GigaChatTransientApiException.
+     *
+     * @param message    The error message.
+     * @param statusCode The HTTP status code of the response.
+     * @param retryAfter The delay requested by the {@code Retry-After} header, or {@code null}.
+     */
+    public GigaChatTransientApiException(String message, int statusCode, Duration retryAfter) {
+        super(message);
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns the HTTP status code of the response.
+     *
+     * @return The HTTP status code.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Returns the delay requested by the {@code Retry-After} header.
+     *
+     * @return The requested delay, or {@code null} if the header is absent.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
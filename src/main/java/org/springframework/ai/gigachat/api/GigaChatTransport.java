@@ -0,0 +1,204 @@
+package org.springframework.ai.gigachat.api;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.channel.ChannelOption;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.Assert;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Shared Reactor Netty transport for the synchronous and reactive GigaChat clients.
+ *
+ * <p>The {@link RestClient} and {@link WebClient} builders produced by this class are backed by the same
+ * {@link HttpClient} and therefore share one tuned connection pool, including the OAuth requests. Pool
+ * utilization is published as gauges once the transport is bound to a {@link MeterRegistry}.</p>
+ */
+public class GigaChatTransport implements MeterBinder, AutoCloseable {
+
+    /**
+     * The connection pool shared by all clients.
+     */
+    private final ConnectionProvider connectionProvider;
+
+    /**
+     * The HTTP client shared by all clients.
+     */
+    private final HttpClient httpClient;
+
+    /**
+     * Metrics of the pools per remote address, as reported by Reactor Netty.
+     */
+    private final Map<SocketAddress, ConnectionPoolMetrics> poolMetrics = new ConcurrentHashMap<>();
+
+    /**
+     * The name of the connection pool.
+     */
+    private final String poolName;
+
+    /**
+     * The registry the pool gauges are bound to, if any.
+     */
+    private volatile MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a new GigaChatTransport with the given options.
+     *
+     * @param options The transport options.
+     */
+    public GigaChatTransport(GigaChatTransportOptions options) {
+        this(options, Function.identity());
+    }
+
+    /**
+     * Constructs a new GigaChatTransport with the given options and a customizer of the HTTP client,
+     * for example to configure the trusted certificates.
+     *
+     * @param options    The transport options.
+     * @param customizer The customizer applied to the configured HTTP client.
+     */
+    public GigaChatTransport(GigaChatTransportOptions options, Function<HttpClient, HttpClient> customizer) {
+        Assert.notNull(options, "Настройки транспорта не могут быть пустыми");
+        Assert.notNull(customizer, "Настройщик клиента не может быть пустым");
+        this.poolName = options.getPoolName();
+
+        ConnectionProvider.Builder pool = ConnectionProvider.builder(options.getPoolName())
+                .maxConnections(options.getMaxConnections())
+                .pendingAcquireMaxCount(options.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(options.getPendingAcquireTimeout())
+                .maxIdleTime(options.getMaxIdleTime())
+                .metrics(true, () -> new PoolMeterRegistrar());
+        if (Objects.nonNull(options.getMaxLifeTime())) {
+            pool.maxLifeTime(options.getMaxLifeTime());
+        }
+        if (Objects.nonNull(options.getEvictionInterval())) {
+            pool.evictInBackground(options.getEvictionInterval());
+        }
+        this.connectionProvider = pool.build();
+
+        HttpClient client = HttpClient.create(connectionProvider)
+                .keepAlive(options.isKeepAlive())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) options.getConnectTimeout().toMillis());
+        if (Objects.nonNull(options.getResponseTimeout())) {
+            client = client.responseTimeout(options.getResponseTimeout());
+        }
+        if (options.isHttp2()) {
+            client = client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                    .secure(spec -> spec.sslContext(Http2SslContextSpec.forClient()));
+        }
+        this.httpClient = customizer.apply(client);
+    }
+
+    /**
+     * Creates a {@link RestClient} builder backed by the shared connection pool.
+     *
+     * @return A new RestClient builder.
+     */
+    public RestClient.Builder restClientBuilder() {
+        return RestClient.builder().requestFactory(new ReactorClientHttpRequestFactory(httpClient));
+    }
+
+    /**
+     * Creates a {@link WebClient} builder backed by the shared connection pool.
+     *
+     * @return A new WebClient builder.
+     */
+    public WebClient.Builder webClientBuilder() {
+        return WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient));
+    }
+
+    /**
+     * Returns the shared HTTP client.
+     *
+     * @return The shared HTTP client.
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Publishes the utilization of the connection pool as gauges.
+     *
+     * @param registry The registry to bind the gauges to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        poolMetrics.forEach((address, metrics) -> registerGauges(registry, address, metrics));
+    }
+
+    /**
+     * Closes all pooled connections.
+     */
+    @Override
+    public void close() {
+        connectionProvider.dispose();
+    }
+
+    /**
+     * Registers the gauges of the pool connected to the given remote address.
+     *
+     * @param registry The meter registry.
+     * @param address  The remote address of the pool.
+     * @param metrics  The metrics of the pool.
+     */
+    private void registerGauges(MeterRegistry registry, SocketAddress address, ConnectionPoolMetrics metrics) {
+        Tags tags = Tags.of("pool", poolName, "remote.address", String.valueOf(address));
+        gauge(registry, "gigachat.http.pool.acquired", "Соединения, занятые запросами", tags, metrics, ConnectionPoolMetrics::acquiredSize);
+        gauge(registry, "gigachat.http.pool.allocated", "Открытые соединения", tags, metrics, ConnectionPoolMetrics::allocatedSize);
+        gauge(registry, "gigachat.http.pool.idle", "Свободные соединения", tags, metrics, ConnectionPoolMetrics::idleSize);
+        gauge(registry, "gigachat.http.pool.pending", "Запросы, ожидающие соединения", tags, metrics, ConnectionPoolMetrics::pendingAcquireSize);
+        gauge(registry, "gigachat.http.pool.max.connections", "Максимальное число соединений", tags, metrics, ConnectionPoolMetrics::maxAllocatedSize);
+        gauge(registry, "gigachat.http.pool.max.pending", "Максимальное число ожидающих запросов", tags, metrics, ConnectionPoolMetrics::maxPendingAcquireSize);
+    }
+
+    /**
+     * Registers a single pool gauge.
+     *
+     * @param registry    The meter registry.
+     * @param name        The name of the gauge.
+     * @param description The description of the gauge.
+     * @param tags        The tags of the gauge.
+     * @param metrics     The metrics of the pool.
+     * @param value       The function extracting the value from the metrics.
+     */
+    private static void gauge(MeterRegistry registry, String name, String description, Tags tags, ConnectionPoolMetrics metrics, ToIntFunction<ConnectionPoolMetrics> value) {
+        Gauge.builder(name, metrics, m -> value.applyAsInt(m)).description(description).tags(tags).register(registry);
+    }
+
+    /**
+     * Receives the pool metrics from Reactor Netty as pools for new remote addresses are created.
+     */
+    private class PoolMeterRegistrar implements ConnectionProvider.MeterRegistrar {
+
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+            poolMetrics.put(remoteAddress, metrics);
+            MeterRegistry registry = meterRegistry;
+            if (Objects.nonNull(registry)) {
+                registerGauges(registry, remoteAddress, metrics);
+            }
+        }
+
+        @Override
+        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+            poolMetrics.remove(remoteAddress);
+        }
+    }
+}
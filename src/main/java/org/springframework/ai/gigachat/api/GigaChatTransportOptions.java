@@ -0,0 +1,81 @@
+package org.springframework.ai.gigachat.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Options of the shared HTTP transport used by {@link GigaChatTransport}.
+ */
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class GigaChatTransportOptions {
+
+    /**
+     * The name of the connection pool, used in metrics and logs.
+     */
+    @Builder.Default
+    private String poolName = "gigachat";
+
+    /**
+     * The maximum number of connections per remote host.
+     */
+    @Builder.Default
+    private int maxConnections = 100;
+
+    /**
+     * The maximum number of requests waiting for a connection, or {@code -1} for no limit.
+     */
+    @Builder.Default
+    private int pendingAcquireMaxCount = 1000;
+
+    /**
+     * The maximum time a request waits for a connection.
+     */
+    @Builder.Default
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(45);
+
+    /**
+     * The time after which an idle connection is closed.
+     */
+    @Builder.Default
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /**
+     * The maximum lifetime of a connection, or {@code null} for no limit.
+     */
+    private Duration maxLifeTime;
+
+    /**
+     * The interval of the background eviction of idle and expired connections, or {@code null} to evict only on acquire.
+     */
+    @Builder.Default
+    private Duration evictionInterval = Duration.ofSeconds(30);
+
+    /**
+     * Whether connections are kept alive between requests.
+     */
+    @Builder.Default
+    private boolean keepAlive = true;
+
+    /**
+     * Whether HTTP/2 is negotiated over TLS, falling back to HTTP/1.1.
+     */
+    private boolean http2;
+
+    /**
+     * The timeout of establishing a connection.
+     */
+    @Builder.Default
+    private Duration connectTimeout = Duration.ofSeconds(10);
+
+    /**
+     * The maximum time between writing the request and receiving the response headers, or {@code null} for no limit.
+     */
+    private Duration responseTimeout;
+}
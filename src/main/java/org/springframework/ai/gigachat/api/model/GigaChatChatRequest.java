@@ -1,10 +1,15 @@
 package org.springframework.ai.gigachat.api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.Collection;
 import java.util.Map;
@@ -23,8 +28,9 @@ public class GigaChatChatRequest {
     private @JsonProperty("model") String model;
 
     /**
-     * The collection of messages in the chat.
+     * The collection of messages in the chat. Messages with a cached serialized form are written as is.
      */
+    @JsonSerialize(contentUsing = GigaChatMessageSerializer.class)
     private @JsonProperty("messages") Collection<Message> messages;
 
     /**
@@ -103,6 +109,14 @@ public class GigaChatChatRequest {
          * The name of the function being called.
          */
         private @JsonProperty("name") String name;
+
+        /**
+         * The serialized form of the message, or {@code null} if it is not cached. The message must not be
+         * modified once its serialized form is set.
+         */
+        @EqualsAndHashCode.Exclude
+        @ToString.Exclude
+        private transient @JsonIgnore SerializableString json;
     }
 
     /**
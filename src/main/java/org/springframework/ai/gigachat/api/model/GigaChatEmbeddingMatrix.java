@@ -0,0 +1,148 @@
+package org.springframework.ai.gigachat.api.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.Getter;
+import org.springframework.util.Assert;
+
+import java.nio.FloatBuffer;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Embeddings of an embedding response stored row by row in a single contiguous {@code float[]}.
+ *
+ * <p>Row {@code i} holds the embedding of the {@code i}-th input text and starts at offset {@code i * dimensions}.
+ * Unlike {@link GigaChatEmbeddingResponse}, the matrix is decoded without per-item objects or boxed values.</p>
+ */
+@Getter
+@JsonDeserialize(using = GigaChatEmbeddingMatrixDeserializer.class)
+public class GigaChatEmbeddingMatrix {
+
+    /**
+     * The name of the model used to generate the embeddings.
+     */
+    private final String model;
+
+    /**
+     * The number of embeddings.
+     */
+    private final int rows;
+
+    /**
+     * The number of dimensions of every embedding.
+     */
+    private final int dimensions;
+
+    /**
+     * The total number of tokens in the input texts.
+     */
+    private final int promptTokens;
+
+    /**
+     * The embeddings, row by row. The array is shared, not copied.
+     */
+    private final float[] data;
+
+    /**
+     * Constructs a new GigaChatEmbeddingMatrix.
+     *
+     * @param model        The name of the model used to generate the embeddings.
+     * @param data         The embeddings, row by row, of length {@code rows * dimensions}.
+     * @param rows         The number of embeddings.
+     * @param dimensions   The number of dimensions of every embedding.
+     * @param promptTokens The total number of tokens in the input texts.
+     */
+    public GigaChatEmbeddingMatrix(String model, float[] data, int rows, int dimensions, int promptTokens) {
+        Assert.isTrue(data.length == rows * dimensions, "Размер данных не соответствует размеру матрицы");
+        this.model = model;
+        this.data = data;
+        this.rows = rows;
+        this.dimensions = dimensions;
+        this.promptTokens = promptTokens;
+    }
+
+    /**
+     * Returns a single value of the matrix.
+     *
+     * @param row       The row.
+     * @param dimension The dimension.
+     * @return The value.
+     */
+    public float get(int row, int dimension) {
+        Objects.checkIndex(row, rows);
+        Objects.checkIndex(dimension, dimensions);
+        return data[row * dimensions + dimension];
+    }
+
+    /**
+     * Returns the offset of a row in {@link #getData()}.
+     *
+     * @param row The row.
+     * @return The offset of the first value of the row.
+     */
+    public int offset(int row) {
+        Objects.checkIndex(row, rows);
+        return row * dimensions;
+    }
+
+    /**
+     * Copies a row into a new array.
+     *
+     * @param row The row.
+     * @return The embedding of the row.
+     */
+    public float[] row(int row) {
+        float[] embedding = new float[dimensions];
+        System.arraycopy(data, offset(row), embedding, 0, dimensions);
+        return embedding;
+    }
+
+    /**
+     * Returns a view of a row without copying it.
+     *
+     * @param row The row.
+     * @return A buffer backed by the matrix.
+     */
+    public FloatBuffer rowBuffer(int row) {
+        return FloatBuffer.wrap(data, offset(row), dimensions).slice();
+    }
+
+    /**
+     * Returns a view of the whole matrix without copying it.
+     *
+     * @return A buffer backed by the matrix.
+     */
+    public FloatBuffer asFloatBuffer() {
+        return FloatBuffer.wrap(data);
+    }
+
+    /**
+     * Stacks matrices of the same dimensions on top of each other.
+     *
+     * @param parts The matrices in row order.
+     * @return The combined matrix.
+     */
+    public static GigaChatEmbeddingMatrix concat(List<GigaChatEmbeddingMatrix> parts) {
+        Assert.notEmpty(parts, "Нужна хотя бы одна матрица");
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+
+        int dimensions = parts.stream().filter(part -> part.getRows() > 0).mapToInt(GigaChatEmbeddingMatrix::getDimensions).findFirst().orElse(0);
+        int rows = 0;
+        int promptTokens = 0;
+        for (GigaChatEmbeddingMatrix part : parts) {
+            Assert.isTrue(part.getRows() == 0 || part.getDimensions() == dimensions, "Размерности матриц различаются");
+            rows += part.getRows();
+            promptTokens += part.getPromptTokens();
+        }
+
+        float[] data = new float[rows * dimensions];
+        int offset = 0;
+        for (GigaChatEmbeddingMatrix part : parts) {
+            System.arraycopy(part.getData(), 0, data, offset, part.getData().length);
+            offset += part.getData().length;
+        }
+        return new GigaChatEmbeddingMatrix(parts.get(parts.size() - 1).getModel(), data, rows, dimensions, promptTokens);
+    }
+}
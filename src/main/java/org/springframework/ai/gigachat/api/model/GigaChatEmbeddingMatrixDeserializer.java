@@ -0,0 +1,257 @@
+package org.springframework.ai.gigachat.api.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.util.Arrays;
+
+/**
+ * Streaming deserializer of an embedding response into a {@link GigaChatEmbeddingMatrix}.
+ *
+ * <p>The values of every embedding are read token by token straight into the contiguous array of the matrix.
+ * The array is sized from the {@link #EXPECTED_ROWS} attribute of the reader if it is set, and grows otherwise.
+ * Rows are ordered by the {@code index} of the items, which the API may return out of order.</p>
+ */
+public class GigaChatEmbeddingMatrixDeserializer extends StdDeserializer<GigaChatEmbeddingMatrix> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The attribute of the {@code ObjectReader} holding the expected number of embeddings.
+     */
+    public static final String EXPECTED_ROWS = "gigachat.embedding.rows";
+
+    /**
+     * The initial capacity of the first embedding, whose dimensions are not known yet.
+     */
+    private static final int INITIAL_DIMENSIONS = 1024;
+
+    /**
+     * Constructs a new GigaChatEmbeddingMatrixDeserializer.
+     */
+    public GigaChatEmbeddingMatrixDeserializer() {
+        super(GigaChatEmbeddingMatrix.class);
+    }
+
+    @Override
+    public GigaChatEmbeddingMatrix deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            return (GigaChatEmbeddingMatrix) context.handleUnexpectedToken(GigaChatEmbeddingMatrix.class, parser);
+        }
+
+        Object expected = context.getAttribute(EXPECTED_ROWS);
+        Rows rows = new Rows(expected instanceof Integer count ? count : 0);
+        String model = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "model" -> model = parser.getValueAsString();
+                case "data" -> readData(parser, context, rows);
+                default -> parser.skipChildren();
+            }
+        }
+        return rows.toMatrix(model, context);
+    }
+
+    /**
+     * Reads the array of embedding items.
+     *
+     * @param parser  The parser positioned at the start of the array.
+     * @param context The deserialization context.
+     * @param rows    The rows being filled.
+     */
+    private static void readData(JsonParser parser, DeserializationContext context, Rows rows) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (!parser.isExpectedStartArrayToken()) {
+            context.reportWrongTokenException(GigaChatEmbeddingMatrix.class, JsonToken.START_ARRAY, "Ожидался массив эмбеддингов");
+        }
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int index = rows.count;
+            boolean hasEmbedding = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "embedding" -> {
+                        rows.readRow(parser, context);
+                        hasEmbedding = true;
+                    }
+                    case "index" -> index = parser.getValueAsInt(index);
+                    case "usage" -> rows.promptTokens += readPromptTokens(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (!hasEmbedding) {
+                context.reportInputMismatch(GigaChatEmbeddingMatrix.class, "Элемент %d не содержит эмбеддинг", rows.count);
+            }
+            rows.commit(index);
+        }
+    }
+
+    /**
+     * Reads the number of prompt tokens from a usage object.
+     *
+     * @param parser The parser positioned at the start of the object.
+     * @return The number of prompt tokens, or {@code 0} if absent.
+     */
+    private static int readPromptTokens(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return 0;
+        }
+        int tokens = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("prompt_tokens".equals(field)) {
+                tokens = parser.getValueAsInt(0);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * The rows of the matrix being decoded.
+     */
+    private static final class Rows {
+        private float[] data;
+        private int[] indices;
+        private int dimensions = -1;
+        private int count;
+        private int promptTokens;
+
+        /**
+         * @param expected The expected number of rows, or {@code 0} if unknown.
+         */
+        private Rows(int expected) {
+            this.indices = new int[Math.max(expected, 1)];
+            this.data = new float[0];
+        }
+
+        /**
+         * Reads the values of the next row. The first row determines the dimensions of the matrix.
+         *
+         * @param parser  The parser positioned at the start of the array.
+         * @param context The deserialization context.
+         */
+        void readRow(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                context.reportWrongTokenException(GigaChatEmbeddingMatrix.class, JsonToken.START_ARRAY, "Ожидался массив значений эмбеддинга");
+            }
+
+            if (dimensions < 0) {
+                float[] first = new float[INITIAL_DIMENSIONS];
+                int length = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (length == first.length) {
+                        first = Arrays.copyOf(first, first.length * 2);
+                    }
+                    first[length++] = value(parser, context);
+                }
+                dimensions = length;
+                data = new float[indices.length * dimensions];
+                System.arraycopy(first, 0, data, 0, length);
+                return;
+            }
+
+            ensureCapacity(count + 1);
+            int offset = count * dimensions;
+            int length = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (length == dimensions) {
+                    context.reportInputMismatch(GigaChatEmbeddingMatrix.class, "Размерность эмбеддинга %d больше %d", count, dimensions);
+                }
+                data[offset + length++] = value(parser, context);
+            }
+            if (length != dimensions) {
+                context.reportInputMismatch(GigaChatEmbeddingMatrix.class, "Размерность эмбеддинга %d равна %d вместо %d", count, length, dimensions);
+            }
+        }
+
+        /**
+         * Completes the current row.
+         *
+         * @param index The index of the row in the request.
+         */
+        void commit(int index) {
+            ensureCapacity(count + 1);
+            indices[count++] = index;
+        }
+
+        /**
+         * Builds the matrix, ordering the rows by their indices.
+         *
+         * @param model   The name of the model.
+         * @param context The deserialization context.
+         * @return The matrix.
+         */
+        GigaChatEmbeddingMatrix toMatrix(String model, DeserializationContext context) throws IOException {
+            int dims = Math.max(dimensions, 0);
+            float[] values = data.length == count * dims ? data : Arrays.copyOf(data, count * dims);
+
+            boolean ordered = true;
+            for (int i = 0; i < count && ordered; i++) {
+                ordered = indices[i] == i;
+            }
+            if (!ordered) {
+                float[] sorted = new float[count * dims];
+                boolean[] seen = new boolean[count];
+                for (int i = 0; i < count; i++) {
+                    int index = indices[i];
+                    if (index < 0 || index >= count || seen[index]) {
+                        context.reportInputMismatch(GigaChatEmbeddingMatrix.class, "Некорректный индекс эмбеддинга: %d", index);
+                    }
+                    seen[index] = true;
+                    System.arraycopy(values, i * dims, sorted, index * dims, dims);
+                }
+                values = sorted;
+            }
+            return new GigaChatEmbeddingMatrix(model, values, count, dims, promptTokens);
+        }
+
+        /**
+         * Grows the arrays to hold the given number of rows.
+         *
+         * @param rows The required number of rows.
+         */
+        private void ensureCapacity(int rows) {
+            if (rows <= indices.length) {
+                return;
+            }
+            int capacity = Math.max(rows, indices.length * 2);
+            indices = Arrays.copyOf(indices, capacity);
+            if (dimensions >= 0) {
+                data = Arrays.copyOf(data, capacity * dimensions);
+            }
+        }
+
+        /**
+         * Reads a single value.
+         *
+         * @param parser  The parser positioned at the value.
+         * @param context The deserialization context.
+         * @return The value.
+         */
+        private static float value(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+                return parser.getFloatValue();
+            }
+            if (token == JsonToken.VALUE_STRING) {
+                return Float.parseFloat(parser.getText());
+            }
+            return (Float) context.handleUnexpectedToken(Float.TYPE, parser);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.springframework.ai.gigachat.api.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.util.Objects;
+
+/**
+ * Serializer of chat messages that writes the cached serialized form of a message, if present, instead of
+ * serializing the message again.
+ */
+public class GigaChatMessageSerializer extends StdSerializer<GigaChatChatRequest.Message> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new GigaChatMessageSerializer.
+     */
+    public GigaChatMessageSerializer() {
+        super(GigaChatChatRequest.Message.class);
+    }
+
+    @Override
+    public void serialize(GigaChatChatRequest.Message value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        SerializableString json = value.getJson();
+        if (Objects.nonNull(json)) {
+            gen.writeRawValue(json);
+            return;
+        }
+        provider.findValueSerializer(GigaChatChatRequest.Message.class).serialize(value, gen, provider);
+    }
+}
@@ -0,0 +1,28 @@
+package org.springframework.ai.gigachat.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Options of a {@link GigaChatBatchRunner}.
+ */
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class GigaChatBatchOptions {
+
+    /**
+     * The maximum number of prompts in flight.
+     */
+    @Builder.Default
+    private int concurrency = 16;
+
+    /**
+     * The number of results written between two flushes of the results file to disk.
+     */
+    @Builder.Default
+    private int checkpointInterval = 100;
+}
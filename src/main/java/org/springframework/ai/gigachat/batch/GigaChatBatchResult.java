@@ -0,0 +1,30 @@
+package org.springframework.ai.gigachat.batch;
+
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.metadata.Usage;
+
+/**
+ * Result of a prompt of a batch, stored as a line of the results file.
+ *
+ * @param index            The position of the prompt in the input.
+ * @param success          Whether the model answered the prompt.
+ * @param text             The text of the answer, or {@code null} if the prompt failed.
+ * @param finishReason     The reason the model stopped generating, or {@code null} if the prompt failed.
+ * @param promptTokens     The number of prompt tokens used.
+ * @param completionTokens The number of completion tokens used.
+ * @param totalTokens      The total number of tokens used.
+ * @param error            The error message, or {@code null} if the prompt succeeded.
+ * @param retryable        Whether the prompt failed with a transient error, so it is run again on resume.
+ */
+public record GigaChatBatchResult(long index, boolean success, String text, String finishReason, int promptTokens,
+                                  int completionTokens, int totalTokens, String error, boolean retryable) {
+
+    /**
+     * Returns the tokens used by the prompt.
+     *
+     * @return The usage.
+     */
+    public Usage usage() {
+        return new DefaultUsage(promptTokens, completionTokens, totalTokens);
+    }
+}
@@ -0,0 +1,360 @@
+package org.springframework.ai.gigachat.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.reactivestreams.Publisher;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.gigachat.GigaChatChatModel;
+import org.springframework.ai.gigachat.api.GigaChatRetry;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Runner of large batches of prompts, such as offline classification or summarization jobs.
+ *
+ * <p>Prompts are read lazily from the input and sent with at most {@code concurrency} of them in flight. Requests
+ * are streamed, so no thread waits for an answer and the throughput is bounded by the quota rather than by a thread
+ * pool; the rate limiter and the retries of the API apply to every request as usual, so pacing the batch to the quota
+ * is a matter of {@link org.springframework.ai.gigachat.api.GigaChatApi#setChatRateLimiter setting a limiter}.</p>
+ *
+ * <p>Every result is appended to the results file as a JSON line as soon as its prompt completes, and the file is
+ * flushed to disk every few results. A run started on an existing results file skips the prompts it already holds a
+ * result for, so a crashed run resumes where it stopped, losing at most the results written after the last flush.
+ * Prompts are identified by their position in the input, so a resumed run must be given the same input in the same
+ * order. Prompts that failed with a transient error are run again on resume, and the new result is appended after
+ * the old one: when an index appears several times in the file, the last line wins.</p>
+ */
+public class GigaChatBatchRunner {
+
+    /**
+     * The chat model answering the prompts.
+     */
+    private final GigaChatChatModel chatModel;
+
+    /**
+     * The options of the runner.
+     */
+    private final GigaChatBatchOptions options;
+
+    /**
+     * Constructs a new GigaChatBatchRunner.
+     *
+     * @param chatModel The chat model answering the prompts.
+     * @param options   The options of the runner.
+     */
+    public GigaChatBatchRunner(GigaChatChatModel chatModel, GigaChatBatchOptions options) {
+        Assert.notNull(chatModel, "Модель не может быть пустой");
+        Assert.notNull(options, "Настройки пакетной обработки не могут быть пустыми");
+        Assert.isTrue(options.getConcurrency() > 0, "Число одновременных запросов должно быть положительным");
+        Assert.isTrue(options.getCheckpointInterval() > 0, "Интервал контрольных точек должен быть положительным");
+        this.chatModel = chatModel;
+        this.options = options;
+    }
+
+    /**
+     * Runs the prompts, blocking until all of them complete, and resuming from the results file if it exists.
+     *
+     * @param prompts The prompts.
+     * @param results The results file.
+     * @return The report of the run.
+     */
+    public Result run(Iterable<Prompt> prompts, Path results) {
+        long startedAt = System.nanoTime();
+        LongAdder skipped = new LongAdder();
+        Summary summary = execute(Flux.fromIterable(prompts), results, skipped)
+                .reduceWith(Summary::new, Summary::add)
+                .block();
+        Assert.state(Objects.nonNull(summary), "Пакетная обработка не вернула результат");
+        return new Result(summary.succeeded, summary.failed, skipped.sum(),
+                summary.promptTokens, summary.completionTokens, summary.totalTokens,
+                summary.failures, Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * Runs the prompts, resuming from the results file if it exists.
+     *
+     * @param prompts The prompts.
+     * @param results The results file.
+     * @return The results of the prompts run, in the order they complete; prompts skipped on resume are not emitted.
+     */
+    public Flux<GigaChatBatchResult> execute(Publisher<Prompt> prompts, Path results) {
+        return execute(prompts, results, new LongAdder());
+    }
+
+    /**
+     * Reads a results file.
+     *
+     * @param results The results file.
+     * @return The results in the order they were written; when an index appears several times, the last one wins.
+     */
+    public static Flux<GigaChatBatchResult> read(Path results) {
+        return Flux.using(() -> Files.lines(results, StandardCharsets.UTF_8),
+                lines -> Flux.fromStream(lines.filter(line -> !line.isBlank()).map(GigaChatBatchRunner::parse)),
+                Stream::close);
+    }
+
+    /**
+     * Runs the prompts, counting those skipped on resume.
+     *
+     * @param prompts The prompts.
+     * @param results The results file.
+     * @param skipped The counter of the skipped prompts.
+     * @return The results of the prompts run.
+     */
+    private Flux<GigaChatBatchResult> execute(Publisher<Prompt> prompts, Path results, LongAdder skipped) {
+        Assert.notNull(prompts, "Запросы не могут быть пустыми");
+        Assert.notNull(results, "Файл результатов не может быть пустым");
+        return Flux.using(() -> new Output(results),
+                output -> Flux.from(prompts)
+                        .index()
+                        .filter(prompt -> {
+                            if (output.isCompleted(prompt.getT1())) {
+                                skipped.increment();
+                                return false;
+                            }
+                            return true;
+                        })
+                        .flatMap(prompt -> call(prompt.getT1(), prompt.getT2()), options.getConcurrency())
+                        // The results file is written off the event loop, one result at a time.
+                        .publishOn(Schedulers.boundedElastic())
+                        .doOnNext(output::write),
+                Output::close);
+    }
+
+    /**
+     * Runs a prompt, turning a failure into a failed result.
+     *
+     * @param index  The position of the prompt in the input.
+     * @param prompt The prompt.
+     * @return The result of the prompt.
+     */
+    private Mono<GigaChatBatchResult> call(long index, Prompt prompt) {
+        AtomicReference<ChatResponse> aggregated = new AtomicReference<>();
+        return chatModel.stream(prompt, aggregated::set)
+                .then(Mono.fromCallable(() -> succeeded(index, aggregated.get())))
+                .onErrorResume(e -> Mono.just(failed(index, e)));
+    }
+
+    /**
+     * Creates the result of an answered prompt.
+     *
+     * @param index    The position of the prompt in the input.
+     * @param response The consolidated response of the model.
+     * @return The result.
+     */
+    private static GigaChatBatchResult succeeded(long index, ChatResponse response) {
+        Assert.state(Objects.nonNull(response) && Objects.nonNull(response.getResult()), "Модель не вернула ответ");
+        Generation generation = response.getResult();
+        Optional<Usage> usage = Optional.ofNullable(response.getMetadata()).map(ChatResponseMetadata::getUsage);
+        return new GigaChatBatchResult(index, true,
+                generation.getOutput().getText(),
+                generation.getMetadata().getFinishReason(),
+                usage.map(Usage::getPromptTokens).orElse(0),
+                usage.map(Usage::getCompletionTokens).orElse(0),
+                usage.map(Usage::getTotalTokens).orElse(0),
+                null, false);
+    }
+
+    /**
+     * Creates the result of a failed prompt.
+     *
+     * @param index The position of the prompt in the input.
+     * @param error The error.
+     * @return The result.
+     */
+    private static GigaChatBatchResult failed(long index, Throwable error) {
+        return new GigaChatBatchResult(index, false, null, null, 0, 0, 0,
+                Objects.toString(error.getMessage(), error.getClass().getName()),
+                GigaChatRetry.isTransient(error));
+    }
+
+    /**
+     * Parses a line of a results file.
+     *
+     * @param line The line.
+     * @return The result.
+     */
+    private static GigaChatBatchResult parse(String line) {
+        try {
+            return ModelOptionsUtils.OBJECT_MAPPER.readValue(line, GigaChatBatchResult.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Некорректная строка файла результатов: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * The report of a batch run.
+     *
+     * @param succeeded        The number of prompts answered in this run.
+     * @param failed           The number of prompts failed in this run.
+     * @param skipped          The number of prompts skipped because the results file already held their results.
+     * @param promptTokens     The number of prompt tokens used in this run.
+     * @param completionTokens The number of completion tokens used in this run.
+     * @param totalTokens      The total number of tokens used in this run.
+     * @param failures         The results of the prompts failed in this run.
+     * @param elapsed          The duration of the run.
+     */
+    public record Result(long succeeded, long failed, long skipped, long promptTokens, long completionTokens,
+                         long totalTokens, List<GigaChatBatchResult> failures, Duration elapsed) {
+
+        /**
+         * Returns the tokens used in this run. {@link Usage} counts tokens in ints, so the counts saturate at
+         * {@link Integer#MAX_VALUE}; the components of the report hold the exact ones.
+         *
+         * @return The usage.
+         */
+        public Usage usage() {
+            return new DefaultUsage(saturated(promptTokens), saturated(completionTokens), saturated(totalTokens));
+        }
+
+        private static int saturated(long tokens) {
+            return (int) Math.min(tokens, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Running totals of the results of a run.
+     */
+    private static final class Summary {
+        private final List<GigaChatBatchResult> failures = new ArrayList<>();
+        private long succeeded;
+        private long failed;
+        private long promptTokens;
+        private long completionTokens;
+        private long totalTokens;
+
+        private Summary add(GigaChatBatchResult result) {
+            if (result.success()) {
+                succeeded++;
+            } else {
+                failed++;
+                failures.add(result);
+            }
+            promptTokens += result.promptTokens();
+            completionTokens += result.completionTokens();
+            totalTokens += result.totalTokens();
+            return this;
+        }
+    }
+
+    /**
+     * The results file and the indexes of the prompts it completes.
+     */
+    private final class Output {
+        private final Path path;
+        private final FileChannel channel;
+
+        /**
+         * The indexes of the prompts that are not run again: answered, or failed with a permanent error.
+         */
+        private final BitSet completed = new BitSet();
+        private long position;
+        private int resultsSinceCheckpoint;
+
+        private Output(Path path) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                // A crash may leave half of a line at the end of the file.
+                position = lastLineEnd();
+                channel.truncate(position);
+                try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isBlank()) {
+                            resumed(parse(line));
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        private void resumed(GigaChatBatchResult result) {
+            Assert.isTrue(result.index() >= 0 && result.index() < Integer.MAX_VALUE, "Некорректный индекс в файле результатов: " + result.index());
+            completed.set((int) result.index(), result.success() || !result.retryable());
+        }
+
+        private boolean isCompleted(long index) {
+            return index < Integer.MAX_VALUE && completed.get((int) index);
+        }
+
+        /**
+         * Finds the end of the last complete line of the file.
+         */
+        private long lastLineEnd() throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            long end = channel.size();
+            while (end > 0) {
+                long start = Math.max(0, end - buffer.capacity());
+                buffer.clear().limit((int) (end - start));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) < 0) {
+                        throw new IOException("Файл результатов изменился во время чтения: " + path);
+                    }
+                }
+                for (int i = buffer.limit() - 1; i >= 0; i--) {
+                    if (buffer.get(i) == '\n') {
+                        return start + i + 1;
+                    }
+                }
+                end = start;
+            }
+            return 0;
+        }
+
+        /**
+         * Appends a result and flushes the file every few results.
+         */
+        private void write(GigaChatBatchResult result) {
+            try {
+                ByteBuffer line = ByteBuffer.wrap((ModelOptionsUtils.OBJECT_MAPPER.writeValueAsString(result) + "\n").getBytes(StandardCharsets.UTF_8));
+                while (line.hasRemaining()) {
+                    position += channel.write(line, position);
+                }
+                if (++resultsSinceCheckpoint >= options.getCheckpointInterval()) {
+                    channel.force(false);
+                    resultsSinceCheckpoint = 0;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось записать результат в файл " + path, e);
+            }
+        }
+
+        private void close() {
+            try (channel) {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось закрыть файл результатов " + path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.springframework.ai.gigachat.ingest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Progress of an ingest run, stored next to the output file.
+ *
+ * <p>A checkpoint is written only after the vectors it counts are flushed to disk, and replaces the previous one
+ * atomically, so after a crash the output can be truncated to the checkpoint and the input read again from it.</p>
+ *
+ * @param inputOffset The offset of the first input line that is not fully embedded.
+ * @param lines       The number of input lines fully embedded.
+ * @param vectors     The number of vectors written for those lines.
+ */
+record GigaChatIngestCheckpoint(long inputOffset, long lines, long vectors) {
+
+    /**
+     * The checkpoint of a run that has not started.
+     */
+    static final GigaChatIngestCheckpoint START = new GigaChatIngestCheckpoint(0, 0, 0);
+
+    /**
+     * Returns the path of the checkpoint of an output file.
+     *
+     * @param output The output file.
+     * @return The path of the checkpoint.
+     */
+    static Path path(Path output) {
+        return output.resolveSibling(output.getFileName() + ".checkpoint");
+    }
+
+    /**
+     * Reads the checkpoint of an output file.
+     *
+     * @param output The output file.
+     * @return The checkpoint, or {@link #START} if there is none.
+     * @throws IOException If the checkpoint cannot be read.
+     */
+    static GigaChatIngestCheckpoint read(Path output) throws IOException {
+        Path path = path(output);
+        if (!Files.exists(path)) {
+            return START;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return new GigaChatIngestCheckpoint(
+                Long.parseLong(properties.getProperty("inputOffset")),
+                Long.parseLong(properties.getProperty("lines")),
+                Long.parseLong(properties.getProperty("vectors")));
+    }
+
+    /**
+     * Writes the checkpoint of an output file, replacing the previous one.
+     *
+     * @param output The output file.
+     * @throws IOException If the checkpoint cannot be written.
+     */
+    void write(Path output) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("inputOffset", Long.toString(inputOffset));
+        properties.setProperty("lines", Long.toString(lines));
+        properties.setProperty("vectors", Long.toString(vectors));
+
+        Path path = path(output);
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,80 @@
+package org.springframework.ai.gigachat.ingest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Options of a {@link GigaChatIngestPipeline}.
+ */
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class GigaChatIngestOptions {
+
+    /**
+     * The name of the embedding model.
+     */
+    @Builder.Default
+    private String model = "Embeddings";
+
+    /**
+     * The format of the input file.
+     */
+    @Builder.Default
+    private Format format = Format.LINES;
+
+    /**
+     * The field holding the text of a JSON line, for the {@link Format#JSONL} format.
+     */
+    @Builder.Default
+    private String textField = "text";
+
+    /**
+     * The maximum length of a chunk, in characters.
+     */
+    @Builder.Default
+    private int chunkSize = 2000;
+
+    /**
+     * The number of characters repeated at the start of the next chunk of the same text.
+     */
+    @Builder.Default
+    private int chunkOverlap = 200;
+
+    /**
+     * The number of chunks per embedding request.
+     */
+    @Builder.Default
+    private int batchSize = 16;
+
+    /**
+     * The maximum number of embedding requests in flight.
+     */
+    @Builder.Default
+    private int concurrency = 4;
+
+    /**
+     * The number of written batches between two checkpoints.
+     */
+    @Builder.Default
+    private int checkpointInterval = 10;
+
+    /**
+     * Format of the input file.
+     */
+    public enum Format {
+
+        /**
+         * Every line is a text.
+         */
+        LINES,
+
+        /**
+         * Every line is a JSON object holding the text in {@link #textField}.
+         */
+        JSONL
+    }
+}
@@ -0,0 +1,330 @@
+package org.springframework.ai.gigachat.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.ai.gigachat.api.GigaChatApi;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingMatrix;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingRequest;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streaming pipeline embedding the lines of a large file into a binary vector file.
+ *
+ * <p>The pipeline has three stages running with constant memory regardless of the size of the input:</p>
+ * <ol>
+ *     <li>the input is read line by line through a memory-mapped window;</li>
+ *     <li>every line is split into overlapping chunks as it is read;</li>
+ *     <li>chunks are embedded in batches, with at most {@code concurrency} requests in flight, and the vectors are
+ *     appended to the output in input order.</li>
+ * </ol>
+ *
+ * <p>The output is a {@link GigaChatVectorFile}. Progress is checkpointed next to it every few batches; a run started
+ * on an output with a checkpoint truncates the output to the checkpoint and resumes reading the input from there, so
+ * a crash loses at most the batches written after the last checkpoint. A completed run leaves its final checkpoint,
+ * so running it again does nothing.</p>
+ */
+public class GigaChatIngestPipeline {
+
+    /**
+     * The number of threads created by all pipelines.
+     */
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    /**
+     * The API used to embed the chunks.
+     */
+    private final GigaChatApi chatApi;
+
+    /**
+     * The options of the pipeline.
+     */
+    private final GigaChatIngestOptions options;
+
+    /**
+     * The splitter of lines into chunks.
+     */
+    private final GigaChatTextChunker chunker;
+
+    /**
+     * Constructs a new GigaChatIngestPipeline.
+     *
+     * @param chatApi The API used to embed the chunks.
+     * @param options The options of the pipeline.
+     */
+    public GigaChatIngestPipeline(GigaChatApi chatApi, GigaChatIngestOptions options) {
+        Assert.notNull(chatApi, "API не может быть пустым");
+        Assert.notNull(options, "Настройки загрузки не могут быть пустыми");
+        Assert.isTrue(options.getBatchSize() > 0, "Размер пакета должен быть положительным");
+        Assert.isTrue(options.getConcurrency() > 0, "Число одновременных запросов должно быть положительным");
+        Assert.isTrue(options.getCheckpointInterval() > 0, "Интервал контрольных точек должен быть положительным");
+        this.chatApi = chatApi;
+        this.options = options;
+        this.chunker = new GigaChatTextChunker(options.getChunkSize(), options.getChunkOverlap());
+    }
+
+    /**
+     * Embeds the lines of the input file into the output file, resuming from the checkpoint of the output if there is one.
+     *
+     * @param input  The input file.
+     * @param output The output vector file.
+     * @return The report of the run.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public Result run(Path input, Path output) throws IOException {
+        long startedAt = System.nanoTime();
+        GigaChatIngestCheckpoint checkpoint = GigaChatIngestCheckpoint.read(output);
+        ExecutorService executor = Executors.newFixedThreadPool(options.getConcurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "gigachat-ingest-" + THREADS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (GigaChatIngestReader reader = new GigaChatIngestReader(input, checkpoint.inputOffset());
+             Output writer = new Output(output, checkpoint)) {
+            Deque<Pending> inFlight = new ArrayDeque<>();
+            try {
+                Batch batch = new Batch();
+                GigaChatIngestReader.Line line;
+                while ((line = reader.next()) != null) {
+                    int chunkIndex = 0;
+                    for (String chunk : chunker.chunk(text(line))) {
+                        if (batch.texts.size() == options.getBatchSize()) {
+                            submit(batch, inFlight, writer, executor);
+                            batch = new Batch();
+                        }
+                        batch.add(chunk, line.start(), chunkIndex++);
+                    }
+                    batch.lineCompleted(line.end());
+                }
+                if (!batch.texts.isEmpty()) {
+                    submit(batch, inFlight, writer, executor);
+                } else {
+                    inFlight.add(new Pending(batch, CompletableFuture.completedFuture(null)));
+                }
+                while (!inFlight.isEmpty()) {
+                    writer.write(inFlight.poll());
+                }
+            } finally {
+                writer.checkpoint();
+            }
+            return new Result(writer.committed.lines(), writer.committed.vectors(), checkpoint.vectors(), Duration.ofNanos(System.nanoTime() - startedAt));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Extracts the text of an input line.
+     *
+     * @param line The input line.
+     * @return The text to embed.
+     */
+    private String text(GigaChatIngestReader.Line line) {
+        if (options.getFormat() == GigaChatIngestOptions.Format.LINES || line.text().isBlank()) {
+            return line.text();
+        }
+        try {
+            JsonNode node = ModelOptionsUtils.OBJECT_MAPPER.readTree(line.text());
+            return node.path(options.getTextField()).asText("");
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Некорректная строка JSON по смещению " + line.start() + ": " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * Sends a batch to the embedding API, first writing the oldest batch if the number of batches in flight is at its limit.
+     *
+     * @param batch    The batch.
+     * @param inFlight The batches in flight, in input order.
+     * @param writer   The output.
+     * @param executor The executor sending the requests.
+     * @throws IOException If the output cannot be written.
+     */
+    private void submit(Batch batch, Deque<Pending> inFlight, Output writer, ExecutorService executor) throws IOException {
+        if (inFlight.size() >= options.getConcurrency()) {
+            writer.write(inFlight.poll());
+        }
+        GigaChatEmbeddingRequest request = new GigaChatEmbeddingRequest(options.getModel(), batch.texts);
+        inFlight.add(new Pending(batch, CompletableFuture.supplyAsync(() -> chatApi.embedMatrix(request), executor)));
+    }
+
+    /**
+     * The report of an ingest run.
+     *
+     * @param lines          The number of input lines embedded, including those of earlier runs.
+     * @param vectors        The number of vectors in the output.
+     * @param resumedVectors The number of vectors already in the output when the run resumed.
+     * @param elapsed        The duration of the run.
+     */
+    public record Result(long lines, long vectors, long resumedVectors, Duration elapsed) {
+    }
+
+    /**
+     * A batch of chunks sent in one request.
+     */
+    private static final class Batch {
+        private final List<String> texts = new ArrayList<>();
+        private final List<Long> sourceOffsets = new ArrayList<>();
+        private final List<Integer> chunkIndexes = new ArrayList<>();
+
+        /**
+         * The offset after the last line whose chunks all end in this batch, or {@code -1} if there is none.
+         */
+        private long completedOffset = -1;
+
+        /**
+         * The number of lines whose chunks all end in this batch.
+         */
+        private int completedLines;
+
+        /**
+         * The number of chunks of this batch up to the end of the last completed line.
+         */
+        private int completedChunks;
+
+        private void add(String text, long sourceOffset, int chunkIndex) {
+            texts.add(text);
+            sourceOffsets.add(sourceOffset);
+            chunkIndexes.add(chunkIndex);
+        }
+
+        private void lineCompleted(long endOffset) {
+            completedOffset = endOffset;
+            completedLines++;
+            completedChunks = texts.size();
+        }
+    }
+
+    /**
+     * A batch and its pending embedding request.
+     *
+     * @param batch  The batch.
+     * @param result The embeddings of the batch, or {@code null} for a batch without chunks.
+     */
+    private record Pending(Batch batch, CompletableFuture<GigaChatEmbeddingMatrix> result) {
+    }
+
+    /**
+     * The output vector file and its checkpoint.
+     */
+    private final class Output implements AutoCloseable {
+        private final Path path;
+        private final FileChannel channel;
+        private GigaChatIngestCheckpoint committed;
+        private long lines;
+        private long vectors;
+        private int dimensions;
+        private int batchesSinceCheckpoint;
+
+        private Output(Path path, GigaChatIngestCheckpoint checkpoint) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.committed = checkpoint;
+            this.lines = checkpoint.lines();
+            this.vectors = checkpoint.vectors();
+
+            if (channel.size() >= GigaChatVectorFile.HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(GigaChatVectorFile.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(header, 0);
+                if (header.getInt(0) != GigaChatVectorFile.MAGIC || header.getInt(4) != GigaChatVectorFile.VERSION) {
+                    throw new IOException("Файл не является файлом векторов: " + path);
+                }
+                dimensions = header.getInt(8);
+                if (channel.size() < GigaChatVectorFile.HEADER_SIZE + vectors * GigaChatVectorFile.recordSize(dimensions)) {
+                    throw new IOException("Файл векторов короче контрольной точки: " + path);
+                }
+                channel.truncate(GigaChatVectorFile.HEADER_SIZE + vectors * GigaChatVectorFile.recordSize(dimensions));
+            } else {
+                Assert.isTrue(vectors == 0, "Контрольная точка не соответствует файлу векторов: " + path);
+                channel.truncate(0);
+            }
+        }
+
+        /**
+         * Waits for the embeddings of a batch, appends them and checkpoints the progress every few batches.
+         */
+        private void write(Pending pending) throws IOException {
+            Batch batch = pending.batch();
+            GigaChatEmbeddingMatrix matrix;
+            try {
+                matrix = pending.result().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+
+            long vectorsBefore = vectors;
+            if (matrix != null) {
+                append(batch, matrix);
+            }
+            if (batch.completedOffset >= 0) {
+                lines += batch.completedLines;
+                committed = new GigaChatIngestCheckpoint(batch.completedOffset, lines, vectorsBefore + batch.completedChunks);
+            }
+            if (++batchesSinceCheckpoint >= options.getCheckpointInterval()) {
+                checkpoint();
+            }
+        }
+
+        private void append(Batch batch, GigaChatEmbeddingMatrix matrix) throws IOException {
+            Assert.isTrue(matrix.getRows() == batch.texts.size(), "Число эмбеддингов не совпадает с числом фрагментов");
+            if (dimensions == 0) {
+                dimensions = matrix.getDimensions();
+                ByteBuffer header = ByteBuffer.allocate(GigaChatVectorFile.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(GigaChatVectorFile.MAGIC).putInt(GigaChatVectorFile.VERSION).putInt(dimensions).putInt(0).flip();
+                channel.write(header, 0);
+            }
+            Assert.isTrue(matrix.getDimensions() == dimensions, "Размерность эмбеддингов изменилась: " + matrix.getDimensions() + " вместо " + dimensions);
+
+            int recordSize = GigaChatVectorFile.recordSize(dimensions);
+            ByteBuffer buffer = ByteBuffer.allocate(recordSize * matrix.getRows()).order(ByteOrder.LITTLE_ENDIAN);
+            float[] data = matrix.getData();
+            for (int row = 0; row < matrix.getRows(); row++) {
+                buffer.putLong(batch.sourceOffsets.get(row)).putInt(batch.chunkIndexes.get(row));
+                buffer.asFloatBuffer().put(data, matrix.offset(row), dimensions);
+                buffer.position(buffer.position() + dimensions * Float.BYTES);
+            }
+            buffer.flip();
+
+            long position = GigaChatVectorFile.HEADER_SIZE + vectors * recordSize;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            vectors += matrix.getRows();
+        }
+
+        /**
+         * Flushes the output and records the progress up to the last completed line.
+         */
+        private void checkpoint() throws IOException {
+            channel.force(false);
+            committed.write(path);
+            batchesSinceCheckpoint = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
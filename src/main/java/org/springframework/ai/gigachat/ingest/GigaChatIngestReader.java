@@ -0,0 +1,140 @@
+package org.springframework.ai.gigachat.ingest;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Reader of the lines of a file through a sliding memory-mapped window.
+ *
+ * <p>Only one window of the file is mapped at a time, so files larger than the address space of a single buffer are
+ * read with constant memory. A line crossing the end of the window is read after remapping the window at its start;
+ * a line longer than the window doubles the window.</p>
+ */
+class GigaChatIngestReader implements AutoCloseable {
+
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * The channel of the file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The size of the file.
+     */
+    private final long size;
+
+    /**
+     * The size of the mapped window.
+     */
+    private long windowSize = WINDOW_SIZE;
+
+    /**
+     * The mapped window, or {@code null} before the first read.
+     */
+    private MappedByteBuffer window;
+
+    /**
+     * The offset of the window in the file.
+     */
+    private long windowStart;
+
+    /**
+     * The offset of the next line in the file.
+     */
+    private long position;
+
+    /**
+     * Opens a file for reading from the given offset.
+     *
+     * @param file   The file.
+     * @param offset The offset of the first line to read.
+     * @throws IOException If the file cannot be opened.
+     */
+    GigaChatIngestReader(Path file, long offset) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.position = Math.min(offset, size);
+    }
+
+    /**
+     * Returns the size of the file.
+     *
+     * @return The size in bytes.
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Reads the next line.
+     *
+     * @return The line, or {@code null} at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    Line next() throws IOException {
+        while (position < size) {
+            if (Objects.isNull(window) || position >= windowStart + window.limit()) {
+                map(position);
+            }
+
+            int from = (int) (position - windowStart);
+            int end = from;
+            while (end < window.limit() && window.get(end) != '\n') {
+                end++;
+            }
+
+            boolean lastWindow = windowStart + window.limit() >= size;
+            if (end == window.limit() && !lastWindow) {
+                if (from == 0) {
+                    windowSize *= 2;
+                }
+                map(position);
+                continue;
+            }
+
+            int length = end - from;
+            if (length > 0 && window.get(end - 1) == '\r') {
+                length--;
+            }
+            byte[] bytes = new byte[length];
+            window.get(from, bytes);
+
+            long start = position;
+            position = Math.min(size, windowStart + end + 1);
+            return new Line(new String(bytes, StandardCharsets.UTF_8), start, position);
+        }
+        return null;
+    }
+
+    /**
+     * Maps the window starting at the given offset.
+     *
+     * @param offset The offset of the window.
+     * @throws IOException If the file cannot be mapped.
+     */
+    private void map(long offset) throws IOException {
+        windowStart = offset;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(Math.min(windowSize, Integer.MAX_VALUE), size - offset));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * A line of the file.
+     *
+     * @param text  The text of the line, without the line terminator.
+     * @param start The offset of the line.
+     * @param end   The offset of the next line.
+     */
+    record Line(String text, long start, long end) {
+    }
+}
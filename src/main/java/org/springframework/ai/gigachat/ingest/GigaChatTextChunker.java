@@ -0,0 +1,78 @@
+package org.springframework.ai.gigachat.ingest;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splitter of texts into overlapping chunks of bounded length.
+ *
+ * <p>A chunk ends at the last whitespace of its second half when there is one, so words are split only when a
+ * text has no whitespace for half a chunk.</p>
+ */
+class GigaChatTextChunker {
+
+    /**
+     * The maximum length of a chunk, in characters.
+     */
+    private final int chunkSize;
+
+    /**
+     * The number of characters repeated at the start of the next chunk.
+     */
+    private final int overlap;
+
+    /**
+     * Constructs a new GigaChatTextChunker.
+     *
+     * @param chunkSize The maximum length of a chunk, in characters.
+     * @param overlap   The number of characters repeated at the start of the next chunk.
+     */
+    GigaChatTextChunker(int chunkSize, int overlap) {
+        Assert.isTrue(chunkSize > 0, "Размер фрагмента должен быть положительным");
+        Assert.isTrue(overlap >= 0 && overlap < chunkSize, "Перекрытие должно быть меньше размера фрагмента");
+        this.chunkSize = chunkSize;
+        this.overlap = overlap;
+    }
+
+    /**
+     * Splits a text into chunks.
+     *
+     * @param text The text.
+     * @return The non-blank chunks of the text, empty for a blank text.
+     */
+    List<String> chunk(String text) {
+        String stripped = text.strip();
+        if (stripped.isEmpty()) {
+            return List.of();
+        }
+        if (stripped.length() <= chunkSize) {
+            return List.of(stripped);
+        }
+
+        List<String> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < stripped.length()) {
+            int end = Math.min(start + chunkSize, stripped.length());
+            if (end < stripped.length()) {
+                for (int i = end; i > start + chunkSize / 2; i--) {
+                    if (Character.isWhitespace(stripped.charAt(i))) {
+                        end = i;
+                        break;
+                    }
+                }
+            }
+
+            String chunk = stripped.substring(start, end).strip();
+            if (!chunk.isEmpty()) {
+                chunks.add(chunk);
+            }
+            if (end == stripped.length()) {
+                break;
+            }
+            start = Math.max(start + 1, end - overlap);
+        }
+        return chunks;
+    }
+}
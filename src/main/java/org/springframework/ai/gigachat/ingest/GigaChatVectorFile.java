@@ -0,0 +1,175 @@
+package org.springframework.ai.gigachat.ingest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only, memory-mapped view of a vector file written by {@link GigaChatIngestPipeline}.
+ *
+ * <p>The file starts with a 16-byte header holding the magic number, the format version and the number of
+ * dimensions. It is followed by fixed-size little-endian records: the offset of the source line in the input file,
+ * the index of the chunk within the line and the {@code float} values of the vector.</p>
+ */
+public class GigaChatVectorFile implements AutoCloseable {
+
+    static final int MAGIC = 0x47435631;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final long SEGMENT_RECORDS_LIMIT = Integer.MAX_VALUE;
+
+    /**
+     * The channel of the file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The number of dimensions of the vectors.
+     */
+    private final int dimensions;
+
+    /**
+     * The number of vectors in the file.
+     */
+    private final long size;
+
+    /**
+     * The size of a record in bytes.
+     */
+    private final int recordSize;
+
+    /**
+     * The number of records per mapped segment.
+     */
+    private final long segmentRecords;
+
+    /**
+     * The mapped segments of the records.
+     */
+    private final List<ByteBuffer> segments = new ArrayList<>();
+
+    /**
+     * Opens a vector file.
+     *
+     * @param file The file.
+     * @throws IOException If the file cannot be read or is not a vector file.
+     */
+    public GigaChatVectorFile(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Файл не является файлом векторов: " + file);
+            }
+            this.dimensions = header.getInt(8);
+            this.recordSize = recordSize(dimensions);
+            this.size = (channel.size() - HEADER_SIZE) / recordSize;
+            this.segmentRecords = SEGMENT_RECORDS_LIMIT / recordSize;
+            for (long first = 0; first < size; first += segmentRecords) {
+                long records = Math.min(segmentRecords, size - first);
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * recordSize, records * recordSize);
+                segments.add(segment.order(ByteOrder.LITTLE_ENDIAN));
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the size of a record with the given number of dimensions.
+     *
+     * @param dimensions The number of dimensions.
+     * @return The size of a record in bytes.
+     */
+    static int recordSize(int dimensions) {
+        return RECORD_HEADER_SIZE + dimensions * Float.BYTES;
+    }
+
+    /**
+     * Returns the number of dimensions of the vectors.
+     *
+     * @return The number of dimensions.
+     */
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Returns the number of vectors in the file.
+     *
+     * @return The number of vectors.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the offset of the source line of a vector in the input file.
+     *
+     * @param index The index of the vector.
+     * @return The offset of the source line.
+     */
+    public long sourceOffset(long index) {
+        return segment(index).getLong(position(index));
+    }
+
+    /**
+     * Returns the index of the chunk of a vector within its source line.
+     *
+     * @param index The index of the vector.
+     * @return The index of the chunk.
+     */
+    public int chunkIndex(long index) {
+        return segment(index).getInt(position(index) + Long.BYTES);
+    }
+
+    /**
+     * Copies a vector into an array.
+     *
+     * @param index  The index of the vector.
+     * @param target The array of at least {@link #getDimensions()} elements receiving the vector.
+     */
+    public void vector(long index, float[] target) {
+        segment(index).slice(position(index) + RECORD_HEADER_SIZE, dimensions * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asFloatBuffer()
+                .get(target, 0, dimensions);
+    }
+
+    /**
+     * Returns a vector.
+     *
+     * @param index The index of the vector.
+     * @return A new array holding the vector.
+     */
+    public float[] vector(long index) {
+        float[] vector = new float[dimensions];
+        vector(index, vector);
+        return vector;
+    }
+
+    private ByteBuffer segment(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Индекс вектора вне диапазона: " + index);
+        }
+        return segments.get((int) (index / segmentRecords));
+    }
+
+    private int position(long index) {
+        return (int) (index % segmentRecords) * recordSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,416 @@
+package org.springframework.ai.gigachat.vectorstore;
+
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Hierarchical navigable small world graph over the vectors of a {@link GigaChatVectorArray}.
+ *
+ * <p>Every vector is a node of the bottom layer, and a geometrically decreasing fraction of them is also a node of
+ * the upper layers. A search descends greedily through the upper layers and then explores the bottom layer from the
+ * node it reached, keeping the {@code ef} most similar nodes seen. Neighbours are chosen with the diversity heuristic
+ * of the original paper, topped up with the closest pruned candidates; a full neighbour list drops its least similar
+ * redundant neighbour to make room for a new one.</p>
+ *
+ * <p>The neighbour lists of the bottom layer are kept in one {@code int} array, {@code 2 * maxConnections + 1}
+ * elements per node: the number of neighbours followed by their indexes. The lists of the upper layers of a node
+ * are kept in one array per node, {@code maxConnections + 1} elements per layer. Nodes are never removed; deleted
+ * vectors keep guiding searches and are only left out of the results.</p>
+ *
+ * <p>The index is not thread-safe for writes: inserts must be serialized and must not run concurrently with
+ * searches. Concurrent searches are safe.</p>
+ */
+final class GigaChatHnswIndex {
+
+    private static final int MAX_LEVEL = 16;
+    private static final long SEED = 42;
+
+    /**
+     * The indexed vectors.
+     */
+    private final GigaChatVectorArray vectors;
+
+    /**
+     * The maximum number of neighbours of a node on the upper layers.
+     */
+    private final int maxConnections;
+
+    /**
+     * The maximum number of neighbours of a node on the bottom layer.
+     */
+    private final int maxConnections0;
+
+    /**
+     * The number of candidates examined when a node is inserted.
+     */
+    private final int efConstruction;
+
+    /**
+     * The normalization factor of the level distribution.
+     */
+    private final double levelFactor;
+
+    /**
+     * The source of the node levels.
+     */
+    private final Random random = new Random(SEED);
+
+    /**
+     * The neighbour lists of the bottom layer.
+     */
+    private int[] layer0;
+
+    /**
+     * The top layer of every node.
+     */
+    private int[] levels;
+
+    /**
+     * The neighbour lists of the upper layers of every node, or {@code null} for nodes of the bottom layer only.
+     */
+    private int[][] upper;
+
+    /**
+     * The number of nodes.
+     */
+    private int size;
+
+    /**
+     * The node searches start from, or {@code -1} if the index is empty.
+     */
+    private int entryPoint = -1;
+
+    /**
+     * The top layer of the entry point.
+     */
+    private int maxLevel = -1;
+
+    /**
+     * Constructs an empty index.
+     *
+     * @param vectors        The indexed vectors.
+     * @param maxConnections The maximum number of neighbours of a node on the upper layers.
+     * @param efConstruction The number of candidates examined when a node is inserted.
+     */
+    GigaChatHnswIndex(GigaChatVectorArray vectors, int maxConnections, int efConstruction) {
+        Assert.isTrue(maxConnections > 1, "Число связей узла должно быть больше единицы");
+        Assert.isTrue(efConstruction > 0, "Число кандидатов при построении должно быть положительным");
+        this.vectors = vectors;
+        this.maxConnections = maxConnections;
+        this.maxConnections0 = 2 * maxConnections;
+        this.efConstruction = efConstruction;
+        this.levelFactor = 1 / Math.log(maxConnections);
+        this.layer0 = new int[0];
+        this.levels = new int[0];
+        this.upper = new int[0][];
+    }
+
+    /**
+     * Constructs an index from a saved graph.
+     *
+     * @param vectors        The indexed vectors.
+     * @param maxConnections The maximum number of neighbours of a node on the upper layers.
+     * @param efConstruction The number of candidates examined when a node is inserted.
+     * @param graph          The saved graph.
+     */
+    GigaChatHnswIndex(GigaChatVectorArray vectors, int maxConnections, int efConstruction, Graph graph) {
+        this(vectors, maxConnections, efConstruction);
+        Assert.isTrue(graph.levels().length == graph.size() && graph.layer0().length == graph.size() * (maxConnections0 + 1), "Граф индекса поврежден");
+        this.size = graph.size();
+        this.entryPoint = graph.entryPoint();
+        this.maxLevel = graph.maxLevel();
+        this.levels = graph.levels();
+        this.layer0 = graph.layer0();
+        this.upper = new int[size][];
+        int offset = 0;
+        for (int node = 0; node < size; node++) {
+            if (levels[node] > 0) {
+                int length = levels[node] * (maxConnections + 1);
+                upper[node] = Arrays.copyOfRange(graph.upper(), offset, offset + length);
+                offset += length;
+            }
+        }
+        Assert.isTrue(offset == graph.upper().length, "Граф индекса поврежден");
+    }
+
+    /**
+     * Returns the maximum number of neighbours of a node on the upper layers.
+     */
+    int maxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Returns the number of nodes.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the graph in the form it is saved in.
+     *
+     * @return A copy of the graph.
+     */
+    Graph graph() {
+        int length = 0;
+        for (int node = 0; node < size; node++) {
+            length += levels[node] * (maxConnections + 1);
+        }
+        int[] flat = new int[length];
+        int offset = 0;
+        for (int node = 0; node < size; node++) {
+            if (levels[node] > 0) {
+                System.arraycopy(upper[node], 0, flat, offset, upper[node].length);
+                offset += upper[node].length;
+            }
+        }
+        return new Graph(size, entryPoint, maxLevel, Arrays.copyOf(levels, size), Arrays.copyOf(layer0, size * (maxConnections0 + 1)), flat);
+    }
+
+    /**
+     * Inserts the next vector of the array into the graph.
+     */
+    void insert() {
+        Assert.isTrue(size < vectors.size(), "Все векторы уже добавлены в индекс");
+        int node = size;
+        int level = Math.min((int) (-Math.log(1 - random.nextDouble()) * levelFactor), MAX_LEVEL);
+        ensureCapacity(node + 1);
+        levels[node] = level;
+        if (level > 0) {
+            upper[node] = new int[level * (maxConnections + 1)];
+        }
+        size++;
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        float[] query = vectors.vector(node);
+        int current = entryPoint;
+        float currentScore = vectors.similarity(current, query);
+        for (int layer = maxLevel; layer > level; layer--) {
+            current = greedy(query, current, currentScore, layer);
+            currentScore = vectors.similarity(current, query);
+        }
+
+        BitSet visited = new BitSet(size);
+        for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+            visited.clear();
+            GigaChatNodeHeap.Result candidates = searchLayer(query, current, currentScore, efConstruction, layer, null, visited).drain();
+            int limit = layer == 0 ? maxConnections0 : maxConnections;
+            int[] selected = select(candidates.nodes(), candidates.scores(), limit);
+            setNeighbours(node, layer, selected);
+            for (int neighbour : selected) {
+                connect(neighbour, node, layer, limit);
+            }
+            current = candidates.nodes()[0];
+            currentScore = candidates.scores()[0];
+        }
+
+        if (level > maxLevel) {
+            entryPoint = node;
+            maxLevel = level;
+        }
+    }
+
+    /**
+     * Finds the nodes most similar to a query.
+     *
+     * @param query    The normalized query.
+     * @param count    The number of nodes to find.
+     * @param ef       The number of candidates to examine.
+     * @param excluded The nodes left out of the results, or {@code null}.
+     * @return A min-heap of at most {@code count} nodes.
+     */
+    GigaChatNodeHeap search(float[] query, int count, int ef, BitSet excluded) {
+        if (entryPoint < 0) {
+            return new GigaChatNodeHeap(false, 0);
+        }
+        int current = entryPoint;
+        float currentScore = vectors.similarity(current, query);
+        for (int layer = maxLevel; layer > 0; layer--) {
+            current = greedy(query, current, currentScore, layer);
+            currentScore = vectors.similarity(current, query);
+        }
+        GigaChatNodeHeap results = searchLayer(query, current, currentScore, Math.max(ef, count), 0, excluded, new BitSet(size));
+        while (results.size() > count) {
+            results.pop();
+        }
+        return results;
+    }
+
+    /**
+     * Moves to the most similar neighbour until no neighbour is more similar.
+     */
+    private int greedy(float[] query, int current, float currentScore, int layer) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] links = links(current, layer);
+            int base = base(current, layer);
+            for (int i = 1; i <= links[base]; i++) {
+                int neighbour = links[base + i];
+                float score = vectors.similarity(neighbour, query);
+                if (score > currentScore) {
+                    current = neighbour;
+                    currentScore = score;
+                    changed = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Explores a layer from an entry node, keeping the {@code ef} most similar nodes that are not excluded.
+     */
+    private GigaChatNodeHeap searchLayer(float[] query, int entry, float entryScore, int ef, int layer, BitSet excluded, BitSet visited) {
+        GigaChatNodeHeap candidates = new GigaChatNodeHeap(true, ef);
+        GigaChatNodeHeap results = new GigaChatNodeHeap(false, ef + 1);
+        visited.set(entry);
+        candidates.push(entry, entryScore);
+        if (Objects.isNull(excluded) || !excluded.get(entry)) {
+            results.push(entry, entryScore);
+        }
+        while (!candidates.isEmpty()) {
+            if (results.size() >= ef && candidates.topScore() < results.topScore()) {
+                break;
+            }
+            int current = candidates.pop();
+            int[] links = links(current, layer);
+            int base = base(current, layer);
+            for (int i = 1; i <= links[base]; i++) {
+                int neighbour = links[base + i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                float score = vectors.similarity(neighbour, query);
+                if (results.size() < ef || score > results.topScore()) {
+                    candidates.push(neighbour, score);
+                    if (Objects.isNull(excluded) || !excluded.get(neighbour)) {
+                        results.offer(neighbour, score, ef);
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Chooses the neighbours of a node among candidates sorted from the most to the least similar to it.
+     * A candidate is kept if it is more similar to the node than to any neighbour kept before it; the remaining
+     * places are filled with the most similar of the other candidates.
+     */
+    private int[] select(int[] nodes, float[] scores, int limit) {
+        if (nodes.length <= limit) {
+            return nodes;
+        }
+        int[] selected = new int[limit];
+        int count = 0;
+        int[] pruned = new int[nodes.length];
+        int prunedCount = 0;
+        for (int i = 0; i < nodes.length && count < limit; i++) {
+            boolean diverse = true;
+            for (int j = 0; j < count; j++) {
+                if (vectors.similarity(nodes[i], selected[j]) > scores[i]) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[count++] = nodes[i];
+            } else {
+                pruned[prunedCount++] = nodes[i];
+            }
+        }
+        for (int i = 0; i < prunedCount && count < limit; i++) {
+            selected[count++] = pruned[i];
+        }
+        return selected;
+    }
+
+    /**
+     * Adds a link from a node to a new neighbour. When the list is full, the least similar neighbour that is more
+     * similar to a better neighbour than to the node is dropped, or the least similar neighbour if there is none.
+     * This keeps the list diverse without running the selection heuristic over the whole list again.
+     */
+    private void connect(int node, int neighbour, int layer, int limit) {
+        int[] links = links(node, layer);
+        int base = base(node, layer);
+        int count = links[base];
+        if (count < limit) {
+            links[base + count + 1] = neighbour;
+            links[base] = count + 1;
+            return;
+        }
+        GigaChatNodeHeap heap = new GigaChatNodeHeap(true, count + 1);
+        heap.push(neighbour, vectors.similarity(node, neighbour));
+        for (int i = 1; i <= count; i++) {
+            heap.push(links[base + i], vectors.similarity(node, links[base + i]));
+        }
+        GigaChatNodeHeap.Result candidates = heap.drain();
+        int[] nodes = candidates.nodes();
+        float[] scores = candidates.scores();
+        int dropped = nodes.length - 1;
+        search:
+        for (int i = nodes.length - 1; i > 0; i--) {
+            for (int j = 0; j < i; j++) {
+                if (vectors.similarity(nodes[i], nodes[j]) > scores[i]) {
+                    dropped = i;
+                    break search;
+                }
+            }
+        }
+        links[base] = limit;
+        for (int i = 0, position = base + 1; i < nodes.length; i++) {
+            if (i != dropped) {
+                links[position++] = nodes[i];
+            }
+        }
+    }
+
+    private void setNeighbours(int node, int layer, int[] neighbours) {
+        int[] links = links(node, layer);
+        int base = base(node, layer);
+        links[base] = neighbours.length;
+        System.arraycopy(neighbours, 0, links, base + 1, neighbours.length);
+    }
+
+    private int[] links(int node, int layer) {
+        return layer == 0 ? layer0 : upper[node];
+    }
+
+    private int base(int node, int layer) {
+        return layer == 0 ? node * (maxConnections0 + 1) : (layer - 1) * (maxConnections + 1);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > levels.length) {
+            int length = Math.max(capacity, Math.max(1024, levels.length * 2));
+            levels = Arrays.copyOf(levels, length);
+            upper = Arrays.copyOf(upper, length);
+            layer0 = Arrays.copyOf(layer0, Math.multiplyExact(length, maxConnections0 + 1));
+        }
+    }
+
+    /**
+     * The graph of an index in the form it is saved in.
+     *
+     * @param size       The number of nodes.
+     * @param entryPoint The node searches start from, or {@code -1}.
+     * @param maxLevel   The top layer of the entry point.
+     * @param levels     The top layer of every node.
+     * @param layer0     The neighbour lists of the bottom layer.
+     * @param upper      The neighbour lists of the upper layers of the nodes that have them, in the order of the nodes.
+     */
+    record Graph(int size, int entryPoint, int maxLevel, int[] levels, int[] layer0, int[] upper) {
+    }
+}
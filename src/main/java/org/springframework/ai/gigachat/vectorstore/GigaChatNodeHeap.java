@@ -0,0 +1,182 @@
+package org.springframework.ai.gigachat.vectorstore;
+
+import java.util.Arrays;
+
+/**
+ * Binary heap of vector indexes ordered by similarity, kept in primitive arrays.
+ *
+ * <p>A min-heap holds the best results found so far, with the worst of them on top; a max-heap holds the candidates
+ * still to be visited, with the best of them on top.</p>
+ */
+final class GigaChatNodeHeap {
+
+    /**
+     * Whether the most similar node is on top.
+     */
+    private final boolean max;
+
+    /**
+     * The indexes of the nodes.
+     */
+    private int[] nodes;
+
+    /**
+     * The similarities of the nodes.
+     */
+    private float[] scores;
+
+    /**
+     * The number of nodes in the heap.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty heap.
+     *
+     * @param max      Whether the most similar node is on top.
+     * @param capacity The initial capacity.
+     */
+    GigaChatNodeHeap(boolean max, int capacity) {
+        this.max = max;
+        this.nodes = new int[Math.max(capacity, 4)];
+        this.scores = new float[nodes.length];
+    }
+
+    /**
+     * Returns the number of nodes in the heap.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the heap is empty.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the node on top of the heap.
+     */
+    int topNode() {
+        return nodes[0];
+    }
+
+    /**
+     * Returns the similarity of the node on top of the heap.
+     */
+    float topScore() {
+        return scores[0];
+    }
+
+    /**
+     * Adds a node.
+     *
+     * @param node  The index of the node.
+     * @param score The similarity of the node.
+     */
+    void push(int node, float score) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!above(score, scores[parent])) {
+                break;
+            }
+            nodes[i] = nodes[parent];
+            scores[i] = scores[parent];
+            i = parent;
+        }
+        nodes[i] = node;
+        scores[i] = score;
+    }
+
+    /**
+     * Adds a node to a min-heap limited to a number of nodes, replacing the least similar node when it is full.
+     *
+     * @param node  The index of the node.
+     * @param score The similarity of the node.
+     * @param limit The maximum number of nodes.
+     */
+    void offer(int node, float score, int limit) {
+        if (size < limit) {
+            push(node, score);
+        } else if (score > scores[0]) {
+            nodes[0] = node;
+            scores[0] = score;
+            down(0);
+        }
+    }
+
+    /**
+     * Removes the node on top of the heap.
+     *
+     * @return The index of the node.
+     */
+    int pop() {
+        int node = nodes[0];
+        size--;
+        if (size > 0) {
+            nodes[0] = nodes[size];
+            scores[0] = scores[size];
+            down(0);
+        }
+        return node;
+    }
+
+    /**
+     * Returns the nodes of the heap from the most to the least similar, emptying the heap.
+     *
+     * @return The indexes of the nodes and their similarities.
+     */
+    Result drain() {
+        int[] sortedNodes = new int[size];
+        float[] sortedScores = new float[size];
+        int count = size;
+        for (int i = 0; i < count; i++) {
+            int position = max ? i : count - 1 - i;
+            sortedScores[position] = scores[0];
+            sortedNodes[position] = pop();
+        }
+        return new Result(sortedNodes, sortedScores);
+    }
+
+    private void down(int i) {
+        int node = nodes[i];
+        float score = scores[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && above(scores[child + 1], scores[child])) {
+                child++;
+            }
+            if (!above(scores[child], score)) {
+                break;
+            }
+            nodes[i] = nodes[child];
+            scores[i] = scores[child];
+            i = child;
+        }
+        nodes[i] = node;
+        scores[i] = score;
+    }
+
+    private boolean above(float score, float other) {
+        return max ? score > other : score < other;
+    }
+
+    /**
+     * Nodes ordered from the most to the least similar.
+     *
+     * @param nodes  The indexes of the nodes.
+     * @param scores The similarities of the nodes.
+     */
+    record Result(int[] nodes, float[] scores) {
+    }
+}
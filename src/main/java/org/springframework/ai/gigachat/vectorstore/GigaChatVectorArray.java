@@ -0,0 +1,169 @@
+package org.springframework.ai.gigachat.vectorstore;
+
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+
+/**
+ * Unit-length vectors stored back to back in a single {@code float} array.
+ *
+ * <p>Since every vector is normalized when it is added, the cosine similarity of two vectors is their dot product.
+ * The dot product is computed with independent accumulators, which lets the JIT keep several multiply-add chains
+ * in flight instead of waiting on a single one.</p>
+ */
+final class GigaChatVectorArray {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * The number of dimensions of the vectors.
+     */
+    private final int dimensions;
+
+    /**
+     * The components of the vectors; the vector {@code i} starts at {@code i * dimensions}.
+     */
+    private float[] data;
+
+    /**
+     * The number of vectors.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty array.
+     *
+     * @param dimensions The number of dimensions of the vectors.
+     */
+    GigaChatVectorArray(int dimensions) {
+        this(dimensions, new float[0], 0);
+    }
+
+    /**
+     * Constructs an array over existing, already normalized vectors.
+     *
+     * @param dimensions The number of dimensions of the vectors.
+     * @param data       The components of the vectors.
+     * @param size       The number of vectors.
+     */
+    GigaChatVectorArray(int dimensions, float[] data, int size) {
+        Assert.isTrue(dimensions > 0, "Размерность векторов должна быть положительной");
+        Assert.isTrue((long) size * dimensions <= data.length, "Недостаточно данных для векторов");
+        this.dimensions = dimensions;
+        this.data = data;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of dimensions of the vectors.
+     */
+    int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Returns the number of vectors.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the backing array; only the first {@code size() * dimensions()} elements are meaningful.
+     */
+    float[] data() {
+        return data;
+    }
+
+    /**
+     * Appends a vector, normalizing it.
+     *
+     * @param vector The vector.
+     * @return The index of the vector.
+     */
+    int add(float[] vector) {
+        Assert.isTrue(vector.length == dimensions, "Размерность вектора " + vector.length + " не совпадает с размерностью хранилища " + dimensions);
+        if ((long) (size + 1) * dimensions > data.length) {
+            long maxVectors = MAX_ARRAY_SIZE / dimensions;
+            if (size >= maxVectors) {
+                throw new IllegalStateException("Превышена емкость хранилища векторов: " + maxVectors);
+            }
+            long capacity = Math.min(Math.max(INITIAL_CAPACITY, (long) size * 2), maxVectors);
+            data = Arrays.copyOf(data, (int) (capacity * dimensions));
+        }
+        normalize(vector, data, size * dimensions);
+        return size++;
+    }
+
+    /**
+     * Returns the cosine similarity of a stored vector and a normalized query.
+     *
+     * @param index The index of the stored vector.
+     * @param query The normalized query.
+     * @return The similarity.
+     */
+    float similarity(int index, float[] query) {
+        return dot(data, index * dimensions, query, 0, dimensions);
+    }
+
+    /**
+     * Returns the cosine similarity of two stored vectors.
+     *
+     * @param first  The index of the first vector.
+     * @param second The index of the second vector.
+     * @return The similarity.
+     */
+    float similarity(int first, int second) {
+        return dot(data, first * dimensions, data, second * dimensions, dimensions);
+    }
+
+    /**
+     * Copies a stored vector.
+     *
+     * @param index The index of the vector.
+     * @return The normalized vector.
+     */
+    float[] vector(int index) {
+        return Arrays.copyOfRange(data, index * dimensions, (index + 1) * dimensions);
+    }
+
+    /**
+     * Returns a normalized copy of a vector.
+     *
+     * @param vector The vector.
+     * @return The vector of unit length.
+     */
+    static float[] normalize(float[] vector) {
+        float[] result = new float[vector.length];
+        normalize(vector, result, 0);
+        return result;
+    }
+
+    private static void normalize(float[] vector, float[] target, int offset) {
+        double norm = Math.sqrt(dot(vector, 0, vector, 0, vector.length));
+        Assert.isTrue(norm > 0, "Вектор не может быть нулевым");
+        float scale = (float) (1 / norm);
+        for (int i = 0; i < vector.length; i++) {
+            target[offset + i] = vector[i] * scale;
+        }
+    }
+
+    private static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float s0 = 0;
+        float s1 = 0;
+        float s2 = 0;
+        float s3 = 0;
+        int i = 0;
+        for (int bound = length & ~3; i < bound; i += 4) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+            s1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+            s2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+            s3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+}
@@ -0,0 +1,453 @@
+package org.springframework.ai.gigachat.vectorstore;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.DocumentMetadata;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptionsBuilder;
+import org.springframework.ai.gigachat.api.GigaChatApi;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.observation.conventions.VectorStoreSimilarityMetric;
+import org.springframework.ai.vectorstore.AbstractVectorStoreBuilder;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionConverter;
+import org.springframework.ai.vectorstore.filter.converter.SimpleVectorStoreFilterExpressionConverter;
+import org.springframework.ai.vectorstore.observation.AbstractObservationVectorStore;
+import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-process vector store over GigaChat embeddings.
+ *
+ * <p>The vectors are normalized and kept back to back in a single {@code float} array, so the cosine similarity is a
+ * dot product over contiguous memory. Up to {@link GigaChatVectorStoreOptions#getIndexThreshold()} vectors a search
+ * scans all of them and is exact; from that size on an HNSW index is built and maintained on every insert, and
+ * searches become approximate. Searches with a filter expression always scan, evaluating the filter only for the
+ * documents that would enter the results. Filter expressions use the syntax of Spring AI's {@code SimpleVectorStore}.</p>
+ *
+ * <p>Deleted documents leave their vectors in place until {@link #compact()} is called. The store can be saved to a
+ * file and loaded back with the vectors and the index copied through memory mappings, which avoids both re-embedding
+ * the documents and rebuilding the index on restart.</p>
+ */
+public class GigaChatVectorStore extends AbstractObservationVectorStore {
+
+    /**
+     * The type of the saved documents.
+     */
+    private static final TypeReference<List<Entry>> ENTRIES_TYPE = new TypeReference<>() {
+    };
+
+    /**
+     * The options of the store.
+     */
+    private final GigaChatVectorStoreOptions options;
+
+    /**
+     * The parser of filter expressions.
+     */
+    private final SpelExpressionParser expressionParser = new SpelExpressionParser();
+
+    /**
+     * The converter of filter expressions into SpEL.
+     */
+    private final FilterExpressionConverter filterExpressionConverter = new SimpleVectorStoreFilterExpressionConverter();
+
+    /**
+     * Guards the state below: searches take the read lock, changes the write lock.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * The vectors, or {@code null} until the number of dimensions is known.
+     */
+    private GigaChatVectorArray vectors;
+
+    /**
+     * The document of every vector, {@code null} for deleted ones.
+     */
+    private List<Entry> entries = new ArrayList<>();
+
+    /**
+     * The vector of every document by identifier.
+     */
+    private Map<String, Integer> slots = new HashMap<>();
+
+    /**
+     * The deleted vectors.
+     */
+    private BitSet deleted = new BitSet();
+
+    /**
+     * The index, or {@code null} while the store is below the threshold.
+     */
+    private GigaChatHnswIndex index;
+
+    /**
+     * Constructs a new GigaChatVectorStore.
+     *
+     * @param builder The builder holding the configuration.
+     */
+    protected GigaChatVectorStore(Builder builder) {
+        super(builder);
+        Assert.notNull(builder.options, "Параметры хранилища не могут быть пустыми");
+        Assert.isTrue(builder.options.getIndexThreshold() > 0, "Порог построения индекса должен быть положительным");
+        Assert.isTrue(builder.options.getEfSearch() > 0, "Число кандидатов при поиске должно быть положительным");
+        this.options = builder.options;
+    }
+
+    /**
+     * Creates a builder of a store embedding documents with the given model, typically a
+     * {@link org.springframework.ai.gigachat.GigaChatEmbeddingModel}.
+     *
+     * @param embeddingModel The embedding model.
+     * @return The builder.
+     */
+    public static Builder builder(EmbeddingModel embeddingModel) {
+        return new Builder(embeddingModel);
+    }
+
+    @Override
+    public void doAdd(List<Document> documents) {
+        Assert.notNull(documents, "Список документов не может быть пустым");
+        if (documents.isEmpty()) {
+            return;
+        }
+        List<float[]> embeddings = embeddingModel.embed(documents, EmbeddingOptionsBuilder.builder().build(), batchingStrategy);
+
+        lock.writeLock().lock();
+        try {
+            int dimensions = Objects.isNull(vectors) ? embeddings.get(0).length : vectors.dimensions();
+            for (float[] embedding : embeddings) {
+                Assert.isTrue(embedding.length == dimensions, "Размерность вектора " + embedding.length + " не совпадает с размерностью хранилища " + dimensions);
+            }
+            if (Objects.isNull(vectors)) {
+                vectors = new GigaChatVectorArray(dimensions);
+            }
+            for (int i = 0; i < documents.size(); i++) {
+                Document document = documents.get(i);
+                remove(document.getId());
+                int slot = vectors.add(embeddings.get(i));
+                entries.add(new Entry(document.getId(), document.getText(), document.getMetadata()));
+                slots.put(document.getId(), slot);
+                if (Objects.nonNull(index)) {
+                    index.insert();
+                }
+            }
+            if (Objects.isNull(index) && slots.size() >= options.getIndexThreshold()) {
+                index = buildIndex(options.getMaxConnections());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void doDelete(List<String> idList) {
+        lock.writeLock().lock();
+        try {
+            idList.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    protected void doDelete(Filter.Expression filterExpression) {
+        Predicate<Entry> filter = filter(filterExpression);
+        lock.writeLock().lock();
+        try {
+            for (int slot = 0; slot < entries.size(); slot++) {
+                Entry entry = entries.get(slot);
+                if (Objects.nonNull(entry) && filter.test(entry)) {
+                    remove(entry.id());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Document> doSimilaritySearch(SearchRequest request) {
+        float[] query = GigaChatVectorArray.normalize(embeddingModel.embed(request.getQuery()));
+        Predicate<Entry> filter = request.hasFilterExpression() ? filter(request.getFilterExpression()) : null;
+        float threshold = (float) request.getSimilarityThreshold();
+
+        lock.readLock().lock();
+        try {
+            if (Objects.isNull(vectors) || request.getTopK() <= 0) {
+                return List.of();
+            }
+            Assert.isTrue(query.length == vectors.dimensions(), "Размерность запроса " + query.length + " не совпадает с размерностью хранилища " + vectors.dimensions());
+            GigaChatNodeHeap results = Objects.isNull(index) || Objects.nonNull(filter)
+                    ? scan(query, request.getTopK(), threshold, filter)
+                    : index.search(query, request.getTopK(), options.getEfSearch(), deleted);
+
+            GigaChatNodeHeap.Result sorted = results.drain();
+            List<Document> documents = new ArrayList<>(sorted.nodes().length);
+            for (int i = 0; i < sorted.nodes().length; i++) {
+                if (sorted.scores()[i] >= threshold) {
+                    documents.add(entries.get(sorted.nodes()[i]).toDocument(sorted.scores()[i]));
+                }
+            }
+            return documents;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public VectorStoreObservationContext.Builder createObservationContextBuilder(String operationName) {
+        lock.readLock().lock();
+        try {
+            return VectorStoreObservationContext.builder(GigaChatApi.PROVIDER_NAME, operationName)
+                    .dimensions(Objects.isNull(vectors) ? null : vectors.dimensions())
+                    .collectionName("in-memory")
+                    .similarityMetric(VectorStoreSimilarityMetric.COSINE.value());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of documents in the store.
+     *
+     * @return The number of documents.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns whether searches use the HNSW index.
+     *
+     * @return {@code true} if the index is built.
+     */
+    public boolean isIndexed() {
+        lock.readLock().lock();
+        try {
+            return Objects.nonNull(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Releases the vectors of deleted documents, rebuilding the index if there is one.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            if (Objects.isNull(vectors) || deleted.isEmpty()) {
+                return;
+            }
+            GigaChatVectorArray compacted = new GigaChatVectorArray(vectors.dimensions());
+            List<Entry> compactedEntries = new ArrayList<>(slots.size());
+            Map<String, Integer> compactedSlots = new HashMap<>();
+            for (int slot = 0; slot < vectors.size(); slot++) {
+                if (!deleted.get(slot)) {
+                    compactedSlots.put(entries.get(slot).id(), compacted.add(vectors.vector(slot)));
+                    compactedEntries.add(entries.get(slot));
+                }
+            }
+            vectors = compacted;
+            entries = compactedEntries;
+            slots = compactedSlots;
+            deleted = new BitSet();
+            if (Objects.nonNull(index)) {
+                index = buildIndex(index.maxConnections());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Saves the store to a file, replacing it atomically.
+     *
+     * @param file The file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        lock.readLock().lock();
+        try {
+            int size = Objects.isNull(vectors) ? 0 : vectors.size();
+            GigaChatHnswIndex.Graph graph = Objects.isNull(index) ? null : index.graph();
+            GigaChatVectorStoreFile.write(file, new GigaChatVectorStoreFile.Snapshot(
+                    Objects.isNull(vectors) ? 0 : vectors.dimensions(),
+                    size,
+                    Objects.isNull(vectors) ? new float[0] : vectors.data(),
+                    Arrays.copyOf(deleted.toLongArray(), GigaChatVectorStoreFile.words(size)),
+                    Objects.isNull(index) ? 0 : index.maxConnections(),
+                    graph,
+                    ModelOptionsUtils.OBJECT_MAPPER.writeValueAsBytes(entries)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the content of the store with a file written by {@link #save(Path)}.
+     *
+     * @param file The file.
+     * @throws IOException If the file cannot be read or is not a vector store file.
+     */
+    public void load(Path file) throws IOException {
+        GigaChatVectorStoreFile.Snapshot snapshot = GigaChatVectorStoreFile.read(file);
+        List<Entry> loadedEntries;
+        try {
+            loadedEntries = ModelOptionsUtils.OBJECT_MAPPER.readValue(snapshot.documents(), ENTRIES_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IOException("Файл хранилища векторов поврежден: " + file, e);
+        }
+        if (loadedEntries.size() != snapshot.size()) {
+            throw new IOException("Файл хранилища векторов поврежден: " + file);
+        }
+
+        lock.writeLock().lock();
+        try {
+            vectors = snapshot.size() == 0 ? null : new GigaChatVectorArray(snapshot.dimensions(), snapshot.vectors(), snapshot.size());
+            entries = new ArrayList<>(loadedEntries);
+            deleted = BitSet.valueOf(snapshot.deleted());
+            slots = new HashMap<>();
+            for (int slot = 0; slot < entries.size(); slot++) {
+                if (!deleted.get(slot)) {
+                    slots.put(entries.get(slot).id(), slot);
+                }
+            }
+            index = null;
+            if (Objects.nonNull(snapshot.graph()) && Objects.nonNull(vectors)) {
+                index = new GigaChatHnswIndex(vectors, snapshot.maxConnections(), options.getEfConstruction(), snapshot.graph());
+            } else if (slots.size() >= options.getIndexThreshold()) {
+                index = buildIndex(options.getMaxConnections());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes a document if it is in the store. Must be called under the write lock.
+     */
+    private void remove(String id) {
+        Integer slot = slots.remove(id);
+        if (Objects.nonNull(slot)) {
+            deleted.set(slot);
+            entries.set(slot, null);
+        }
+    }
+
+    /**
+     * Builds the index over all the vectors. Must be called under the write lock.
+     */
+    private GigaChatHnswIndex buildIndex(int maxConnections) {
+        GigaChatHnswIndex built = new GigaChatHnswIndex(vectors, maxConnections, options.getEfConstruction());
+        for (int slot = 0; slot < vectors.size(); slot++) {
+            built.insert();
+        }
+        return built;
+    }
+
+    /**
+     * Finds the most similar documents by comparing the query with every vector. The filter is only evaluated
+     * for the documents that would enter the results. Must be called under the read lock.
+     */
+    private GigaChatNodeHeap scan(float[] query, int count, float threshold, Predicate<Entry> filter) {
+        GigaChatNodeHeap results = new GigaChatNodeHeap(false, Math.min(count, slots.size()) + 1);
+        for (int slot = 0; slot < vectors.size(); slot++) {
+            if (deleted.get(slot)) {
+                continue;
+            }
+            float score = vectors.similarity(slot, query);
+            if (score < threshold || (results.size() >= count && score <= results.topScore())) {
+                continue;
+            }
+            if (Objects.isNull(filter) || filter.test(entries.get(slot))) {
+                results.offer(slot, score, count);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Converts a filter expression into a predicate over the documents.
+     */
+    private Predicate<Entry> filter(Filter.Expression filterExpression) {
+        Expression expression = expressionParser.parseExpression(filterExpressionConverter.convertExpression(filterExpression));
+        return entry -> {
+            StandardEvaluationContext context = new StandardEvaluationContext();
+            context.setVariable("metadata", entry.metadata());
+            return Boolean.TRUE.equals(expression.getValue(context, Boolean.class));
+        };
+    }
+
+    /**
+     * A stored document.
+     *
+     * @param id       The identifier of the document.
+     * @param text     The text of the document.
+     * @param metadata The metadata of the document.
+     */
+    record Entry(String id, String text, Map<String, Object> metadata) {
+
+        private Document toDocument(float score) {
+            Map<String, Object> documentMetadata = new HashMap<>(metadata);
+            documentMetadata.put(DocumentMetadata.DISTANCE.value(), 1.0 - score);
+            return Document.builder().id(id).text(text).metadata(documentMetadata).score((double) score).build();
+        }
+    }
+
+    /**
+     * Builder of {@link GigaChatVectorStore}.
+     */
+    public static final class Builder extends AbstractVectorStoreBuilder<Builder> {
+
+        /**
+         * The options of the store.
+         */
+        private GigaChatVectorStoreOptions options = GigaChatVectorStoreOptions.builder().build();
+
+        private Builder(EmbeddingModel embeddingModel) {
+            super(embeddingModel);
+        }
+
+        /**
+         * Sets the options of the store.
+         *
+         * @param options The options.
+         * @return This builder.
+         */
+        public Builder options(GigaChatVectorStoreOptions options) {
+            this.options = options;
+            return this;
+        }
+
+        @Override
+        public GigaChatVectorStore build() {
+            return new GigaChatVectorStore(this);
+        }
+    }
+}
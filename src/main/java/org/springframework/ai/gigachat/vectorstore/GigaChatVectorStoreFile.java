@@ -0,0 +1,252 @@
+package org.springframework.ai.gigachat.vectorstore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Binary file holding a snapshot of a {@link GigaChatVectorStore}.
+ *
+ * <p>The file starts with a 32-byte header: the magic number, the format version, the number of dimensions, the
+ * number of vectors, the maximum number of connections of the index (zero without an index), its entry point and
+ * its top layer. It is followed by little-endian sections: the normalized vectors, the bitmap of deleted vectors,
+ * the graph of the index if there is one, and the length-prefixed JSON of the documents. The sections are copied
+ * to and from memory-mapped regions of the file in bulk, so a snapshot loads at the speed of the disk.</p>
+ */
+final class GigaChatVectorStoreFile {
+
+    static final int MAGIC = 0x47435653;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    private static final int REGION_SIZE = 1 << 30;
+
+    private GigaChatVectorStoreFile() {
+    }
+
+    /**
+     * Writes a snapshot, replacing the file atomically.
+     *
+     * @param file     The file.
+     * @param snapshot The snapshot.
+     * @throws IOException If the file cannot be written.
+     */
+    static void write(Path file, Snapshot snapshot) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Regions regions = new Regions(channel, FileChannel.MapMode.READ_WRITE);
+            GigaChatHnswIndex.Graph graph = snapshot.graph();
+            ByteBuffer header = regions.next(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(snapshot.dimensions()).putInt(snapshot.size())
+                    .putInt(snapshot.maxConnections())
+                    .putInt(Objects.isNull(graph) ? -1 : graph.entryPoint())
+                    .putInt(Objects.isNull(graph) ? -1 : graph.maxLevel())
+                    .putInt(0);
+            regions.force(header);
+
+            regions.writeFloats(snapshot.vectors(), snapshot.size() * snapshot.dimensions());
+            regions.writeLongs(snapshot.deleted(), snapshot.deleted().length);
+            if (Objects.nonNull(graph)) {
+                regions.writeInts(graph.levels(), graph.levels().length);
+                regions.writeInts(graph.layer0(), graph.layer0().length);
+                ByteBuffer length = regions.next(Long.BYTES);
+                length.putLong(graph.upper().length);
+                regions.force(length);
+                regions.writeInts(graph.upper(), graph.upper().length);
+            }
+            ByteBuffer length = regions.next(Long.BYTES);
+            length.putLong(snapshot.documents().length);
+            regions.force(length);
+            regions.writeBytes(snapshot.documents());
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param file The file.
+     * @return The snapshot.
+     * @throws IOException If the file cannot be read or is not a vector store file.
+     */
+    static Snapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Файл не является файлом хранилища векторов: " + file);
+            }
+            Regions regions = new Regions(channel, FileChannel.MapMode.READ_ONLY);
+            ByteBuffer header = regions.next(HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Файл не является файлом хранилища векторов: " + file);
+            }
+            int dimensions = header.getInt();
+            int size = header.getInt();
+            int maxConnections = header.getInt();
+            int entryPoint = header.getInt();
+            int maxLevel = header.getInt();
+
+            float[] vectors = new float[Math.multiplyExact(size, dimensions)];
+            regions.readFloats(vectors);
+            long[] deleted = new long[words(size)];
+            regions.readLongs(deleted);
+            GigaChatHnswIndex.Graph graph = null;
+            if (maxConnections > 0) {
+                int[] levels = new int[size];
+                regions.readInts(levels);
+                int[] layer0 = new int[Math.multiplyExact(size, 2 * maxConnections + 1)];
+                regions.readInts(layer0);
+                int[] upper = new int[Math.toIntExact(regions.next(Long.BYTES).getLong())];
+                regions.readInts(upper);
+                graph = new GigaChatHnswIndex.Graph(size, entryPoint, maxLevel, levels, layer0, upper);
+            }
+            byte[] documents = new byte[Math.toIntExact(regions.next(Long.BYTES).getLong())];
+            regions.readBytes(documents);
+            return new Snapshot(dimensions, size, vectors, deleted, maxConnections, graph, documents);
+        } catch (IndexOutOfBoundsException | ArithmeticException | NegativeArraySizeException e) {
+            throw new IOException("Файл хранилища векторов поврежден: " + file, e);
+        }
+    }
+
+    /**
+     * Returns the number of {@code long} words of a bitmap.
+     *
+     * @param bits The number of bits.
+     * @return The number of words.
+     */
+    static int words(int bits) {
+        return (bits + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * The content of a vector store file.
+     *
+     * @param dimensions     The number of dimensions of the vectors.
+     * @param size           The number of vectors, deleted ones included.
+     * @param vectors        The normalized vectors, back to back.
+     * @param deleted        The bitmap of deleted vectors, {@link #words(int)} words long.
+     * @param maxConnections The maximum number of connections of the index, or zero without an index.
+     * @param graph          The graph of the index, or {@code null}.
+     * @param documents      The JSON of the documents.
+     */
+    record Snapshot(int dimensions, int size, float[] vectors, long[] deleted, int maxConnections,
+                    GigaChatHnswIndex.Graph graph, byte[] documents) {
+    }
+
+    /**
+     * Consecutive memory-mapped regions of a file.
+     */
+    private static final class Regions {
+
+        /**
+         * The channel of the file.
+         */
+        private final FileChannel channel;
+
+        /**
+         * The mapping mode.
+         */
+        private final FileChannel.MapMode mode;
+
+        /**
+         * The position of the next region.
+         */
+        private long position;
+
+        private Regions(FileChannel channel, FileChannel.MapMode mode) {
+            this.channel = channel;
+            this.mode = mode;
+        }
+
+        private ByteBuffer next(long bytes) throws IOException {
+            if (mode == FileChannel.MapMode.READ_ONLY && position + bytes > channel.size()) {
+                throw new IndexOutOfBoundsException("Файл короче ожидаемого");
+            }
+            MappedByteBuffer buffer = channel.map(mode, position, bytes);
+            position += bytes;
+            return buffer.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        private void force(ByteBuffer buffer) {
+            ((MappedByteBuffer) buffer).force();
+        }
+
+        private void writeFloats(float[] values, int length) throws IOException {
+            for (int offset = 0; offset < length; ) {
+                int count = Math.min(length - offset, REGION_SIZE / Float.BYTES);
+                ByteBuffer buffer = next((long) count * Float.BYTES);
+                buffer.asFloatBuffer().put(values, offset, count);
+                force(buffer);
+                offset += count;
+            }
+        }
+
+        private void writeInts(int[] values, int length) throws IOException {
+            for (int offset = 0; offset < length; ) {
+                int count = Math.min(length - offset, REGION_SIZE / Integer.BYTES);
+                ByteBuffer buffer = next((long) count * Integer.BYTES);
+                buffer.asIntBuffer().put(values, offset, count);
+                force(buffer);
+                offset += count;
+            }
+        }
+
+        private void writeLongs(long[] values, int length) throws IOException {
+            for (int offset = 0; offset < length; ) {
+                int count = Math.min(length - offset, REGION_SIZE / Long.BYTES);
+                ByteBuffer buffer = next((long) count * Long.BYTES);
+                buffer.asLongBuffer().put(values, offset, count);
+                force(buffer);
+                offset += count;
+            }
+        }
+
+        private void writeBytes(byte[] values) throws IOException {
+            for (int offset = 0; offset < values.length; ) {
+                int count = Math.min(values.length - offset, REGION_SIZE);
+                ByteBuffer buffer = next(count);
+                buffer.put(values, offset, count);
+                force(buffer);
+                offset += count;
+            }
+        }
+
+        private void readFloats(float[] values) throws IOException {
+            for (int offset = 0; offset < values.length; ) {
+                int count = Math.min(values.length - offset, REGION_SIZE / Float.BYTES);
+                next((long) count * Float.BYTES).asFloatBuffer().get(values, offset, count);
+                offset += count;
+            }
+        }
+
+        private void readInts(int[] values) throws IOException {
+            for (int offset = 0; offset < values.length; ) {
+                int count = Math.min(values.length - offset, REGION_SIZE / Integer.BYTES);
+                next((long) count * Integer.BYTES).asIntBuffer().get(values, offset, count);
+                offset += count;
+            }
+        }
+
+        private void readLongs(long[] values) throws IOException {
+            for (int offset = 0; offset < values.length; ) {
+                int count = Math.min(values.length - offset, REGION_SIZE / Long.BYTES);
+                next((long) count * Long.BYTES).asLongBuffer().get(values, offset, count);
+                offset += count;
+            }
+        }
+
+        private void readBytes(byte[] values) throws IOException {
+            for (int offset = 0; offset < values.length; ) {
+                int count = Math.min(values.length - offset, REGION_SIZE);
+                next(count).get(values, offset, count);
+                offset += count;
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.springframework.ai.gigachat.vectorstore;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Options of a {@link GigaChatVectorStore}.
+ */
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class GigaChatVectorStoreOptions {
+
+    /**
+     * The number of vectors from which searches use the HNSW index instead of scanning all vectors.
+     * {@link Integer#MAX_VALUE} disables the index.
+     */
+    @Builder.Default
+    private int indexThreshold = 20_000;
+
+    /**
+     * The number of neighbours of a node on the upper layers of the index; the bottom layer keeps twice as many.
+     */
+    @Builder.Default
+    private int maxConnections = 16;
+
+    /**
+     * The number of candidates examined when a vector is inserted into the index.
+     */
+    @Builder.Default
+    private int efConstruction = 100;
+
+    /**
+     * The number of candidates examined by a search; raised to the number of requested documents if lower.
+     */
+    @Builder.Default
+    private int efSearch = 100;
+}
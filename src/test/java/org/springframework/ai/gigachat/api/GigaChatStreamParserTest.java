@@ -0,0 +1,167 @@
+package org.springframework.ai.gigachat.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.gigachat.api.model.GigaChatChatResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link GigaChatStreamParser} on streams split into arbitrary buffers.
+ */
+class GigaChatStreamParserTest {
+
+    private static final String CHUNK = "{\"choices\":[{\"delta\":{\"content\":\"%s\",\"role\":\"assistant\"},\"index\":0}],\"model\":\"GigaChat\"}";
+
+    @Test
+    void parsesEventsSplitAcrossBuffers() throws IOException {
+        byte[] fixture = fixture("chat-stream-short.sse");
+        List<GigaChatChatResponse> whole = parse(fixture, fixture.length);
+
+        for (int size : new int[]{1, 2, 3, 7, 64, 1000}) {
+            GigaChatStreamParser parser = new GigaChatStreamParser();
+            List<GigaChatChatResponse> chunks = parse(parser, fixture, size);
+            assertTrue(parser.isDone(), "буфер " + size);
+            assertEquals(content(whole), content(chunks), "буфер " + size);
+            assertEquals(whole.size(), chunks.size(), "буфер " + size);
+        }
+        assertEquals(count(fixture, "data: {"), whole.size());
+    }
+
+    @Test
+    void decodesMultiByteCharacterSplitAcrossBuffers() {
+        byte[] event = ("data: " + CHUNK.formatted("Привет") + "\n\n").getBytes(StandardCharsets.UTF_8);
+        int split = indexOf(event, "Привет".getBytes(StandardCharsets.UTF_8)) + 1;
+
+        GigaChatStreamParser parser = new GigaChatStreamParser();
+        List<GigaChatChatResponse> chunks = new ArrayList<>(parser.parse(buffer(event, 0, split)));
+        assertTrue(chunks.isEmpty());
+        chunks.addAll(parser.parse(buffer(event, split, event.length)));
+
+        assertEquals("Привет", content(chunks));
+    }
+
+    @Test
+    void handlesCarriageReturnLineEndings() throws IOException {
+        byte[] fixture = fixture("chat-stream-function.sse");
+        String expected = content(parse(fixture, fixture.length));
+        String text = new String(fixture, StandardCharsets.UTF_8);
+
+        for (String ending : new String[]{"\r\n", "\r"}) {
+            byte[] converted = text.replace("\n", ending).getBytes(StandardCharsets.UTF_8);
+            for (int size : new int[]{1, 2, converted.length}) {
+                GigaChatStreamParser parser = new GigaChatStreamParser();
+                List<GigaChatChatResponse> chunks = parse(parser, converted, size);
+                assertEquals(2, chunks.size());
+                assertEquals(expected, content(chunks));
+                assertEquals("weather_forecast", last(chunks).getDelta().getFunctionCall().getName());
+                assertTrue(parser.isDone());
+            }
+        }
+    }
+
+    @Test
+    void joinsMultiLineData() {
+        byte[] event = "data: {\"choices\":[{\"delta\":\ndata: {\"content\":\"a\"}}]}\n\n".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("a", content(parse(event, event.length)));
+    }
+
+    @Test
+    void stopsAtDoneMarker() {
+        byte[] stream = ("data: " + CHUNK.formatted("a") + "\n\ndata: [DONE]\n\ndata: " + CHUNK.formatted("b") + "\n\n")
+                .getBytes(StandardCharsets.UTF_8);
+
+        GigaChatStreamParser parser = new GigaChatStreamParser();
+        List<GigaChatChatResponse> chunks = parser.parse(buffer(stream, 0, stream.length));
+
+        assertEquals("a", content(chunks));
+        assertTrue(parser.isDone());
+        assertTrue(parser.parse(buffer(stream, 0, stream.length)).isEmpty());
+        assertTrue(parser.finish().isEmpty());
+    }
+
+    @Test
+    void dispatchesTrailingEventWithoutBlankLine() {
+        byte[] stream = ("data: " + CHUNK.formatted("a") + "\n\ndata: " + CHUNK.formatted("b")).getBytes(StandardCharsets.UTF_8);
+
+        GigaChatStreamParser parser = new GigaChatStreamParser();
+        List<GigaChatChatResponse> chunks = new ArrayList<>(parser.parse(buffer(stream, 0, stream.length)));
+        assertEquals("a", content(chunks));
+
+        chunks.addAll(parser.finish());
+        assertEquals("ab", content(chunks));
+        assertFalse(parser.isDone());
+    }
+
+    @Test
+    void ignoresCommentsAndOtherFields() {
+        byte[] stream = (": ping\nevent: message\nid: 1\ndata:" + CHUNK.formatted("a") + "\n\n: ping\n\n")
+                .getBytes(StandardCharsets.UTF_8);
+
+        List<GigaChatChatResponse> chunks = parse(stream, 5);
+
+        assertEquals(1, chunks.size());
+        assertEquals("a", content(chunks));
+    }
+
+    private static List<GigaChatChatResponse> parse(byte[] stream, int size) {
+        return parse(new GigaChatStreamParser(), stream, size);
+    }
+
+    private static List<GigaChatChatResponse> parse(GigaChatStreamParser parser, byte[] stream, int size) {
+        List<GigaChatChatResponse> chunks = new ArrayList<>();
+        for (int from = 0; from < stream.length && !parser.isDone(); from += size) {
+            chunks.addAll(parser.parse(buffer(stream, from, Math.min(from + size, stream.length))));
+        }
+        chunks.addAll(parser.finish());
+        return chunks;
+    }
+
+    private static DataBuffer buffer(byte[] bytes, int from, int to) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, from, to));
+    }
+
+    private static String content(List<GigaChatChatResponse> chunks) {
+        StringBuilder content = new StringBuilder();
+        for (GigaChatChatResponse chunk : chunks) {
+            content.append(Objects.toString(chunk.getChoices().iterator().next().getDelta().getContent(), ""));
+        }
+        return content.toString();
+    }
+
+    private static GigaChatChatResponse.Choice last(List<GigaChatChatResponse> chunks) {
+        return chunks.get(chunks.size() - 1).getChoices().iterator().next();
+    }
+
+    private static int count(byte[] bytes, String text) {
+        return new String(bytes, StandardCharsets.UTF_8).split(Pattern.quote(text), -1).length - 1;
+    }
+
+    private static int indexOf(byte[] bytes, byte[] part) {
+        for (int i = 0; i + part.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + part.length, part, 0, part.length)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException();
+    }
+
+    private static byte[] fixture(String name) throws IOException {
+        try (InputStream in = GigaChatStreamParserTest.class.getResourceAsStream("/fixtures/" + name)) {
+            return Objects.requireNonNull(in, name).readAllBytes();
+        }
+    }
+}
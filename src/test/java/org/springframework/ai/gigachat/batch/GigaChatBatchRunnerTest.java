@@ -0,0 +1,165 @@
+package org.springframework.ai.gigachat.batch;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.gigachat.GigaChatChatModel;
+import org.springframework.ai.gigachat.api.GigaChatApi;
+import org.springframework.ai.gigachat.api.GigaChatChatOptions;
+import org.springframework.ai.gigachat.api.model.GigaChatChatRequest;
+import org.springframework.ai.gigachat.api.model.GigaChatChatResponse;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the resumption of {@link GigaChatBatchRunner} from its results file. A crash is simulated by truncating
+ * the results file in the middle of a line.
+ */
+class GigaChatBatchRunnerTest {
+
+    private static final GigaChatBatchOptions OPTIONS = GigaChatBatchOptions.builder().concurrency(4).checkpointInterval(3).build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void truncatesHalfWrittenLine() throws IOException {
+        List<Prompt> prompts = prompts(20);
+        Path results = directory.resolve("results.jsonl");
+        FakeApi api = new FakeApi();
+        GigaChatBatchRunner.Result first = runner(api).run(prompts, results);
+        assertEquals(20, first.succeeded(), String.valueOf(first.failures()));
+
+        List<String> lines = Files.readAllLines(results, StandardCharsets.UTF_8);
+        long kept = 0;
+        for (int i = 0; i < 12; i++) {
+            kept += lines.get(i).getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        try (FileChannel channel = FileChannel.open(results, StandardOpenOption.WRITE)) {
+            channel.truncate(kept + lines.get(12).length() / 2);
+        }
+
+        FakeApi resumedApi = new FakeApi();
+        GigaChatBatchRunner.Result resumed = runner(resumedApi).run(prompts, results);
+
+        assertEquals(8, resumed.succeeded());
+        assertEquals(12, resumed.skipped());
+        assertEquals(8, resumedApi.calls.size());
+        Map<Long, GigaChatBatchResult> read = read(results);
+        assertEquals(20, read.size());
+        assertEquals(20, Files.readAllLines(results, StandardCharsets.UTF_8).size());
+        for (long index = 0; index < 20; index++) {
+            assertTrue(read.get(index).success());
+            assertEquals("ответ на запрос " + index, read.get(index).text());
+        }
+
+        GigaChatBatchRunner.Result completed = runner(resumedApi).run(prompts, results);
+        assertEquals(20, completed.skipped());
+        assertEquals(0, completed.succeeded() + completed.failed());
+        assertEquals(8, resumedApi.calls.size());
+    }
+
+    @Test
+    void rerunsRetryableFailures() throws IOException {
+        List<Prompt> prompts = prompts(10);
+        Path results = directory.resolve("results.jsonl");
+        FakeApi api = new FakeApi();
+        api.failures.put("запрос 3", new TransientAiException("Сервис перегружен"));
+        api.failures.put("запрос 7", new NonTransientAiException("Запрос отклонен"));
+
+        GigaChatBatchRunner.Result first = runner(api).run(prompts, results);
+
+        assertEquals(8, first.succeeded());
+        assertEquals(2, first.failed());
+        Map<Long, GigaChatBatchResult> failed = read(results);
+        assertTrue(failed.get(3L).retryable());
+        assertFalse(failed.get(7L).retryable());
+
+        FakeApi resumedApi = new FakeApi();
+        GigaChatBatchRunner.Result resumed = runner(resumedApi).run(prompts, results);
+
+        assertEquals(List.of("запрос 3"), List.copyOf(resumedApi.calls));
+        assertEquals(1, resumed.succeeded());
+        assertEquals(9, resumed.skipped());
+        Map<Long, GigaChatBatchResult> read = read(results);
+        assertTrue(read.get(3L).success());
+        assertFalse(read.get(7L).success());
+        assertEquals(11, Files.readAllLines(results, StandardCharsets.UTF_8).size());
+    }
+
+    private static GigaChatBatchRunner runner(FakeApi api) {
+        GigaChatChatModel chatModel = new GigaChatChatModel(api, GigaChatChatOptions.builder().model("GigaChat").build(), (ToolCallingManager) null, ObservationRegistry.NOOP);
+        return new GigaChatBatchRunner(chatModel, OPTIONS);
+    }
+
+    private static List<Prompt> prompts(int count) {
+        List<Prompt> prompts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            prompts.add(new Prompt("запрос " + i, GigaChatChatOptions.builder().model("GigaChat").build()));
+        }
+        return prompts;
+    }
+
+    private static Map<Long, GigaChatBatchResult> read(Path results) {
+        Map<Long, GigaChatBatchResult> read = new HashMap<>();
+        GigaChatBatchRunner.read(results).doOnNext(result -> read.put(result.index(), result)).blockLast();
+        return read;
+    }
+
+    /**
+     * API streaming an answer that repeats the prompt in two chunks, and failing the prompts with a registered error.
+     */
+    private static final class FakeApi extends GigaChatApi {
+        private final Queue<String> calls = new ConcurrentLinkedQueue<>();
+        private final Map<String, RuntimeException> failures = new ConcurrentHashMap<>();
+        private final AtomicInteger created = new AtomicInteger();
+
+        @Override
+        public Flux<GigaChatChatResponse> streamingChat(GigaChatChatRequest chatRequest) {
+            GigaChatChatRequest.Message message = List.copyOf(chatRequest.getMessages()).get(chatRequest.getMessages().size() - 1);
+            String text = String.valueOf(message.getContent());
+            calls.add(text);
+            RuntimeException failure = failures.get(text);
+            if (failure != null) {
+                return Flux.error(failure);
+            }
+            return Flux.just(chunk("ответ ", null), chunk("на " + text, "stop"));
+        }
+
+        private GigaChatChatResponse chunk(String content, String finishReason) {
+            try {
+                String json = "{\"choices\":[{\"delta\":{\"role\":\"assistant\",\"content\":" + ModelOptionsUtils.OBJECT_MAPPER.writeValueAsString(content) + "},"
+                        + "\"index\":0" + (finishReason == null ? "" : ",\"finish_reason\":\"" + finishReason + "\"") + "}],"
+                        + "\"created\":" + created.incrementAndGet() + ",\"model\":\"GigaChat\",\"object\":\"chat.completion\""
+                        + (finishReason == null ? "" : ",\"usage\":{\"prompt_tokens\":5,\"completion_tokens\":3,\"total_tokens\":8}") + "}";
+                return ModelOptionsUtils.OBJECT_MAPPER.readValue(json, GigaChatChatResponse.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package org.springframework.ai.gigachat.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.gigachat.api.GigaChatApi;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingMatrix;
+import org.springframework.ai.gigachat.api.model.GigaChatEmbeddingRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of the crash recovery of {@link GigaChatIngestPipeline}. A crash is simulated by failing an embedding
+ * request, which leaves the vectors written after the last checkpoint in the output, and by appending a
+ * half-written record to the output.
+ */
+class GigaChatIngestPipelineTest {
+
+    private static final int DIMENSIONS = 4;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void resumesAfterFailureOfEveryBatch() throws IOException {
+        Path input = input(200);
+        GigaChatIngestOptions options = GigaChatIngestOptions.builder().chunkSize(60).chunkOverlap(10).batchSize(4).concurrency(2).checkpointInterval(2).build();
+        Path expected = directory.resolve("expected.vec");
+        FakeApi clean = new FakeApi(0);
+        GigaChatIngestPipeline.Result completed = new GigaChatIngestPipeline(clean, options).run(input, expected);
+        assertEquals(200, completed.lines());
+
+        for (int failAt = 1; failAt <= clean.calls.get(); failAt++) {
+            Path output = directory.resolve("output-" + failAt + ".vec");
+            GigaChatIngestPipeline failing = new GigaChatIngestPipeline(new FakeApi(failAt), options);
+            assertThrows(IllegalStateException.class, () -> failing.run(input, output));
+            GigaChatIngestCheckpoint checkpoint = GigaChatIngestCheckpoint.read(output);
+            Files.write(output, new byte[]{1, 2, 3, 4, 5, 6, 7}, StandardOpenOption.APPEND);
+
+            GigaChatIngestPipeline.Result resumed = new GigaChatIngestPipeline(new FakeApi(0), options).run(input, output);
+
+            assertEquals(checkpoint.vectors(), resumed.resumedVectors(), "сбой на запросе " + failAt);
+            assertEquals(completed.lines(), resumed.lines(), "сбой на запросе " + failAt);
+            assertEquals(completed.vectors(), resumed.vectors(), "сбой на запросе " + failAt);
+            assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(output), "сбой на запросе " + failAt);
+        }
+    }
+
+    @Test
+    void checkpointsOnlyLinesWhoseChunksAreWritten() throws IOException {
+        GigaChatIngestOptions options = GigaChatIngestOptions.builder().chunkSize(60).chunkOverlap(10).batchSize(3).concurrency(1).checkpointInterval(1).build();
+        String longLine = longLine(new GigaChatTextChunker(options.getChunkSize(), options.getChunkOverlap()), 5);
+        Path input = directory.resolve("input.txt");
+        Files.writeString(input, "a\n" + longLine + "\n", StandardCharsets.UTF_8);
+        Path expected = directory.resolve("expected.vec");
+        new GigaChatIngestPipeline(new FakeApi(0), options).run(input, expected);
+
+        Path output = directory.resolve("output.vec");
+        GigaChatIngestPipeline failing = new GigaChatIngestPipeline(new FakeApi(2), options);
+        assertThrows(IllegalStateException.class, () -> failing.run(input, output));
+
+        assertEquals(new GigaChatIngestCheckpoint(2, 1, 1), GigaChatIngestCheckpoint.read(output));
+        int recordSize = GigaChatVectorFile.recordSize(DIMENSIONS);
+        assertEquals(GigaChatVectorFile.HEADER_SIZE + 3L * recordSize, Files.size(output));
+
+        FakeApi resumedApi = new FakeApi(0);
+        GigaChatIngestPipeline.Result resumed = new GigaChatIngestPipeline(resumedApi, options).run(input, output);
+
+        assertEquals(new GigaChatIngestPipeline.Result(2, 6, 1, resumed.elapsed()), resumed);
+        assertEquals(2, resumedApi.calls.get());
+        assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(output));
+        try (GigaChatVectorFile vectors = new GigaChatVectorFile(output)) {
+            assertEquals(6, vectors.size());
+            assertEquals(0, vectors.sourceOffset(0));
+            for (int i = 1; i < 6; i++) {
+                assertEquals(2, vectors.sourceOffset(i));
+                assertEquals(i - 1, vectors.chunkIndex(i));
+            }
+        }
+    }
+
+    @Test
+    void skipsCompletedRun() throws IOException {
+        Path input = input(50);
+        GigaChatIngestOptions options = GigaChatIngestOptions.builder().chunkSize(60).chunkOverlap(10).batchSize(4).build();
+        Path output = directory.resolve("output.vec");
+        GigaChatIngestPipeline.Result first = new GigaChatIngestPipeline(new FakeApi(0), options).run(input, output);
+        byte[] written = Files.readAllBytes(output);
+
+        FakeApi api = new FakeApi(0);
+        GigaChatIngestPipeline.Result second = new GigaChatIngestPipeline(api, options).run(input, output);
+
+        assertEquals(0, api.calls.get());
+        assertEquals(first.lines(), second.lines());
+        assertEquals(first.vectors(), second.vectors());
+        assertEquals(first.vectors(), second.resumedVectors());
+        assertArrayEquals(written, Files.readAllBytes(output));
+    }
+
+    private Path input(int lines) throws IOException {
+        List<String> text = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            text.add(i % 7 == 3 ? "" : "строка " + i + " слово".repeat(i % 5 == 0 ? 40 : 1 + i % 4));
+        }
+        Path input = directory.resolve("input-" + lines + ".txt");
+        Files.write(input, text, StandardCharsets.UTF_8);
+        return input;
+    }
+
+    private static String longLine(GigaChatTextChunker chunker, int chunks) {
+        StringBuilder line = new StringBuilder("начало");
+        while (chunker.chunk(line.toString()).size() < chunks) {
+            line.append(" слово");
+        }
+        assertEquals(chunks, chunker.chunk(line.toString()).size());
+        return line.toString();
+    }
+
+    /**
+     * API embedding every text into a vector derived from its hash code, and failing the given request.
+     */
+    private static final class FakeApi extends GigaChatApi {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final int failAt;
+
+        private FakeApi(int failAt) {
+            this.failAt = failAt;
+        }
+
+        @Override
+        public GigaChatEmbeddingMatrix embedMatrix(GigaChatEmbeddingRequest request) {
+            if (calls.incrementAndGet() == failAt) {
+                throw new IllegalStateException("Сбой запроса " + failAt);
+            }
+            List<String> texts = new ArrayList<>(request.getInput());
+            float[] data = new float[texts.size() * DIMENSIONS];
+            for (int row = 0; row < texts.size(); row++) {
+                int hash = texts.get(row).hashCode();
+                for (int i = 0; i < DIMENSIONS; i++) {
+                    data[row * DIMENSIONS + i] = (byte) (hash >> (8 * i));
+                }
+            }
+            return new GigaChatEmbeddingMatrix(request.getModel(), data, texts.size(), DIMENSIONS, 0);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.springframework.ai.gigachat.vectorstore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link GigaChatHnswIndex} against an exact scan of the same vectors.
+ */
+class GigaChatHnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+    private static final int MAX_CONNECTIONS = 16;
+    private static final int EF_CONSTRUCTION = 100;
+    private static final int EF_SEARCH = 100;
+    private static final int TOP_K = 10;
+
+    @Test
+    void findsNearestNeighboursOfExactScan() {
+        GigaChatVectorArray vectors = vectors(5000, 1);
+        GigaChatHnswIndex index = index(vectors);
+
+        double recall = recall(vectors, index, queries(100, 2), null);
+
+        assertTrue(recall >= 0.95, "recall " + recall);
+    }
+
+    @Test
+    void leavesExcludedNodesOutOfResults() {
+        GigaChatVectorArray vectors = vectors(5000, 3);
+        GigaChatHnswIndex index = index(vectors);
+        BitSet deleted = new BitSet();
+        for (int node = 0; node < vectors.size(); node += 3) {
+            deleted.set(node);
+        }
+
+        for (float[] query : queries(100, 4)) {
+            int[] nodes = index.search(query, TOP_K, EF_SEARCH, deleted).drain().nodes();
+            assertEquals(TOP_K, nodes.length);
+            for (int node : nodes) {
+                assertFalse(deleted.get(node), "удаленный узел " + node);
+            }
+        }
+        double recall = recall(vectors, index, queries(100, 4), deleted);
+        assertTrue(recall >= 0.95, "recall " + recall);
+    }
+
+    @Test
+    void returnsStoredVectorAsItsOwnNearestNeighbour() {
+        GigaChatVectorArray vectors = vectors(3000, 5);
+        GigaChatHnswIndex index = index(vectors);
+
+        int found = 0;
+        for (int node = 0; node < vectors.size(); node += 10) {
+            if (index.search(vectors.vector(node), 1, EF_SEARCH, null).drain().nodes()[0] == node) {
+                found++;
+            }
+        }
+
+        assertTrue(found >= 295, "found " + found);
+    }
+
+    @Test
+    void restoresSavedGraph(@TempDir Path directory) throws IOException {
+        GigaChatVectorArray vectors = vectors(3000, 6);
+        GigaChatHnswIndex index = index(vectors);
+        GigaChatHnswIndex.Graph graph = index.graph();
+        Path file = directory.resolve("store.bin");
+
+        GigaChatVectorStoreFile.write(file, new GigaChatVectorStoreFile.Snapshot(DIMENSIONS, vectors.size(), vectors.data(),
+                new long[GigaChatVectorStoreFile.words(vectors.size())], MAX_CONNECTIONS, graph, "[]".getBytes(StandardCharsets.UTF_8)));
+        GigaChatVectorStoreFile.Snapshot snapshot = GigaChatVectorStoreFile.read(file);
+        GigaChatVectorArray loadedVectors = new GigaChatVectorArray(snapshot.dimensions(), snapshot.vectors(), snapshot.size());
+        GigaChatHnswIndex loaded = new GigaChatHnswIndex(loadedVectors, snapshot.maxConnections(), EF_CONSTRUCTION, snapshot.graph());
+
+        GigaChatHnswIndex.Graph restored = loaded.graph();
+        assertEquals(graph.size(), restored.size());
+        assertEquals(graph.entryPoint(), restored.entryPoint());
+        assertEquals(graph.maxLevel(), restored.maxLevel());
+        assertArrayEquals(graph.levels(), restored.levels());
+        assertArrayEquals(graph.layer0(), restored.layer0());
+        assertArrayEquals(graph.upper(), restored.upper());
+
+        for (float[] query : queries(50, 7)) {
+            GigaChatNodeHeap.Result expected = index.search(query, TOP_K, EF_SEARCH, null).drain();
+            GigaChatNodeHeap.Result actual = loaded.search(query, TOP_K, EF_SEARCH, null).drain();
+            assertArrayEquals(expected.nodes(), actual.nodes());
+            assertArrayEquals(expected.scores(), actual.scores());
+        }
+    }
+
+    @Test
+    void keepsInsertingAfterRestore() {
+        GigaChatVectorArray vectors = vectors(2000, 8);
+        GigaChatHnswIndex index = index(vectors);
+        GigaChatHnswIndex loaded = new GigaChatHnswIndex(vectors, MAX_CONNECTIONS, EF_CONSTRUCTION, index.graph());
+
+        Random random = new Random(9);
+        for (int i = 0; i < 1000; i++) {
+            vectors.add(gaussian(random));
+            loaded.insert();
+        }
+
+        assertEquals(3000, loaded.size());
+        double recall = recall(vectors, loaded, queries(100, 10), null);
+        assertTrue(recall >= 0.95, "recall " + recall);
+    }
+
+    private static double recall(GigaChatVectorArray vectors, GigaChatHnswIndex index, float[][] queries, BitSet excluded) {
+        int hits = 0;
+        for (float[] query : queries) {
+            Set<Integer> expected = exact(vectors, query, excluded);
+            for (int node : index.search(query, TOP_K, EF_SEARCH, excluded).drain().nodes()) {
+                if (expected.contains(node)) {
+                    hits++;
+                }
+            }
+        }
+        return (double) hits / (queries.length * TOP_K);
+    }
+
+    private static Set<Integer> exact(GigaChatVectorArray vectors, float[] query, BitSet excluded) {
+        GigaChatNodeHeap results = new GigaChatNodeHeap(false, TOP_K + 1);
+        for (int node = 0; node < vectors.size(); node++) {
+            if (excluded == null || !excluded.get(node)) {
+                results.offer(node, vectors.similarity(node, query), TOP_K);
+            }
+        }
+        Set<Integer> nodes = new HashSet<>();
+        Arrays.stream(results.drain().nodes()).forEach(nodes::add);
+        return nodes;
+    }
+
+    private static GigaChatHnswIndex index(GigaChatVectorArray vectors) {
+        GigaChatHnswIndex index = new GigaChatHnswIndex(vectors, MAX_CONNECTIONS, EF_CONSTRUCTION);
+        for (int node = 0; node < vectors.size(); node++) {
+            index.insert();
+        }
+        return index;
+    }
+
+    private static GigaChatVectorArray vectors(int count, long seed) {
+        Random random = new Random(seed);
+        GigaChatVectorArray vectors = new GigaChatVectorArray(DIMENSIONS);
+        for (int i = 0; i < count; i++) {
+            vectors.add(gaussian(random));
+        }
+        return vectors;
+    }
+
+    private static float[][] queries(int count, long seed) {
+        Random random = new Random(seed);
+        float[][] queries = new float[count][];
+        for (int i = 0; i < count; i++) {
+            queries[i] = GigaChatVectorArray.normalize(gaussian(random));
+        }
+        return queries;
+    }
+
+    private static float[] gaussian(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,141 @@
+package org.springframework.ai.gigachat.vectorstore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the compaction and persistence of an indexed {@link GigaChatVectorStore}.
+ */
+class GigaChatVectorStoreTest {
+
+    private static final int DIMENSIONS = 32;
+    private static final int DOCUMENTS = 1500;
+
+    @Test
+    void searchesCompactedIndex() {
+        GigaChatVectorStore store = store();
+        Set<String> deleted = new HashSet<>();
+        for (int i = 0; i < DOCUMENTS; i += 3) {
+            deleted.add(id(i));
+        }
+        store.delete(new ArrayList<>(deleted));
+
+        assertNoneFound(store, deleted);
+        store.compact();
+
+        assertEquals(DOCUMENTS - deleted.size(), store.size());
+        assertTrue(store.isIndexed());
+        assertNoneFound(store, deleted);
+        int found = 0;
+        int searched = 0;
+        for (int i = 1; i < DOCUMENTS; i += 3) {
+            List<Document> results = store.similaritySearch(SearchRequest.builder().query(text(i)).topK(1).build());
+            searched++;
+            if (!results.isEmpty() && results.get(0).getId().equals(id(i))) {
+                found++;
+            }
+        }
+        assertTrue(found >= searched * 0.98, "found " + found + " of " + searched);
+    }
+
+    @Test
+    void loadsSavedIndex(@TempDir Path directory) throws IOException {
+        GigaChatVectorStore store = store();
+        store.delete(List.of(id(0), id(10), id(20)));
+        Path file = directory.resolve("store.bin");
+        store.save(file);
+
+        GigaChatVectorStore loaded = GigaChatVectorStore.builder(new HashEmbeddingModel()).options(options()).build();
+        loaded.load(file);
+
+        assertEquals(store.size(), loaded.size());
+        assertTrue(loaded.isIndexed());
+        for (int i = 0; i < 100; i++) {
+            SearchRequest request = SearchRequest.builder().query("запрос " + i).topK(10).build();
+            List<Document> expected = store.similaritySearch(request);
+            List<Document> actual = loaded.similaritySearch(request);
+            assertEquals(expected.stream().map(Document::getId).toList(), actual.stream().map(Document::getId).toList());
+            assertEquals(expected.stream().map(Document::getScore).toList(), actual.stream().map(Document::getScore).toList());
+            assertEquals(expected.stream().map(Document::getText).toList(), actual.stream().map(Document::getText).toList());
+        }
+        assertNoneFound(loaded, Set.of(id(0), id(10), id(20)));
+    }
+
+    private static void assertNoneFound(GigaChatVectorStore store, Set<String> deleted) {
+        for (int i = 0; i < DOCUMENTS; i += 30) {
+            for (Document document : store.similaritySearch(SearchRequest.builder().query(text(i)).topK(10).build())) {
+                assertFalse(deleted.contains(document.getId()), "удаленный документ " + document.getId());
+            }
+        }
+    }
+
+    private static GigaChatVectorStore store() {
+        GigaChatVectorStore store = GigaChatVectorStore.builder(new HashEmbeddingModel()).options(options()).build();
+        List<Document> documents = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            documents.add(Document.builder().id(id(i)).text(text(i)).build());
+        }
+        store.add(documents);
+        assertTrue(store.isIndexed());
+        return store;
+    }
+
+    private static GigaChatVectorStoreOptions options() {
+        return GigaChatVectorStoreOptions.builder().indexThreshold(100).build();
+    }
+
+    private static String id(int i) {
+        return "doc-" + i;
+    }
+
+    private static String text(int i) {
+        return "документ " + i;
+    }
+
+    /**
+     * Embedding model mapping every text to a random vector seeded by the text.
+     */
+    private static final class HashEmbeddingModel implements EmbeddingModel {
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            List<Embedding> embeddings = new ArrayList<>(request.getInstructions().size());
+            for (String text : request.getInstructions()) {
+                embeddings.add(new Embedding(vector(text), embeddings.size()));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return vector(document.getText());
+        }
+
+        private static float[] vector(String text) {
+            Random random = new Random(text.hashCode());
+            float[] vector = new float[DIMENSIONS];
+            for (int i = 0; i < DIMENSIONS; i++) {
+                vector[i] = (float) random.nextGaussian();
+            }
+            return vector;
+        }
+    }
+}